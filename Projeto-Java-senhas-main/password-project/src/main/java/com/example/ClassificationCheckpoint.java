@@ -0,0 +1,146 @@
+package com.example;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import com.example.datastructures.MyDynamicArray;
+import com.example.datastructures.MyHashMap;
+
+/**
+ * Checkpoint persistido da classificação incremental.
+ * Guarda o offset (em bytes) da última linha completa já processada do arquivo de entrada,
+ * o tamanho do arquivo de saída correspondente a essas linhas e a contagem acumulada de cada
+ * classificação, para que a próxima execução processe apenas as linhas anexadas e ainda assim
+ * reporte o resumo do arquivo inteiro. Se uma execução for interrompida depois de gravar linhas
+ * na saída mas antes de salvar o checkpoint, a próxima trunca a saída de volta para
+ * {@code outputLength} antes de reprocessar o delta, sem duplicar linhas.
+ *
+ * Formato do arquivo (texto, uma entrada por linha):
+ * <pre>
+ * offset=12345
+ * outputLength=23456
+ * boa=10
+ * muito ruim=3
+ * </pre>
+ */
+public class ClassificationCheckpoint {
+    private static final String OFFSET_KEY = "offset";
+    private static final String OUTPUT_LENGTH_KEY = "outputLength";
+
+    private long offset;                             // Próximo byte a ser lido no arquivo de entrada
+    private long outputLength;                       // Tamanho confirmado da saída; -1 se desconhecido
+    private final MyHashMap<String, Integer> counts; // Contagem acumulada por classificação
+
+    /**
+     * Cria um checkpoint vazio (nenhuma linha processada).
+     */
+    public ClassificationCheckpoint() {
+        this(0L, 0L, new MyHashMap<>());
+    }
+
+    private ClassificationCheckpoint(long offset, long outputLength, MyHashMap<String, Integer> counts) {
+        this.offset = offset;
+        this.outputLength = outputLength;
+        this.counts = counts;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public void setOffset(long offset) {
+        this.offset = offset;
+    }
+
+    /**
+     * @return O tamanho, em bytes, do arquivo de saída quando o checkpoint foi salvo, ou -1 se o
+     *         checkpoint foi gravado por uma versão que não registrava esse tamanho.
+     */
+    public long getOutputLength() {
+        return outputLength;
+    }
+
+    public void setOutputLength(long outputLength) {
+        this.outputLength = outputLength;
+    }
+
+    public MyHashMap<String, Integer> getCounts() {
+        return counts;
+    }
+
+    /**
+     * Carrega o checkpoint do disco. Se o arquivo não existir, retorna um checkpoint vazio.
+     *
+     * @param path Caminho do arquivo de checkpoint.
+     * @return O checkpoint carregado.
+     * @throws IOException se o arquivo existir mas estiver mal formatado ou não puder ser lido.
+     */
+    public static ClassificationCheckpoint load(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return new ClassificationCheckpoint();
+        }
+        long offset = 0L;
+        long outputLength = -1L;
+        MyHashMap<String, Integer> counts = new MyHashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) continue;
+                // Usa o último '=' como separador, pois os rótulos podem conter espaços.
+                int sep = line.lastIndexOf('=');
+                if (sep <= 0) {
+                    throw new IOException("Linha inválida no checkpoint '" + path + "': " + line);
+                }
+                String key = line.substring(0, sep);
+                String value = line.substring(sep + 1);
+                try {
+                    if (key.equals(OFFSET_KEY)) {
+                        offset = Long.parseLong(value);
+                    } else if (key.equals(OUTPUT_LENGTH_KEY)) {
+                        outputLength = Long.parseLong(value);
+                    } else {
+                        counts.put(key, Integer.parseInt(value));
+                    }
+                } catch (NumberFormatException e) {
+                    throw new IOException("Valor inválido no checkpoint '" + path + "': " + line, e);
+                }
+            }
+        }
+        return new ClassificationCheckpoint(offset, outputLength, counts);
+    }
+
+    /**
+     * Grava o checkpoint no disco de forma atômica: escreve em um arquivo temporário
+     * e depois o move por cima do checkpoint anterior, para que uma interrupção no meio
+     * da escrita nunca deixe um checkpoint truncado.
+     *
+     * @param path Caminho do arquivo de checkpoint.
+     * @throws IOException se não for possível gravar o arquivo.
+     */
+    public void save(Path path) throws IOException {
+        Path absolute = path.toAbsolutePath();
+        Path tmp = absolute.resolveSibling(absolute.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            writer.write(OFFSET_KEY + "=" + offset);
+            writer.newLine();
+            writer.write(OUTPUT_LENGTH_KEY + "=" + outputLength);
+            writer.newLine();
+            MyDynamicArray<String> keys = counts.keySet();
+            for (int i = 0; i < keys.size(); i++) {
+                String key = keys.get(i);
+                writer.write(key + "=" + counts.get(key));
+                writer.newLine();
+            }
+        }
+        try {
+            Files.move(tmp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (java.nio.file.AtomicMoveNotSupportedException e) {
+            Files.move(tmp, absolute, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package com.example;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import com.example.datastructures.MyDynamicArray;
+import com.example.datastructures.MyHashMap;
+
+/**
+ * Regras de classificação de senhas carregadas de um arquivo e compiladas em uma tabela densa.
+ *
+ * Cada linha do arquivo é uma regra {@code min,max,tipos,rótulo}:
+ * <ul>
+ *   <li>{@code min} e {@code max}: faixa de tamanho, inclusiva ({@code *} em max = sem limite);</li>
+ *   <li>{@code tipos}: {@code *} (qualquer combinação), um número de 0 a 3 (quantos tipos de
+ *       caracteres a senha contém) ou uma combinação das letras L (letra), N (número) e
+ *       S (especial), como {@code LN}; alternativas são separadas por {@code |};</li>
+ *   <li>{@code rótulo}: o restante da linha.</li>
+ * </ul>
+ * Linhas vazias e iniciadas por {@code #} são ignoradas. Vale a primeira regra que casar, como
+ * na cadeia de ifs original, e o que nenhuma regra cobrir recebe {@value #FALLBACK_LABEL}.
+ *
+ * Na compilação, toda combinação (tamanho, máscara de tipos) é avaliada uma única vez: os tamanhos
+ * a partir do maior limite finito das regras se comportam igual e são truncados nele, então a tabela
+ * tem (limite + 1) × 8 posições e classificar é uma leitura de array. A tabela cobre no máximo
+ * {@value #MAX_TABLE_LENGTH} tamanhos: com limites maiores (ex: {@code 0,1000000000,*,x}), os
+ * tamanhos acima dela, raros em senhas, são classificados percorrendo as regras. Os rótulos são
+ * internados e indexados por código, sem criar Strings por registro.
+ *
+ * Carregamento padrão ({@link #loadDefault()}): o arquivo da propriedade de sistema
+ * {@code passwords.rules}; senão {@value #DEFAULT_FILE} no diretório atual, se existir; senão as
+ * regras embutidas, equivalentes às da primeira versão do classificador. Um arquivo padrão
+ * ilegível ou inválido gera um aviso e também cai nas regras embutidas.
+ */
+public final class ClassificationRules {
+    public static final String DEFAULT_FILE = "classification_rules.txt";
+    public static final String FALLBACK_LABEL = "sem classificação";
+
+    private static final int TYPE_MASKS = 8; // Combinações de TYPE_LETTER, TYPE_NUMBER e TYPE_SPECIAL
+    private static final int MAX_LABELS = Byte.MAX_VALUE + 1;
+    static final int MAX_TABLE_LENGTH = 4096; // Maior tamanho com posição própria na tabela
+
+    // As mesmas regras da cadeia de ifs original de PasswordClassifier.labelCode.
+    private static final String BUILT_IN_RULES = String.join("\n",
+            "0,4,1,muito ruim",
+            "0,5,1,ruim",
+            "0,6,2,fraca",
+            "0,7,3,boa",
+            "9,*,3,muito boa",
+            "0,*,*," + FALLBACK_LABEL);
+
+    private final String source;
+    private final String[] labels;
+    private final byte[] table;
+    private final int tableLength; // Último tamanho com posição na tabela
+    private final int lengthCap;
+    private final int[][] rules;   // Para os tamanhos entre tableLength e lengthCap
+    private final int fallback;    // Código de FALLBACK_LABEL, ou -1 se toda combinação tem regra
+
+    private ClassificationRules(String source, String[] labels, byte[] table, int tableLength, int lengthCap,
+                                int[][] rules, int fallback) {
+        this.source = source;
+        this.labels = labels;
+        this.table = table;
+        this.tableLength = tableLength;
+        this.lengthCap = lengthCap;
+        this.rules = rules;
+        this.fallback = fallback;
+    }
+
+    /**
+     * Retorna o código da classificação de uma senha.
+     *
+     * @param length O tamanho da senha.
+     * @param typeMask A máscara de tipos de caracteres (veja PasswordClassifier.characterTypes).
+     * @return O código (índice em {@link #label(byte)}).
+     */
+    public byte code(int length, int typeMask) {
+        int capped = length < lengthCap ? length : lengthCap;
+        if (capped <= tableLength) {
+            return table[capped * TYPE_MASKS + typeMask];
+        }
+        int code = match(rules, capped, typeMask);
+        return (byte) (code == -1 ? fallback : code);
+    }
+
+    /** @return O rótulo (internado) de um código. */
+    public String label(byte code) {
+        return labels[code];
+    }
+
+    /** @return O número de rótulos (os códigos vão de 0 a labelCount() - 1). */
+    public int labelCount() {
+        return labels.length;
+    }
+
+    /** @return A origem das regras (caminho do arquivo ou "embutidas"). */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Regras padrão: propriedade passwords.rules, arquivo no diretório atual ou embutidas.
+     * Chamado na inicialização do PasswordClassifier, então um arquivo com erro não lança exceção
+     * (viraria um ExceptionInInitializerError): imprime um aviso e usa as regras embutidas.
+     */
+    public static ClassificationRules loadDefault() {
+        String configured = System.getProperty("passwords.rules");
+        Path path = configured != null ? Paths.get(configured) : Paths.get(DEFAULT_FILE);
+        if (configured == null && !Files.exists(path)) {
+            return builtIn();
+        }
+        try {
+            return load(path);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Aviso: não foi possível carregar as regras de classificação em " + path
+                    + " (" + e.getMessage() + "); usando as regras embutidas.");
+            return builtIn();
+        }
+    }
+
+    /** @return As regras embutidas, equivalentes às da primeira versão do classificador. */
+    public static ClassificationRules builtIn() {
+        try {
+            return parse(new StringReader(BUILT_IN_RULES), "embutidas");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringReader não lança IOException
+        }
+    }
+
+    /**
+     * Carrega e compila as regras de um arquivo.
+     *
+     * @param path O arquivo de regras (UTF-8).
+     * @return As regras compiladas.
+     * @throws IOException se o arquivo não puder ser lido.
+     * @throws IllegalArgumentException se alguma linha for inválida.
+     */
+    public static ClassificationRules load(Path path) throws IOException {
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return parse(reader, path.toString());
+        }
+    }
+
+    /**
+     * Lê e compila as regras.
+     *
+     * @param reader A origem das regras.
+     * @param source O nome da origem, para as mensagens de erro.
+     * @return As regras compiladas.
+     * @throws IOException se a leitura falhar.
+     * @throws IllegalArgumentException se alguma linha for inválida.
+     */
+    public static ClassificationRules parse(Reader reader, String source) throws IOException {
+        MyDynamicArray<int[]> rules = new MyDynamicArray<>(); // { min, max, máscaras aceitas (bits 0..7), código }
+        MyDynamicArray<String> labels = new MyDynamicArray<>();
+        MyHashMap<String, Integer> codes = new MyHashMap<>();
+        int lengthCap = 0;
+
+        BufferedReader lines = new BufferedReader(reader);
+        String line;
+        int lineNumber = 0;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+
+            String[] fields = line.split(",", 4);
+            if (fields.length < 4 || fields[3].trim().isEmpty()) {
+                throw invalid(source, lineNumber, "esperado min,max,tipos,rótulo: " + line);
+            }
+            int min = parseLength(fields[0], source, lineNumber);
+            int max = fields[1].trim().equals("*") ? Integer.MAX_VALUE : parseLength(fields[1], source, lineNumber);
+            if (max < min) {
+                throw invalid(source, lineNumber, "faixa de tamanho vazia: " + min + ".." + max);
+            }
+            int masks = parseTypes(fields[2], source, lineNumber);
+            String label = fields[3].trim();
+            Integer code = codes.get(label);
+            if (code == null) {
+                if (labels.size() == MAX_LABELS) {
+                    throw invalid(source, lineNumber, "mais de " + MAX_LABELS + " rótulos distintos");
+                }
+                code = labels.size();
+                codes.put(label, code);
+                labels.add(label.intern());
+            }
+            rules.add(new int[] { min, max, masks, code });
+            // A partir do maior limite finito, todos os tamanhos caem nas mesmas regras.
+            lengthCap = Math.max(lengthCap, max == Integer.MAX_VALUE ? min : max + 1);
+        }
+
+        int[][] ruleArray = new int[rules.size()][];
+        for (int r = 0; r < ruleArray.length; r++) {
+            ruleArray[r] = rules.get(r);
+        }
+
+        // Compila: cada (tamanho, máscara) recebe o código da primeira regra que casar.
+        int tableLength = Math.min(lengthCap, MAX_TABLE_LENGTH);
+        byte[] table = new byte[(tableLength + 1) * TYPE_MASKS];
+        int fallback = -1;
+        for (int length = 0; length <= tableLength; length++) {
+            for (int mask = 0; mask < TYPE_MASKS; mask++) {
+                int code = match(ruleArray, length, mask);
+                if (code == -1) {
+                    if (fallback == -1) fallback = fallbackCode(codes, labels, source, lineNumber);
+                    code = fallback;
+                }
+                table[length * TYPE_MASKS + mask] = (byte) code;
+            }
+        }
+        // Acima da tabela, o resultado só muda nos limites das regras: basta verificar esses pontos
+        // para saber se algum tamanho fica sem regra e precisa do rótulo de fallback.
+        if (lengthCap > tableLength && fallback == -1) {
+            for (int r = -1; r < ruleArray.length && fallback == -1; r++) {
+                int[] points = r < 0 ? new int[] { tableLength + 1 }
+                        : new int[] { ruleArray[r][0], ruleArray[r][1] == Integer.MAX_VALUE ? -1 : ruleArray[r][1] + 1 };
+                for (int length : points) {
+                    if (length <= tableLength || length > lengthCap) continue;
+                    for (int mask = 0; mask < TYPE_MASKS && fallback == -1; mask++) {
+                        if (match(ruleArray, length, mask) == -1) {
+                            fallback = fallbackCode(codes, labels, source, lineNumber);
+                        }
+                    }
+                }
+            }
+        }
+
+        String[] labelArray = new String[labels.size()];
+        for (int i = 0; i < labelArray.length; i++) {
+            labelArray[i] = labels.get(i);
+        }
+        return new ClassificationRules(source, labelArray, table, tableLength, lengthCap, ruleArray, fallback);
+    }
+
+    /** Código da primeira regra que casa com o tamanho e a máscara, ou -1 se nenhuma casar. */
+    private static int match(int[][] rules, int length, int mask) {
+        for (int[] rule : rules) {
+            if (length >= rule[0] && length <= rule[1] && (rule[2] & (1 << mask)) != 0) {
+                return rule[3];
+            }
+        }
+        return -1;
+    }
+
+    /** Código de {@value #FALLBACK_LABEL}, incluindo-o entre os rótulos se ainda não estiver. */
+    private static int fallbackCode(MyHashMap<String, Integer> codes, MyDynamicArray<String> labels,
+                                    String source, int lineNumber) {
+        Integer existing = codes.get(FALLBACK_LABEL);
+        if (existing == null) {
+            if (labels.size() == MAX_LABELS) {
+                throw invalid(source, lineNumber, "mais de " + MAX_LABELS + " rótulos distintos");
+            }
+            existing = labels.size();
+            codes.put(FALLBACK_LABEL, existing);
+            labels.add(FALLBACK_LABEL.intern());
+        }
+        return existing;
+    }
+
+    private static int parseLength(String field, String source, int lineNumber) {
+        try {
+            int value = Integer.parseInt(field.trim());
+            if (value < 0) throw invalid(source, lineNumber, "tamanho negativo: " + value);
+            return value;
+        } catch (NumberFormatException e) {
+            throw invalid(source, lineNumber, "tamanho inválido: " + field.trim());
+        }
+    }
+
+    /**
+     * Converte a coluna de tipos no conjunto de máscaras aceitas (bit m ligado = máscara m aceita).
+     */
+    private static int parseTypes(String field, String source, int lineNumber) {
+        int accepted = 0;
+        for (String alternative : field.trim().split("\\|")) {
+            String spec = alternative.trim().toUpperCase();
+            if (spec.equals("*")) {
+                accepted |= (1 << TYPE_MASKS) - 1;
+            } else if (spec.length() == 1 && spec.charAt(0) >= '0' && spec.charAt(0) <= '3') {
+                int count = spec.charAt(0) - '0';
+                for (int mask = 0; mask < TYPE_MASKS; mask++) {
+                    if (Integer.bitCount(mask) == count) accepted |= 1 << mask;
+                }
+            } else if (!spec.isEmpty()) {
+                int mask = 0;
+                for (int i = 0; i < spec.length(); i++) {
+                    switch (spec.charAt(i)) {
+                        case 'L' -> mask |= PasswordClassifier.TYPE_LETTER;
+                        case 'N' -> mask |= PasswordClassifier.TYPE_NUMBER;
+                        case 'S' -> mask |= PasswordClassifier.TYPE_SPECIAL;
+                        default -> throw invalid(source, lineNumber, "tipos inválidos: " + alternative.trim());
+                    }
+                }
+                accepted |= 1 << mask;
+            } else {
+                throw invalid(source, lineNumber, "tipos vazios");
+            }
+        }
+        return accepted;
+    }
+
+    private static IllegalArgumentException invalid(String source, int lineNumber, String message) {
+        return new IllegalArgumentException("Regras de classificação (" + source + "), linha " + lineNumber + ": " + message);
+    }
+}
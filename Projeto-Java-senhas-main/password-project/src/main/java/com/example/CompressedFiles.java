@@ -0,0 +1,145 @@
+package com.example;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Abertura de arquivos de entrada e saída com suporte transparente a gzip.
+ *
+ * Saídas: quando a compressão está ativa ({@code --gzip} nos mains, ou a propriedade de sistema
+ * {@code passwords.gzip=true}), {@link #outputName(String)} acrescenta {@code .gz} aos nomes e
+ * {@link #newWriter(Path, boolean)} comprime em blocos paralelos com {@link ParallelGzipOutputStream}.
+ *
+ * Entradas: {@link #newReader(String)} reconhece o gzip pelos bytes mágicos (não pelo nome),
+ * e {@link #resolveInput(String)} usa {@code arquivo.gz} quando só a versão comprimida existe.
+ * Arquivos com vários membros gzip concatenados são lidos como um fluxo único.
+ */
+public final class CompressedFiles {
+    public static final String GZIP_SUFFIX = ".gz";
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private static volatile boolean compressOutputs = Boolean.getBoolean("passwords.gzip");
+
+    private CompressedFiles() {
+    }
+
+    /** Ativa ou desativa a compressão das saídas. */
+    public static void setCompressOutputs(boolean enabled) {
+        compressOutputs = enabled;
+    }
+
+    /** @return true se as saídas devem ser comprimidas. */
+    public static boolean isCompressOutputs() {
+        return compressOutputs;
+    }
+
+    /**
+     * Retorna o nome do arquivo de saída: com {@code .gz} no final se a compressão estiver ativa.
+     *
+     * @param name O nome sem compressão (ex: "password_classifier.csv").
+     * @return O nome a ser usado.
+     */
+    public static String outputName(String name) {
+        return compressOutputs && !name.endsWith(GZIP_SUFFIX) ? name + GZIP_SUFFIX : name;
+    }
+
+    /**
+     * Retorna o caminho de uma entrada, preferindo o arquivo informado e, se ele não existir,
+     * a sua versão {@code .gz}.
+     *
+     * @param path O caminho informado.
+     * @return O caminho existente (ou o informado, para que o erro apareça ao abrir).
+     */
+    public static String resolveInput(String path) {
+        if (!Files.exists(Paths.get(path)) && Files.exists(Paths.get(path + GZIP_SUFFIX))) {
+            return path + GZIP_SUFFIX;
+        }
+        return path;
+    }
+
+    /**
+     * Abre uma entrada, descomprimindo-a se começar com os bytes mágicos do gzip.
+     *
+     * @param path O caminho (resolvido com resolveInput).
+     * @return O fluxo de bytes já descomprimidos.
+     * @throws IOException se o arquivo não puder ser aberto.
+     */
+    public static InputStream openInput(String path) throws IOException {
+        InputStream in = new BufferedInputStream(Files.newInputStream(Paths.get(resolveInput(path))), BUFFER_SIZE);
+        in.mark(2);
+        int b1 = in.read();
+        int b2 = in.read();
+        in.reset();
+        if (b1 == 0x1f && b2 == 0x8b) {
+            return new GZIPInputStream(in, BUFFER_SIZE);
+        }
+        return in;
+    }
+
+    /**
+     * Abre uma entrada como texto UTF-8, descomprimindo-a se for gzip.
+     *
+     * @param path O caminho.
+     * @return O Reader.
+     * @throws IOException se o arquivo não puder ser aberto.
+     */
+    public static Reader newReader(String path) throws IOException {
+        return new InputStreamReader(openInput(path), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Abre uma saída de texto UTF-8. Se o nome terminar em {@code .gz}, comprime em blocos paralelos.
+     * Em modo de anexação, a saída comprimida ganha novos membros gzip no final, o que continua
+     * sendo um .gz válido.
+     *
+     * @param path O caminho de saída.
+     * @param append Se true, anexa ao final do arquivo existente.
+     * @return O Writer (bufferizado).
+     * @throws IOException se o arquivo não puder ser criado.
+     */
+    public static BufferedWriter newWriter(Path path, boolean append) throws IOException {
+        return new BufferedWriter(new OutputStreamWriter(newOutputStream(path, append), StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    /**
+     * Abre uma saída binária, comprimida em blocos paralelos se o nome terminar em {@code .gz}.
+     * Sem buffer próprio: serve para quem já grava em blocos grandes (ex: o gerador de dados).
+     *
+     * @param path O caminho de saída.
+     * @param append Se true, anexa ao final do arquivo existente.
+     * @return O OutputStream.
+     * @throws IOException se o arquivo não puder ser criado.
+     */
+    public static OutputStream newOutputStream(Path path, boolean append) throws IOException {
+        OutputStream out = append
+                ? Files.newOutputStream(path, StandardOpenOption.CREATE, StandardOpenOption.APPEND)
+                : Files.newOutputStream(path);
+        if (path.toString().endsWith(GZIP_SUFFIX)) {
+            out = new ParallelGzipOutputStream(out);
+        }
+        return out;
+    }
+
+    /**
+     * Abre uma saída de texto UTF-8, sobrescrevendo o arquivo.
+     *
+     * @param path O caminho de saída.
+     * @return O Writer (bufferizado).
+     * @throws IOException se o arquivo não puder ser criado.
+     */
+    public static BufferedWriter newWriter(Path path) throws IOException {
+        return newWriter(path, false);
+    }
+}
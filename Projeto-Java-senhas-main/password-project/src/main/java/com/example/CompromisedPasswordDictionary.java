@@ -0,0 +1,163 @@
+package com.example;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.example.datastructures.Fingerprints;
+import com.example.datastructures.MyBloomFilter;
+import com.example.datastructures.MyMappedFingerprintSet;
+
+/**
+ * Dicionário de senhas comprometidas (listas públicas de senhas vazadas/comuns).
+ *
+ * A consulta acontece em dois estágios:
+ * 1. um Bloom filter em memória descarta rapidamente quase todas as senhas que não estão na lista;
+ * 2. as que passam pelo filtro são confirmadas por busca binária em um arquivo ordenado de
+ *    fingerprints de 64 bits mapeado em memória, eliminando os falsos positivos do filtro.
+ *
+ * Nenhum dos dois guarda as senhas como String, o que permite listas com centenas de milhões
+ * de entradas. Os dois arquivos são gerados uma vez a partir de uma lista de palavras local
+ * (uma senha por linha) e reutilizados nas execuções seguintes. As senhas são normalizadas da
+ * mesma forma na geração e na consulta ({@link #normalize(String)}: espaços das pontas removidos,
+ * como faz o classificador com a coluna da senha):
+ * <pre>
+ * java com.example.CompromisedPasswordDictionary &lt;lista.txt&gt; &lt;prefixo&gt; [taxaFalsosPositivos]
+ * </pre>
+ * gera {@code <prefixo>.bloom} e {@code <prefixo>.fp}.
+ */
+public class CompromisedPasswordDictionary implements AutoCloseable {
+    public static final String CLASS_LABEL = "comprometida";
+
+    private static final double DEFAULT_FALSE_POSITIVE_RATE = 0.01;
+    private static final int RUN_SIZE = 1 << 23; // 8M fingerprints (64 MB) ordenados em memória por bloco
+
+    private final MyBloomFilter bloom;
+    private final MyMappedFingerprintSet fingerprints;
+    // Contadores seguros para a classificação paralela.
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder bloomPasses = new LongAdder();
+    private final LongAdder confirmed = new LongAdder();
+
+    private CompromisedPasswordDictionary(MyBloomFilter bloom, MyMappedFingerprintSet fingerprints) {
+        this.bloom = bloom;
+        this.fingerprints = fingerprints;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("uso: CompromisedPasswordDictionary <lista.txt> <prefixo> [taxaFalsosPositivos]");
+            return;
+        }
+        double rate = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_FALSE_POSITIVE_RATE;
+        build(Paths.get(args[0]), args[1], rate);
+    }
+
+    /**
+     * Gera os arquivos do dicionário a partir de uma lista de palavras.
+     *
+     * @param wordList Lista de senhas, uma por linha (UTF-8).
+     * @param prefix Prefixo dos arquivos gerados ({@code .bloom} e {@code .fp}).
+     * @param falsePositiveRate Taxa de falsos positivos do Bloom filter.
+     * @throws IOException se a lista não puder ser lida ou os arquivos não puderem ser gravados.
+     */
+    public static void build(Path wordList, String prefix, double falsePositiveRate) throws IOException {
+        long start = System.currentTimeMillis();
+        Path fingerprintFile = Paths.get(prefix + ".fp");
+        Path bloomFile = Paths.get(prefix + ".bloom");
+
+        // 1ª etapa: fingerprints de todas as palavras, ordenados externamente e sem repetições.
+        long lines = 0;
+        long distinct;
+        try (BufferedReader reader = Files.newBufferedReader(wordList, StandardCharsets.UTF_8);
+             MyMappedFingerprintSet.Builder builder = new MyMappedFingerprintSet.Builder(fingerprintFile, RUN_SIZE)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = normalize(line);
+                if (line.isEmpty()) continue;
+                builder.add(Fingerprints.of(line));
+                lines++;
+            }
+            distinct = builder.finish();
+        }
+
+        // 2ª etapa: o Bloom filter é dimensionado com o número exato de entradas distintas
+        // e preenchido a partir do arquivo ordenado, sem reler a lista original.
+        MyBloomFilter bloom = new MyBloomFilter(Math.max(1, distinct), falsePositiveRate);
+        try (MyMappedFingerprintSet set = MyMappedFingerprintSet.open(fingerprintFile)) {
+            for (long i = 0; i < set.size(); i++) {
+                bloom.add(set.get(i));
+            }
+        }
+        bloom.writeTo(bloomFile);
+
+        System.out.println("dicionário gerado: " + lines + " linhas, " + distinct + " senhas distintas, "
+                + bloom.getNumBits() / 8 / 1024 + " KB de Bloom filter (" + bloom.getNumHashes() + " hashes), "
+                + (System.currentTimeMillis() - start) + " ms");
+        System.out.println("- " + bloomFile);
+        System.out.println("- " + fingerprintFile);
+    }
+
+    /**
+     * Abre um dicionário gerado por {@link #build(Path, String, double)}.
+     *
+     * @param prefix Prefixo dos arquivos do dicionário.
+     * @return O dicionário aberto; deve ser fechado com {@link #close()}.
+     * @throws IOException se algum dos arquivos não existir ou for inválido.
+     */
+    public static CompromisedPasswordDictionary open(String prefix) throws IOException {
+        MyBloomFilter bloom = MyBloomFilter.readFrom(Paths.get(prefix + ".bloom"));
+        MyMappedFingerprintSet fingerprints = MyMappedFingerprintSet.open(Paths.get(prefix + ".fp"));
+        return new CompromisedPasswordDictionary(bloom, fingerprints);
+    }
+
+    /**
+     * Verifica se a senha está na lista de senhas comprometidas.
+     *
+     * @param password A senha.
+     * @return true se a senha estiver na lista.
+     */
+    public boolean isCompromised(String password) {
+        lookups.increment();
+        long fingerprint = Fingerprints.of(normalize(password));
+        if (!bloom.mightContain(fingerprint)) {
+            return false;
+        }
+        bloomPasses.increment();
+        if (!fingerprints.contains(fingerprint)) {
+            return false;
+        }
+        confirmed.increment();
+        return true;
+    }
+
+    /**
+     * Normalização aplicada às senhas da lista e às consultadas, para que as duas casem.
+     *
+     * @param password A senha.
+     * @return A senha sem os espaços (e '\r', tabulações) das pontas.
+     */
+    static String normalize(String password) {
+        return password.trim();
+    }
+
+    /**
+     * Imprime quantas consultas foram resolvidas só pelo Bloom filter e quantas foram confirmadas.
+     */
+    public void printStats() {
+        long passes = bloomPasses.sum();
+        long matches = confirmed.sum();
+        System.out.println("dicionário de senhas comprometidas: " + lookups.sum() + " consultas, "
+                + passes + " passaram pelo Bloom filter, " + matches + " confirmadas ("
+                + (passes - matches) + " falsos positivos do filtro)");
+    }
+
+    @Override
+    public void close() {
+        fingerprints.close();
+    }
+}
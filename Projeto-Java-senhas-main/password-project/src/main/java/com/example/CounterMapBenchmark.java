@@ -0,0 +1,97 @@
+package com.example;
+
+import java.util.concurrent.CountDownLatch;
+
+import com.example.datastructures.MyConcurrentCounterMap;
+import com.example.datastructures.MyDynamicArray;
+import com.example.datastructures.MyHashMap;
+
+/**
+ * Benchmark de contenção da agregação de contagens com 1 a 64 threads.
+ * Compara uma MyHashMap protegida por um lock global com o MyConcurrentCounterMap,
+ * usando a distribuição concentrada das classificações reais (poucas chaves, uma muito frequente).
+ *
+ * Uso: {@code CounterMapBenchmark [incrementosPorThread]}
+ */
+public class CounterMapBenchmark {
+    private static final String[] KEYS = { "fraca", "fraca", "fraca", "fraca", "ruim", "ruim",
+            "muito ruim", "boa", "muito boa", "sem classificação" };
+
+    public static void main(String[] args) throws InterruptedException {
+        int perThread = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        System.out.printf("%8s %22s %22s%n", "threads", "lock global (ops/s)", "concorrente (ops/s)");
+        for (int threads = 1; threads <= 64; threads *= 2) {
+            // Uma rodada de aquecimento e uma medida para cada implementação.
+            runLocked(threads, perThread / 10);
+            runConcurrent(threads, perThread / 10);
+            double locked = runLocked(threads, perThread);
+            double concurrent = runConcurrent(threads, perThread);
+            System.out.printf("%8d %,22.0f %,22.0f%n", threads, locked, concurrent);
+        }
+    }
+
+    private static double runLocked(int threads, int perThread) throws InterruptedException {
+        MyHashMap<String, Integer> counts = new MyHashMap<>();
+        Object lock = new Object();
+        double opsPerSecond = run(threads, perThread, key -> {
+            synchronized (lock) {
+                Integer current = counts.get(key);
+                counts.put(key, current == null ? 1 : current + 1);
+            }
+        });
+        check(sum(counts), (long) threads * perThread);
+        return opsPerSecond;
+    }
+
+    private static double runConcurrent(int threads, int perThread) throws InterruptedException {
+        MyConcurrentCounterMap<String> counts = new MyConcurrentCounterMap<>();
+        double opsPerSecond = run(threads, perThread, counts::increment);
+        check(sum(counts.snapshot()), (long) threads * perThread);
+        return opsPerSecond;
+    }
+
+    /** Executa {@code perThread} incrementos em cada thread e retorna as operações por segundo. */
+    private static double run(int threads, int perThread, java.util.function.Consumer<String> increment)
+            throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int seed = t;
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                int x = seed * 0x9E3779B9 + 1;
+                for (int i = 0; i < perThread; i++) {
+                    x ^= x << 13; x ^= x >>> 17; x ^= x << 5; // xorshift: sequência de chaves por thread
+                    increment.accept(KEYS[(x >>> 1) % KEYS.length]);
+                }
+            });
+            workers[t].start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsed = System.nanoTime() - begin;
+        return (double) threads * perThread * 1e9 / elapsed;
+    }
+
+    private static long sum(MyHashMap<String, ? extends Number> counts) {
+        long total = 0;
+        MyDynamicArray<String> keys = counts.keySet();
+        for (int i = 0; i < keys.size(); i++) {
+            total += counts.get(keys.get(i)).longValue();
+        }
+        return total;
+    }
+
+    private static void check(long actual, long expected) {
+        if (actual != expected) {
+            throw new IllegalStateException("Contagens perdidas: esperado " + expected + ", obtido " + actual);
+        }
+    }
+}
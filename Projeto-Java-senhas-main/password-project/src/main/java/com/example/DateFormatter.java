@@ -1,20 +1,29 @@
 package com.example;
 
 import com.opencsv.CSVReader;
-import com.opencsv.CSVWriter;
 import com.opencsv.exceptions.CsvException;
 
 import java.io.*;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Arrays; // Mantido para Arrays.copyOf e Arrays.toString em mensagens de erro
+import java.util.function.Function;
 
 // IMPORTAÇÃO DE ESTRUTURA DE DADOS PERSONALIZADA
 // Esta linha importa a sua classe MyDynamicArray, que substitui o uso de ArrayLists e arrays nativos
 // para o armazenamento dinâmico de coleções.
+import com.example.datastructures.MyDictionaryColumn;
 import com.example.datastructures.MyDynamicArray;
+import com.example.datastructures.MyHashMap;
+import com.example.datastructures.MyList;
 
 public class DateFormatter {
+    // Colunas de baixa cardinalidade, codificadas por dicionário na leitura (a data já formatada,
+    // com um valor por dia, e a classificação).
+    static final int DATE_COLUMN = 3;
+    static final int CLASS_COLUMN = 4;
 
     // ALTERAÇÃO: REMOÇÃO DE CONSTANTE
     // 'INITIAL_CAPACITY' não é mais necessária aqui, pois 'MyDynamicArray' gerencia sua própria capacidade
@@ -24,13 +33,36 @@ public class DateFormatter {
 
     public static void main(String[] args) throws IOException, CsvException {
         String inputFile = "password_classifier.csv";
-        String outputFileFormatted = "passwords_formated_data.csv";
-        String outputFileFiltered = "passwords_classifier.csv";
+        // --gzip: grava as saídas como .csv.gz, comprimidas em blocos paralelos.
+        // --partition-by <chave>: grava também um arquivo por valor da chave (class, year, month ou
+        // length) em passwords_por_<chave>/, na mesma passada (pode ser repetido).
+        // --max-open-files N e --partition-buffer N: limites do escritor particionado.
+        MyDynamicArray<String> partitionKeys = new MyDynamicArray<>();
+        int maxOpenFiles = PartitionedWriter.DEFAULT_MAX_OPEN_FILES;
+        int partitionBuffer = PartitionedWriter.DEFAULT_BUFFER_CHARS;
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.equals("--gzip")) {
+                CompressedFiles.setCompressOutputs(true);
+            } else if ((arg.equals("--partition-by") || arg.equals("--max-open-files") || arg.equals("--partition-buffer"))
+                    && i + 1 >= args.length) {
+                throw new IllegalArgumentException(arg + " exige um valor.");
+            } else if (arg.equals("--partition-by")) {
+                String key = args[++i];
+                partitionKey(key); // Valida a chave antes de ler a entrada
+                partitionKeys.add(key);
+            } else if (arg.equals("--max-open-files")) {
+                maxOpenFiles = Integer.parseInt(args[++i]);
+            } else if (arg.equals("--partition-buffer")) {
+                partitionBuffer = Integer.parseInt(args[++i]);
+            }
+        }
+        String outputFileFormatted = CompressedFiles.outputName("passwords_formated_data.csv");
+        String outputFileFiltered = CompressedFiles.outputName("passwords_classifier.csv");
 
         try (
-                CSVReader reader = new CSVReader(new FileReader(inputFile));
-                CSVWriter writerFormatted = new CSVWriter(new FileWriter(outputFileFormatted));
-                CSVWriter writerFiltered = new CSVWriter(new FileWriter(outputFileFiltered))
+                // A entrada pode estar comprimida (.gz); as saídas seguem o modo --gzip.
+                CSVReader reader = new CSVReader(CompressedFiles.newReader(inputFile))
         ) {
             // ALTERAÇÃO: USO DE MYDYNAMICARRAY
             // Anteriormente, 'allRecords' era um array bidimensional nativo (String[][]).
@@ -41,7 +73,16 @@ public class DateFormatter {
             // JUSTIFICATIVA: MyDynamicArray gerencia automaticamente o redimensionamento do array interno
             // à medida que novos registros são adicionados, eliminando a necessidade de lógica
             // de redimensionamento manual e desperdício de memória de arrays fixos.
-            MyDynamicArray<String[]> allRecords = new MyDynamicArray<>();
+            //
+            // IMPLEMENTAÇÃO: MyChunkedArray (segmentado) no lugar do MyDynamicArray. O número de linhas
+            // não é conhecido de antemão, e crescer por segmentos nunca copia os registros já lidos.
+            //
+            // IMPLEMENTAÇÃO: EncodedRecords (sobre um MyChunkedArray). A data é formatada já na
+            // leitura: o horário bruto é quase único por linha, mas o dia (dd/MM/yyyy) tem poucos
+            // valores distintos, assim como a classificação. Cada linha guarda só um código de 1 ou
+            // 2 bytes para elas, e as Strings de cada valor existem uma única vez, no dicionário.
+            EncodedRecords allRecords = new EncodedRecords(DATE_COLUMN, CLASS_COLUMN);
+            DayFormatter days = new DayFormatter();
 
             String[] header = reader.readNext();
             if (header == null) {
@@ -49,69 +90,44 @@ public class DateFormatter {
                 return;
             }
 
-            writerFormatted.writeNext(header);
-            writerFiltered.writeNext(header);
-
             String[] nextRecord;
             int currentRecordCount = 0; // Contador de registros no MyDynamicArray
             // ALTERAÇÃO: ADIÇÃO DE ELEMENTOS AO MYDYNAMICARRAY
             // O método 'add()' do MyDynamicArray é usado para adicionar cada nova linha lida do CSV.
             // O MyDynamicArray se encarrega de expandir sua capacidade conforme necessário.
             while ((nextRecord = reader.readNext()) != null) {
+                if (nextRecord.length < 5) {
+                    System.err.println("Linha mal formatada encontrada, com menos colunas do que o esperado. Linha: " + Arrays.toString(nextRecord));
+                    continue;
+                }
+                nextRecord[DATE_COLUMN] = days.format(nextRecord[DATE_COLUMN]);
                 allRecords.add(nextRecord);
                 currentRecordCount++;
             }
 
             System.out.println("Total de linhas de dados lidas (excluindo cabeçalho): " + currentRecordCount);
 
-            // ALTERAÇÃO: USO DE MYDYNAMICARRAY
-            // 'formattedRecords' e 'filteredRecords' também foram alterados para MyDynamicArray,
-            // permitindo que eles cresçam dinamicamente à medida que os registros processados são adicionados.
-            MyDynamicArray<String[]> formattedRecords = new MyDynamicArray<>();
-            MyDynamicArray<String[]> filteredRecords = new MyDynamicArray<>();
-
-            // ALTERAÇÃO: ITENERAÇÃO E OBTENÇÃO DE ELEMENTOS DO MYDYNAMICARRAY
-            // O loop agora itera usando 'allRecords.size()' para obter o número total de elementos
-            // e 'allRecords.get(i)' para acessar elementos por índice.
-            for (int i = 0; i < allRecords.size(); i++) {
-                String[] record = allRecords.get(i);
-
-                if (record == null || record.length < 5) {
-                    System.err.println("Linha mal formatada encontrada, com menos colunas do que o esperado. Linha: " + Arrays.toString(record));
-                    continue;
-                }
-
-                String originalDate = record[3];
-                String formattedDate = formatDate(originalDate);
-
-                String[] recordWithFormattedDate = Arrays.copyOf(record, record.length);
-                recordWithFormattedDate[3] = formattedDate;
-
-                // ALTERAÇÃO: ADIÇÃO DE ELEMENTOS AO MYDYNAMICARRAY
-                formattedRecords.add(recordWithFormattedDate);
-
-                String classification = record[4].toLowerCase();
-                if (classification.equals("boa") || classification.equals("muito boa")) {
-                    // ALTERAÇÃO: ADIÇÃO DE ELEMENTOS AO MYDYNAMICARRAY
-                    filteredRecords.add(recordWithFormattedDate);
-                }
+            // Os registros são decodificados um a um, já na escrita: não há mais listas intermediárias
+            // com os registros formatados e filtrados. Todas as saídas (as duas fixas e as partições
+            // pedidas) saem da mesma passada, pelo escritor particionado.
+            PartitionedWriter writer = new PartitionedWriter(header, maxOpenFiles, partitionBuffer);
+            for (int i = 0; i < partitionKeys.size(); i++) {
+                String key = partitionKeys.get(i);
+                writer.partitionBy(partitionKey(key), Paths.get("passwords_por_" + key),
+                        CompressedFiles.outputName(".csv"));
             }
-
-            // ALTERAÇÃO: ITENERAÇÃO E ESCRITA DE ELEMENTOS DO MYDYNAMICARRAY
-            // Os loops para escrever os registros formatados e filtrados também usam 'size()' e 'get()'
-            // do MyDynamicArray. O método 'writerFormatted.writeNext()' espera um 'String[]',
-            // que é exatamente o que 'formattedRecords.get(i)' retorna.
-            for (int i = 0; i < formattedRecords.size(); i++) {
-                writerFormatted.writeNext(formattedRecords.get(i));
-            }
-
-            for (int i = 0; i < filteredRecords.size(); i++) {
-                writerFiltered.writeNext(filteredRecords.get(i));
+            try (writer) {
+                writeFormatted(allRecords, writer, Paths.get(outputFileFormatted), Paths.get(outputFileFiltered));
             }
 
             System.out.println("✅ Arquivos gerados com sucesso:");
             System.out.println("- Arquivo com datas formatadas: " + outputFileFormatted);
             System.out.println("- Arquivo de senhas filtradas (boas/muito boas): " + outputFileFiltered);
+            if (partitionKeys.size() > 0) {
+                System.out.println("- Partições (" + partitionKeys.size() + " chave(s)): " + (writer.partitionCount() - 2)
+                        + " arquivos | aberturas de arquivo: " + writer.getOpens()
+                        + " | fechados pelo limite de " + maxOpenFiles + ": " + writer.getEvictions());
+            }
 
         } catch (FileNotFoundException e) {
             System.err.println("Erro: Arquivo de entrada não encontrado em '" + inputFile + "'. Certifique-se de que ele existe.");
@@ -128,6 +144,108 @@ public class DateFormatter {
         }
     }
 
+    /**
+     * Grava os registros codificados e, no segundo arquivo, apenas os classificados como "boa" ou
+     * "muito boa", além das partições já configuradas no escritor. O filtro é uma tabela de
+     * booleanos por código de classificação, consultada pelo código da linha (sem hash por
+     * registro), e cada registro só é remontado (decodificado) na hora de ser gravado.
+     *
+     * @param records Os registros lidos (sem o cabeçalho), com a data já formatada.
+     * @param writer O escritor particionado que recebe todas as saídas.
+     * @param formattedFile Recebe todos os registros com a data formatada.
+     * @param filteredFile Recebe apenas os registros "boa" e "muito boa".
+     * @throws IOException se alguma saída não puder ser escrita.
+     */
+    static void writeFormatted(EncodedRecords records, PartitionedWriter writer, Path formattedFile,
+                               Path filteredFile) throws IOException {
+        MyDictionaryColumn classes = records.column(CLASS_COLUMN);
+        boolean[] keep = new boolean[classes.cardinality()];
+        for (int code = 0; code < keep.length; code++) {
+            keep[code] = isFilteredClass(classes.value(code));
+        }
+
+        // O filtro é uma partição por linha: recebe o índice e lê o código da classificação na coluna.
+        writer.addPartition(formattedFile, record -> true);
+        writer.addRowPartition(filteredFile, row -> keep[classes.code(row)]);
+        for (int i = 0; i < records.size(); i++) {
+            writer.write(records.decode(i), i);
+        }
+    }
+
+    /**
+     * Função de partição de uma chave de --partition-by, sobre o registro já com a data formatada.
+     *
+     * @param key class, year, month (aaaa-mm) ou length.
+     * @return A função que extrai o valor da chave de um registro.
+     * @throws IllegalArgumentException se a chave for desconhecida.
+     */
+    static Function<String[], String> partitionKey(String key) {
+        switch (key) {
+            case "class": return record -> record[CLASS_COLUMN];
+            case "length": return record -> record[2];
+            case "year": return record -> {
+                String[] parts = record[DATE_COLUMN].split("/");
+                return parts.length == 3 ? parts[2] : "data_invalida";
+            };
+            case "month": return record -> {
+                String[] parts = record[DATE_COLUMN].split("/");
+                return parts.length == 3 ? parts[2] + "-" + parts[1] : "data_invalida";
+            };
+            default: throw new IllegalArgumentException("Chave de partição inválida: " + key + " (use class, year, month ou length)");
+        }
+    }
+
+    /**
+     * Formata as datas dos registros e separa as senhas "boa"/"muito boa".
+     * Extraído do main para que o pipeline em um único processo ({@link Main}) possa
+     * reaproveitar os registros já classificados em memória. Aceita qualquer {@link MyList}
+     * (MyDynamicArray no pipeline); o main lê os registros codificados e usa {@link #writeFormatted}.
+     *
+     * @param allRecords Registros de dados (sem o cabeçalho).
+     * @param formattedRecords Recebe os registros com a data formatada.
+     * @param filteredRecords Recebe apenas os registros classificados como "boa" ou "muito boa".
+     */
+    public static void formatRecords(MyList<String[]> allRecords, MyList<String[]> formattedRecords,
+                                     MyList<String[]> filteredRecords) {
+        // ALTERAÇÃO: ITENERAÇÃO E OBTENÇÃO DE ELEMENTOS DO MYDYNAMICARRAY
+        // O loop agora itera usando 'allRecords.size()' para obter o número total de elementos
+        // e 'allRecords.get(i)' para acessar elementos por índice.
+        // Cada dia distinto é formatado uma única vez (e a String formatada é compartilhada pelos
+        // registros), e o filtro é decidido uma vez por classificação distinta.
+        DayFormatter days = new DayFormatter();
+        MyDictionaryColumn classes = new MyDictionaryColumn(0);
+        MyDynamicArray<Boolean> keep = new MyDynamicArray<>();
+        for (int i = 0; i < allRecords.size(); i++) {
+            String[] record = allRecords.get(i);
+
+            if (record == null || record.length < 5) {
+                System.err.println("Linha mal formatada encontrada, com menos colunas do que o esperado. Linha: " + Arrays.toString(record));
+                continue;
+            }
+
+            String[] recordWithFormattedDate = Arrays.copyOf(record, record.length);
+            recordWithFormattedDate[DATE_COLUMN] = days.format(record[DATE_COLUMN]);
+
+            // ALTERAÇÃO: ADIÇÃO DE ELEMENTOS AO MYDYNAMICARRAY
+            formattedRecords.add(recordWithFormattedDate);
+
+            int classCode = classes.encode(record[CLASS_COLUMN]);
+            if (classCode == keep.size()) {
+                keep.add(isFilteredClass(record[CLASS_COLUMN]));
+            }
+            if (keep.get(classCode)) {
+                // ALTERAÇÃO: ADIÇÃO DE ELEMENTOS AO MYDYNAMICARRAY
+                filteredRecords.add(recordWithFormattedDate);
+            }
+        }
+    }
+
+    /** Indica se uma classificação vai para o arquivo filtrado ("boa" ou "muito boa"). */
+    private static boolean isFilteredClass(String classification) {
+        String lower = classification.toLowerCase();
+        return lower.equals("boa") || lower.equals("muito boa");
+    }
+
     // ALTERAÇÃO: REMOÇÃO DE MÉTODO AUXILIAR
     // O método 'resizeArray' foi removido porque sua funcionalidade foi encapsulada
     // e é automaticamente gerenciada pela classe 'MyDynamicArray'.
@@ -137,6 +255,48 @@ public class DateFormatter {
     //     return newArray;
     // }
 
+    /**
+     * Formata datas com cache por dia. O horário não muda o dia formatado quando está dentro
+     * da faixa (00:00:00 a 23:59:59), então as datas "yyyy-MM-dd HH:mm:ss" bem formadas
+     * compartilham a formatação (e a String resultante) pelos 10 primeiros caracteres. As demais
+     * passam por {@link #formatDate} a cada vez, com as mesmas mensagens de erro de antes.
+     * O cache tem uma entrada por dia distinto, não por horário.
+     */
+    static final class DayFormatter {
+        private final MyHashMap<String, String> byDay = new MyHashMap<>();
+
+        String format(String date) {
+            if (!isWellFormed(date)) {
+                return formatDate(date);
+            }
+            String day = date.substring(0, 10);
+            String formatted = byDay.get(day);
+            if (formatted == null) {
+                formatted = formatDate(date);
+                byDay.put(day, formatted);
+            }
+            return formatted;
+        }
+
+        /** Formato exato "yyyy-MM-dd HH:mm:ss", com o horário dentro da faixa de um dia. */
+        private static boolean isWellFormed(String date) {
+            if (date.length() != 19 || date.charAt(4) != '-' || date.charAt(7) != '-' || date.charAt(10) != ' '
+                    || date.charAt(13) != ':' || date.charAt(16) != ':') {
+                return false;
+            }
+            for (int i = 0; i < 19; i++) {
+                if (i == 4 || i == 7 || i == 10 || i == 13 || i == 16) continue;
+                char c = date.charAt(i);
+                if (c < '0' || c > '9') return false;
+            }
+            return twoDigits(date, 11) <= 23 && twoDigits(date, 14) <= 59 && twoDigits(date, 17) <= 59;
+        }
+
+        private static int twoDigits(String s, int at) {
+            return (s.charAt(at) - '0') * 10 + (s.charAt(at + 1) - '0');
+        }
+    }
+
     public static String formatDate(String date) {
         SimpleDateFormat inputFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
         SimpleDateFormat outputFormat = new SimpleDateFormat("dd/MM/yyyy");
@@ -0,0 +1,125 @@
+package com.example;
+
+import com.example.datastructures.MyChunkedArray;
+import com.example.datastructures.MyDictionaryColumn;
+
+/**
+ * Registros lidos com as colunas de baixa cardinalidade codificadas por dicionário.
+ *
+ * As colunas indicadas no construtor (nos loaders, a data já formatada por dia e a
+ * classificação) ficam em {@link MyDictionaryColumn}s, com um código por linha (1 ou 2 bytes
+ * enquanto a coluna tiver até 65.536 valores distintos) e uma única String por valor distinto;
+ * as demais colunas ficam em um String[] por linha, como antes. Só vale a pena codificar
+ * colunas de baixa cardinalidade: em uma coluna quase única por linha, o dicionário custa mais
+ * que as próprias Strings. O registro
+ * completo só é remontado por {@link #decode(int)}, na hora de gravar, e quem precisa filtrar
+ * ou comparar pelas colunas codificadas trabalha direto com os códigos ({@link #column(int)}).
+ */
+public final class EncodedRecords {
+    private final int[] encodedColumns;
+    private final MyDictionaryColumn[] dictionaries;
+    private final MyChunkedArray<String[]> rest = new MyChunkedArray<>(); // Colunas não codificadas
+    private final int minColumns;
+
+    /**
+     * @param encodedColumns Os índices das colunas a codificar, em ordem crescente.
+     */
+    public EncodedRecords(int... encodedColumns) {
+        this.encodedColumns = encodedColumns.clone();
+        this.dictionaries = new MyDictionaryColumn[encodedColumns.length];
+        int last = -1;
+        for (int c = 0; c < encodedColumns.length; c++) {
+            if (encodedColumns[c] <= last) {
+                throw new IllegalArgumentException("Colunas codificadas fora de ordem: " + encodedColumns[c]);
+            }
+            last = encodedColumns[c];
+            dictionaries[c] = new MyDictionaryColumn();
+        }
+        this.minColumns = last + 1;
+    }
+
+    /**
+     * Adiciona um registro, codificando as suas colunas de baixa cardinalidade.
+     *
+     * @param record O registro; deve ter todas as colunas codificadas.
+     * @throws IllegalArgumentException se o registro tiver menos colunas que o necessário.
+     */
+    public void add(String[] record) {
+        if (record.length < minColumns) {
+            throw new IllegalArgumentException("Registro com " + record.length + " colunas; esperado pelo menos " + minColumns);
+        }
+        String[] others = new String[record.length - encodedColumns.length];
+        int next = 0;
+        int c = 0;
+        for (int i = 0; i < record.length; i++) {
+            if (c < encodedColumns.length && encodedColumns[c] == i) {
+                dictionaries[c++].add(record[i]);
+            } else {
+                others[next++] = record[i];
+            }
+        }
+        rest.add(others);
+    }
+
+    /**
+     * Remonta o registro de uma linha. As colunas codificadas recebem a instância única
+     * do dicionário.
+     *
+     * @param row O índice da linha.
+     * @return Um novo array com todas as colunas do registro.
+     */
+    public String[] decode(int row) {
+        String[] others = rest.get(row);
+        String[] record = new String[others.length + encodedColumns.length];
+        int next = 0;
+        int c = 0;
+        for (int i = 0; i < record.length; i++) {
+            if (c < encodedColumns.length && encodedColumns[c] == i) {
+                record[i] = dictionaries[c++].get(row);
+            } else {
+                record[i] = others[next++];
+            }
+        }
+        return record;
+    }
+
+    /**
+     * Retorna o valor de uma coluna de uma linha, sem remontar o registro inteiro.
+     *
+     * @param row O índice da linha.
+     * @param column O índice da coluna no registro.
+     * @return O valor (a instância do dicionário, se a coluna for codificada).
+     * @throws IndexOutOfBoundsException se a linha ou a coluna estiver fora dos limites.
+     */
+    public String get(int row, int column) {
+        String[] others = rest.get(row);
+        int before = 0; // Colunas codificadas antes de 'column'
+        for (int c = 0; c < encodedColumns.length && encodedColumns[c] <= column; c++) {
+            if (encodedColumns[c] == column) return dictionaries[c].get(row);
+            before++;
+        }
+        if (column < 0 || column - before >= others.length) {
+            throw new IndexOutOfBoundsException("Coluna: " + column + ", Colunas: " + (others.length + encodedColumns.length));
+        }
+        return others[column - before];
+    }
+
+    /**
+     * Retorna a coluna codificada de um índice de coluna do registro.
+     *
+     * @param column O índice da coluna no registro (ex: 3 para a data).
+     * @return A coluna, com o dicionário e os códigos por linha.
+     * @throws IllegalArgumentException se a coluna não for codificada.
+     */
+    public MyDictionaryColumn column(int column) {
+        for (int c = 0; c < encodedColumns.length; c++) {
+            if (encodedColumns[c] == column) return dictionaries[c];
+        }
+        throw new IllegalArgumentException("Coluna não codificada: " + column);
+    }
+
+    /** @return O número de registros. */
+    public int size() {
+        return rest.size();
+    }
+}
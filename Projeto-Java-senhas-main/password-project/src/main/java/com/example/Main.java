@@ -0,0 +1,312 @@
+package com.example;
+
+import com.opencsv.CSVReader;
+import com.opencsv.CSVWriter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.example.datastructures.MyCache;
+import com.example.datastructures.MyConcurrentCounterMap;
+import com.example.datastructures.MyDynamicArray;
+import com.example.datastructures.MyHashMap;
+import com.example.datastructures.MyLRUCache;
+import com.example.datastructures.MyStripedLRUCache;
+
+/**
+ * Ponto de entrada do pipeline completo em um único processo (configurado no exec-maven-plugin).
+ *
+ * Em vez de três JVMs (PasswordClassifier, DateFormatter e PasswordSorter), cada uma pagando
+ * inicialização, carregamento de classes e JIT frio, e cada uma relendo do disco o que a anterior
+ * acabou de gravar, as etapas rodam aqui em sequência e passam os registros em memória.
+ *
+ * Uso:
+ * <pre>
+ * Main [--stages classify,format,sort[,aggregate]] [--input arquivo.csv] [--output-dir dir]
+ *      [--threads n] [--warmup n] [--gzip] [--instrument] [--quiet] [--rules arquivo] [--cache n]
+ * Main --shards diretório|glob [--algorithm algoritmo] [--output-dir dir] [--threads n] [--gzip]
+ * </pre>
+ * Sem {@code --input}, lê {@code passwords.csv} do classpath, como o PasswordClassifier.
+ * Se uma etapa roda sem a anterior, sua entrada é lida do arquivo que a anterior gravaria.
+ * {@code --threads n} classifica em blocos paralelos e executa as combinações de ordenação em paralelo.
+ * A análise de cada senha só é impressa na classificação sequencial, e {@code --quiet} a desliga
+ * também ali; a classificação paralela e os shards nunca a imprimem.
+ * {@code --gzip} grava os CSVs como .csv.gz, comprimidos em blocos paralelos.
+ * {@code --rules arquivo} classifica com as regras do arquivo ({@link ClassificationRules}).
+ * {@code --cache n} memoiza as classificações em um cache LRU de n senhas: um {@link MyLRUCache}
+ * na classificação sequencial e um {@link MyStripedLRUCache} (seguro para threads) na paralela.
+ * A taxa de acerto aparece no resumo da etapa de classificação.
+ * {@code --instrument} conta as operações de cada ordenação ({@link SortCounters}) e grava
+ * {@code sort_stats.csv} junto das saídas ordenadas.
+ * A etapa opcional {@code aggregate} gera o relatório de {@link PasswordAggregator} a partir dos
+ * registros classificados.
+ * {@code --warmup n} executa o pipeline n vezes sem gravar arquivos antes da execução medida.
+ * {@code --shards} processa uma entrada dividida em vários CSVs ({@link ShardedPipeline}): cada shard
+ * passa por classificação, formatação e ordenação (com {@code --algorithm}, padrão merge) em paralelo,
+ * e os resultados são combinados nos arquivos globais.
+ */
+public class Main {
+    static final String CLASSIFIED_FILE = "password_classifier.csv";
+    static final String FORMATTED_FILE = "passwords_formated_data.csv";
+    static final String FILTERED_FILE = "passwords_classifier.csv";
+
+    private final boolean classify;
+    private final boolean format;
+    private final boolean sort;
+    private final boolean aggregate;
+    private final String input;
+    private final String outputDir;
+    private final ExecutorService executor;
+    private final int threads;
+    private final int cacheCapacity; // 0: sem cache de classificações
+
+    // Registros passados de uma etapa para a seguinte, em memória.
+    private MyDynamicArray<String[]> classified;
+    private MyDynamicArray<String[]> formatted;
+    private String[] header;
+
+    private Main(boolean classify, boolean format, boolean sort, boolean aggregate, String input, String outputDir,
+                 ExecutorService executor, int threads, int cacheCapacity) {
+        this.classify = classify;
+        this.format = format;
+        this.sort = sort;
+        this.aggregate = aggregate;
+        this.input = input;
+        this.outputDir = outputDir;
+        this.executor = executor;
+        this.threads = threads;
+        this.cacheCapacity = cacheCapacity;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String stages = "classify,format,sort";
+        String input = null;
+        String outputDir = ".";
+        int threads = 1;
+        int warmup = 0;
+        String shards = null;
+        String algorithm = "merge";
+        int cacheCapacity = 0;
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (option.equals("--gzip")) {
+                CompressedFiles.setCompressOutputs(true);
+                continue;
+            }
+            if (option.equals("--instrument")) {
+                SortCounters.setEnabled(true);
+                continue;
+            }
+            if (option.equals("--quiet")) {
+                PasswordClassifier.setVerbose(false);
+                continue;
+            }
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Opção sem valor: " + option);
+            }
+            String value = args[++i];
+            switch (option) {
+                case "--stages" -> stages = value;
+                case "--input" -> input = value;
+                case "--output-dir" -> outputDir = value;
+                case "--threads" -> threads = Integer.parseInt(value);
+                case "--warmup" -> warmup = Integer.parseInt(value);
+                case "--rules" -> PasswordClassifier.setRules(ClassificationRules.load(Paths.get(value)));
+                case "--shards" -> shards = value;
+                case "--algorithm" -> algorithm = value;
+                case "--cache" -> cacheCapacity = Integer.parseInt(value);
+                default -> throw new IllegalArgumentException("Opção desconhecida: " + option);
+            }
+        }
+
+        boolean classify = false, format = false, sort = false, aggregate = false;
+        for (String stage : stages.split(",")) {
+            switch (stage.trim()) {
+                case "classify" -> classify = true;
+                case "format" -> format = true;
+                case "sort" -> sort = true;
+                case "aggregate" -> aggregate = true;
+                default -> throw new IllegalArgumentException("Etapa desconhecida: " + stage);
+            }
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("Número de threads inválido: " + threads);
+        }
+        if (cacheCapacity < 0) {
+            throw new IllegalArgumentException("Capacidade de cache inválida: " + cacheCapacity);
+        }
+        Files.createDirectories(Paths.get(outputDir));
+
+        // O pool vive durante todo o pipeline, para que a alocação das suas threads seja medida.
+        ExecutorService executor = threads > 1 ? Executors.newFixedThreadPool(threads) : null;
+        try {
+            if (shards != null) {
+                if (!PasswordSorter.isAlgoritmoValido(algorithm, "length")) {
+                    throw new IllegalArgumentException("Algoritmo de ordenação inválido: " + algorithm);
+                }
+                ShardedPipeline sharded = new ShardedPipeline(ShardedPipeline.resolveShards(shards), outputDir,
+                        algorithm, executor);
+                StageMetrics shardStage = StageMetrics.measure("shards", sharded::processShards);
+                StageMetrics combineStage = StageMetrics.measure("combine", sharded::combine);
+                System.out.println("\n--- Relatório por etapa (" + threads + " thread(s), shards) ---");
+                StageMetrics.printHeader();
+                shardStage.print();
+                combineStage.print();
+                return;
+            }
+            Main pipeline = new Main(classify, format, sort, aggregate, input, outputDir, executor, threads,
+                    cacheCapacity);
+            for (int i = 0; i < warmup; i++) {
+                System.out.println("aquecimento " + (i + 1) + "/" + warmup);
+                pipeline.run(false);
+            }
+            MyDynamicArray<StageMetrics> report = pipeline.run(true);
+
+            System.out.println("\n--- Relatório por etapa (" + threads + " thread(s), " + warmup + " aquecimento(s)) ---");
+            StageMetrics.printHeader();
+            for (int i = 0; i < report.size(); i++) {
+                report.get(i).print();
+            }
+        } finally {
+            if (executor != null) {
+                executor.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Executa as etapas selecionadas, uma vez.
+     *
+     * @param writeOutputs Se false, nenhum arquivo é gravado (execuções de aquecimento).
+     * @return As medidas de cada etapa executada.
+     */
+    private MyDynamicArray<StageMetrics> run(boolean writeOutputs) throws Exception {
+        MyDynamicArray<StageMetrics> report = new MyDynamicArray<>();
+        classified = null;
+        formatted = null;
+        header = null;
+
+        if (classify) {
+            report.add(StageMetrics.measure("classify", () -> {
+                MyHashMap<String, ? extends Number> counts;
+                // Um cache novo a cada execução, para que o aquecimento não infle a taxa de acerto.
+                MyCache<String, String> cache = null;
+                if (executor == null) {
+                    if (cacheCapacity > 0) cache = new MyLRUCache<>(cacheCapacity);
+                    MyHashMap<String, Integer> sequentialCounts = new MyHashMap<>();
+                    classified = PasswordClassifier.classifyRecords(readInput(), sequentialCounts, cache, null);
+                    counts = sequentialCounts;
+                } else {
+                    // Com várias threads, as contagens vão para um mapa concorrente (sem lock global)
+                    // e o cache é segmentado, com um lock por segmento.
+                    if (cacheCapacity > 0) cache = new MyStripedLRUCache<>(cacheCapacity, threads * 4);
+                    MyConcurrentCounterMap<String> concurrentCounts = new MyConcurrentCounterMap<>();
+                    classified = PasswordClassifier.classifyRecordsParallel(readInput(), concurrentCounts, cache, null,
+                            executor, threads);
+                    counts = concurrentCounts.snapshot();
+                }
+                if (writeOutputs) {
+                    writeRows(CLASSIFIED_FILE, classified, null);
+                    PasswordClassifier.printSummary(counts);
+                    PasswordClassifier.printCacheStats(cache);
+                }
+            }));
+        }
+
+        if (format) {
+            report.add(StageMetrics.measure("format", () -> {
+                if (classified == null) {
+                    classified = readRows(CompressedFiles.newReader(Paths.get(outputDir, CLASSIFIED_FILE).toString()));
+                }
+                if (classified.isEmpty()) {
+                    throw new IOException("Nenhum registro classificado para formatar.");
+                }
+                header = classified.get(0);
+                MyDynamicArray<String[]> records = new MyDynamicArray<>(classified.size());
+                for (int i = 1; i < classified.size(); i++) {
+                    records.add(classified.get(i));
+                }
+                MyDynamicArray<String[]> filtered = new MyDynamicArray<>();
+                formatted = new MyDynamicArray<>(records.size());
+                DateFormatter.formatRecords(records, formatted, filtered);
+                if (writeOutputs) {
+                    writeRows(FORMATTED_FILE, formatted, header);
+                    writeRows(FILTERED_FILE, filtered, header);
+                }
+            }));
+        }
+
+        if (sort) {
+            report.add(StageMetrics.measure("sort", () -> {
+                if (formatted == null) {
+                    MyDynamicArray<String[]> dados = PasswordSorter.readCSV(Paths.get(outputDir, FORMATTED_FILE).toString());
+                    header = dados.get(0);
+                    formatted = new MyDynamicArray<>(dados.size());
+                    for (int i = 1; i < dados.size(); i++) {
+                        formatted.add(dados.get(i));
+                    }
+                }
+                PasswordSorter.sortAll(header, formatted, outputDir, executor, writeOutputs);
+            }));
+        }
+
+        if (aggregate) {
+            report.add(StageMetrics.measure("aggregate", () -> {
+                MyDynamicArray<String[]> rows = classified != null
+                        ? classified
+                        : readRows(CompressedFiles.newReader(Paths.get(outputDir, CLASSIFIED_FILE).toString()));
+                // Com várias threads, os parciais são calculados no common pool e combinados.
+                PasswordAggregator result = PasswordAggregator.aggregate(rows, 1, executor != null);
+                if (writeOutputs) {
+                    result.writeReport(Paths.get(outputDir));
+                    result.printSummary();
+                }
+            }));
+        }
+        return report;
+    }
+
+    /** Lê o CSV de entrada (arquivo informado ou recurso do classpath). */
+    private MyDynamicArray<String[]> readInput() throws Exception {
+        if (input != null) {
+            return readRows(CompressedFiles.newReader(input));
+        }
+        InputStream stream = Main.class.getClassLoader().getResourceAsStream("passwords.csv");
+        if (stream == null) {
+            throw new IOException("arquivo não encontrado no classpath: passwords.csv");
+        }
+        return readRows(new InputStreamReader(stream));
+    }
+
+    /** Lê todas as linhas de um CSV (incluindo o cabeçalho) para um MyDynamicArray. */
+    static MyDynamicArray<String[]> readRows(Reader source) throws Exception {
+        MyDynamicArray<String[]> rows = new MyDynamicArray<>();
+        try (CSVReader reader = new CSVReader(source)) {
+            String[] row;
+            while ((row = reader.readNext()) != null) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    /** Grava as linhas em um CSV no diretório de saída, precedidas do cabeçalho (se houver). */
+    private void writeRows(String fileName, MyDynamicArray<String[]> rows, String[] header) throws IOException {
+        Path target = Paths.get(outputDir, CompressedFiles.outputName(fileName));
+        try (CSVWriter writer = new CSVWriter(CompressedFiles.newWriter(target))) {
+            if (header != null) {
+                writer.writeNext(header);
+            }
+            for (int i = 0; i < rows.size(); i++) {
+                writer.writeNext(rows.get(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package com.example;
+
+import java.util.Arrays; // Usado para Arrays.copyOf no buffer auxiliar do Merge Sort
+
+import com.example.datastructures.MyLongArray;
+
+/**
+ * Versões dos algoritmos de {@link PasswordSorter} para uma permutação de registros guardada em um
+ * {@link MyLongArray}, sem nenhum objeto por registro: cada posição é {@code (chave << 32) | registro},
+ * com a chave int do critério nos 32 bits altos e o índice do registro nos 32 baixos ({@link #pack}).
+ *
+ * As comparações olham só a chave, como os comparadores do PasswordSorter: empates continuam empates,
+ * e cada algoritmo faz as mesmas comparações, trocas e movimentos (contados em {@link SortCounters})
+ * e deixa os registros na mesma ordem que a sua versão genérica sobre os registros. Usado pelos
+ * caminhos que não têm um String[] por registro ({@link PasswordSorter#sortAllOffHeap}).
+ */
+final class PackedRowSort {
+
+    private PackedRowSort() {
+    }
+
+    /** Empacota a chave e o índice do registro em um long. */
+    static long pack(int key, int row) {
+        return ((long) key << 32) | (row & 0xffffffffL);
+    }
+
+    /** @return A chave de um valor empacotado. */
+    static int key(long packed) {
+        return (int) (packed >> 32);
+    }
+
+    /** @return O índice do registro de um valor empacotado. */
+    static int row(long packed) {
+        return (int) packed;
+    }
+
+    /**
+     * Ordena os valores empacotados pela chave.
+     *
+     * @param rows Os valores empacotados.
+     * @param algoritmo O nome do algoritmo, como em sortData (exceto "auto").
+     * @throws IllegalArgumentException se o algoritmo for desconhecido.
+     */
+    static void sort(MyLongArray rows, String algoritmo) {
+        long[] a = rows.rawArray();
+        int n = rows.size();
+        switch (algoritmo) {
+            case "insertion":
+                insertionSort(a, n);
+                break;
+            case "selection":
+                selectionSort(a, n);
+                break;
+            case "merge":
+                mergeSort(a, n);
+                break;
+            case "quick":
+                quickSort(a, 0, n - 1);
+                break;
+            case "quickMediana":
+                quickSortMediana(a, 0, n - 1);
+                break;
+            case "counting":
+                countingSort(a, n);
+                break;
+            case "heap":
+                heapSort(a, n);
+                break;
+            case "heap4":
+                dAryHeapSort(a, n, 4);
+                break;
+            case "heap8":
+                dAryHeapSort(a, n, 8);
+                break;
+            default:
+                throw new IllegalArgumentException("Algoritmo de ordenação inválido: " + algoritmo);
+        }
+    }
+
+    private static int compare(long a, long b) {
+        if (SortCounters.enabled) SortCounters.countCompare();
+        return Integer.compare(key(a), key(b));
+    }
+
+    private static void swap(long[] a, int i, int j) {
+        if (SortCounters.enabled) SortCounters.countSwap();
+        long temp = a[i];
+        a[i] = a[j];
+        a[j] = temp;
+    }
+
+    private static void move(long[] a, int i, long value) {
+        if (SortCounters.enabled) SortCounters.countMove();
+        a[i] = value;
+    }
+
+    private static void insertionSort(long[] a, int n) {
+        for (int i = 1; i < n; i++) {
+            long key = a[i];
+            int j = i - 1;
+            while (j >= 0 && compare(a[j], key) > 0) {
+                move(a, j + 1, a[j]);
+                j--;
+            }
+            move(a, j + 1, key);
+        }
+    }
+
+    private static void selectionSort(long[] a, int n) {
+        for (int i = 0; i < n - 1; i++) {
+            int minIdx = i;
+            for (int j = i + 1; j < n; j++) {
+                if (compare(a[j], a[minIdx]) < 0) {
+                    minIdx = j;
+                }
+            }
+            if (minIdx != i) {
+                swap(a, i, minIdx);
+            }
+        }
+    }
+
+    private static void mergeSort(long[] a, int n) {
+        if (n <= 1) return;
+        long[] aux = Arrays.copyOf(a, n);
+        mergeSort(a, aux, 0, n);
+    }
+
+    /** Merge Sort recursivo do intervalo [lo, hi), com as mesmas divisões das visões do PasswordSorter. */
+    private static void mergeSort(long[] a, long[] aux, int lo, int hi) {
+        if (hi - lo <= 1) return;
+        if (SortCounters.enabled) SortCounters.enter();
+        int mid = lo + (hi - lo) / 2;
+        mergeSort(a, aux, lo, mid);
+        mergeSort(a, aux, mid, hi);
+        merge(a, aux, lo, mid, hi);
+        if (SortCounters.enabled) SortCounters.exit();
+    }
+
+    private static void merge(long[] a, long[] aux, int lo, int mid, int hi) {
+        for (int i = lo; i < hi; i++) {
+            move(aux, i, a[i]);
+        }
+        int i = lo, j = mid, k = lo;
+        while (i < mid && j < hi) {
+            if (compare(aux[i], aux[j]) <= 0) {
+                move(a, k++, aux[i++]);
+            } else {
+                move(a, k++, aux[j++]);
+            }
+        }
+        while (i < mid) move(a, k++, aux[i++]);
+        // O restante da metade direita já está na posição final.
+    }
+
+    private static void quickSort(long[] a, int low, int high) {
+        if (low < high) {
+            if (SortCounters.enabled) SortCounters.enter();
+            int pi = partition(a, low, high);
+            quickSort(a, low, pi - 1);
+            quickSort(a, pi + 1, high);
+            if (SortCounters.enabled) SortCounters.exit();
+        }
+    }
+
+    private static int partition(long[] a, int low, int high) {
+        long pivot = a[high];
+        int i = low - 1;
+        for (int j = low; j < high; j++) {
+            if (compare(a[j], pivot) <= 0) {
+                i++;
+                swap(a, i, j);
+            }
+        }
+        swap(a, i + 1, high);
+        return i + 1;
+    }
+
+    private static void quickSortMediana(long[] a, int low, int high) {
+        if (low < high) {
+            if (SortCounters.enabled) SortCounters.enter();
+            int pi = partitionMediana(a, low, high);
+            quickSortMediana(a, low, pi - 1);
+            quickSortMediana(a, pi + 1, high);
+            if (SortCounters.enabled) SortCounters.exit();
+        }
+    }
+
+    private static int partitionMediana(long[] a, int low, int high) {
+        int mid = (low + high) / 2;
+        long x = a[low];
+        long y = a[mid];
+        long z = a[high];
+
+        long pivot;
+        if (compare(x, y) < 0) {
+            if (compare(y, z) < 0) pivot = y;
+            else if (compare(x, z) < 0) pivot = z;
+            else pivot = x;
+        } else {
+            if (compare(x, z) < 0) pivot = x;
+            else if (compare(y, z) < 0) pivot = z;
+            else pivot = y;
+        }
+
+        // O índice do registro torna cada valor único, como a identidade dos registros na versão genérica.
+        for (int i = low; i <= high; i++) {
+            if (a[i] == pivot) {
+                swap(a, i, high);
+                break;
+            }
+        }
+        return partition(a, low, high);
+    }
+
+    /** Counting Sort estável pelas chaves: contagem, somas de prefixo e distribuição. */
+    private static void countingSort(long[] a, int n) {
+        if (n == 0) return;
+        int min = key(a[0]);
+        int max = min;
+        for (int i = 1; i < n; i++) {
+            int key = key(a[i]);
+            if (key < min) min = key;
+            if (key > max) max = key;
+        }
+        long range = (long) max - min + 1;
+        if (range > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Faixa de chaves grande demais para o Counting Sort: " + range);
+        }
+        int[] start = new int[(int) range + 1];
+        for (int i = 0; i < n; i++) {
+            start[key(a[i]) - min + 1]++;
+        }
+        for (int k = 1; k < start.length; k++) {
+            start[k] += start[k - 1];
+        }
+        long[] sorted = new long[n];
+        for (int i = 0; i < n; i++) {
+            sorted[start[key(a[i]) - min]++] = a[i];
+        }
+        for (int i = 0; i < n; i++) {
+            move(a, i, sorted[i]);
+        }
+    }
+
+    private static void heapSort(long[] a, int n) {
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            heapify(a, n, i);
+        }
+        for (int i = n - 1; i > 0; i--) {
+            swap(a, 0, i);
+            heapify(a, i, 0);
+        }
+    }
+
+    private static void heapify(long[] a, int n, int i) {
+        if (SortCounters.enabled) SortCounters.enter();
+        int largest = i;
+        int l = 2 * i + 1;
+        int r = 2 * i + 2;
+        if (l < n && compare(a[l], a[largest]) > 0) {
+            largest = l;
+        }
+        if (r < n && compare(a[r], a[largest]) > 0) {
+            largest = r;
+        }
+        if (largest != i) {
+            swap(a, i, largest);
+            heapify(a, n, largest);
+        }
+        if (SortCounters.enabled) SortCounters.exit();
+    }
+
+    private static void dAryHeapSort(long[] a, int n, int arity) {
+        for (int i = (n - 2) / arity; i >= 0 && n > 1; i--) {
+            siftDownBottomUp(a, i, n, a[i], arity);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            long last = a[end];
+            move(a, end, a[0]);
+            siftDownBottomUp(a, 0, end, last, arity);
+        }
+    }
+
+    private static void siftDownBottomUp(long[] a, int root, int n, long item, int arity) {
+        int hole = root;
+        int child;
+        while ((child = arity * hole + 1) < n) {
+            int last = Math.min(child + arity, n);
+            int largest = child;
+            for (int c = child + 1; c < last; c++) {
+                if (compare(a[c], a[largest]) > 0) {
+                    largest = c;
+                }
+            }
+            move(a, hole, a[largest]);
+            hole = largest;
+        }
+        while (hole > root) {
+            int parent = (hole - 1) / arity;
+            if (compare(item, a[parent]) <= 0) {
+                break;
+            }
+            move(a, hole, a[parent]);
+            hole = parent;
+        }
+        move(a, hole, item);
+    }
+}
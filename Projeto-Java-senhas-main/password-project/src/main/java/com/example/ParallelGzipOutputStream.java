@@ -0,0 +1,200 @@
+package com.example;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import com.example.datastructures.MyDynamicArray;
+
+/**
+ * Compressão gzip em blocos paralelos (no estilo do pigz).
+ *
+ * Os bytes escritos são acumulados em blocos independentes de {@code blockSize} bytes; cada
+ * bloco é comprimido em uma thread do pool como um membro gzip completo (cabeçalho, deflate
+ * e trailer com CRC32 e tamanho), e os membros são gravados na ordem original. Um arquivo com
+ * vários membros concatenados é um .gz padrão: {@code gzip -d}, {@code zcat} e
+ * {@link java.util.zip.GZIPInputStream} o descomprimem como um fluxo único.
+ *
+ * No máximo {@code 2 × paralelismo} blocos ficam pendentes, limitando a memória usada.
+ */
+public class ParallelGzipOutputStream extends OutputStream {
+    public static final int DEFAULT_BLOCK_SIZE = 1 << 20; // 1 MB por bloco
+
+    private static final byte[] GZIP_HEADER = {
+            0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, // Magic, método, flags
+            0, 0, 0, 0,                              // MTIME (não informado)
+            0, (byte) 0xff                           // XFL, SO desconhecido
+    };
+
+    private final OutputStream out;
+    private final ExecutorService executor;
+    private final int level;
+    private final int blockSize;
+    private final int maxPending;
+    private MyDynamicArray<Future<byte[]>> pending = new MyDynamicArray<>();
+    private int firstPending; // Índice do bloco mais antigo ainda não gravado
+    private byte[] block;
+    private int blockLength;
+    private boolean closed;
+
+    /**
+     * Cria o fluxo com o nível de compressão padrão, blocos de 1 MB e o common pool.
+     *
+     * @param out O fluxo de destino (fechado junto com este).
+     */
+    public ParallelGzipOutputStream(OutputStream out) {
+        this(out, ForkJoinPool.commonPool(), Deflater.DEFAULT_COMPRESSION, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * @param out O fluxo de destino (fechado junto com este).
+     * @param executor O pool que comprime os blocos.
+     * @param level O nível de compressão do Deflater (0 a 9, ou -1 para o padrão).
+     * @param blockSize O tamanho de cada bloco, em bytes.
+     */
+    public ParallelGzipOutputStream(OutputStream out, ExecutorService executor, int level, int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Tamanho de bloco inválido: " + blockSize);
+        }
+        this.out = out;
+        this.executor = executor;
+        this.level = level;
+        this.blockSize = blockSize;
+        int parallelism = executor instanceof ForkJoinPool pool ? pool.getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        this.maxPending = Math.max(2, 2 * parallelism);
+        this.block = new byte[blockSize];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        block[blockLength++] = (byte) b;
+        if (blockLength == blockSize) {
+            submitBlock();
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        while (len > 0) {
+            int count = Math.min(len, blockSize - blockLength);
+            System.arraycopy(b, off, block, blockLength, count);
+            blockLength += count;
+            off += count;
+            len -= count;
+            if (blockLength == blockSize) {
+                submitBlock();
+            }
+        }
+    }
+
+    /**
+     * Comprime o bloco parcial atual e grava todos os blocos pendentes.
+     * Cada flush encerra um membro gzip; use com moderação para não piorar a compressão.
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        if (blockLength > 0) {
+            submitBlock();
+        }
+        while (firstPending < pending.size()) {
+            writeOldest();
+        }
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            flush();
+        } finally {
+            closed = true;
+            out.close();
+        }
+    }
+
+    private void submitBlock() throws IOException {
+        byte[] data = block;
+        int length = blockLength;
+        pending.add(executor.submit((Callable<byte[]>) () -> compressMember(data, length, level)));
+        block = new byte[blockSize];
+        blockLength = 0;
+        while (pending.size() - firstPending >= maxPending) {
+            writeOldest();
+        }
+    }
+
+    /** Espera o bloco mais antigo ficar pronto e o grava, preservando a ordem. */
+    private void writeOldest() throws IOException {
+        Future<byte[]> future = pending.get(firstPending);
+        pending.set(firstPending++, null); // Libera a referência ao bloco comprimido
+        try {
+            out.write(future.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Compressão interrompida.", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Falha ao comprimir bloco: " + e.getCause(), e.getCause());
+        }
+        if (firstPending == pending.size()) {
+            pending = new MyDynamicArray<>();
+            firstPending = 0;
+        }
+    }
+
+    /**
+     * Comprime um bloco como um membro gzip completo.
+     *
+     * @param data Os bytes do bloco.
+     * @param length Quantos bytes de data usar.
+     * @param level O nível de compressão.
+     * @return O membro gzip.
+     */
+    static byte[] compressMember(byte[] data, int length, int level) {
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, length);
+        Deflater deflater = new Deflater(level, true); // Deflate "cru": o cabeçalho gzip é escrito aqui
+        ByteArrayOutputStream member = new ByteArrayOutputStream(length / 3 + 64);
+        try {
+            member.write(GZIP_HEADER, 0, GZIP_HEADER.length);
+            deflater.setInput(data, 0, length);
+            deflater.finish();
+            byte[] buffer = new byte[64 * 1024];
+            while (!deflater.finished()) {
+                int n = deflater.deflate(buffer);
+                member.write(buffer, 0, n);
+            }
+        } finally {
+            deflater.end();
+        }
+        writeIntLE(member, (int) crc.getValue());
+        writeIntLE(member, length); // ISIZE: tamanho original módulo 2^32
+        return member.toByteArray();
+    }
+
+    private static void writeIntLE(ByteArrayOutputStream out, int value) {
+        out.write(value);
+        out.write(value >>> 8);
+        out.write(value >>> 16);
+        out.write(value >>> 24);
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Fluxo fechado");
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package com.example;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+import com.example.datastructures.MyDynamicArray;
+import com.example.datastructures.MyHashMap;
+import com.example.datastructures.MyLRUCache;
+
+/**
+ * Escritor que distribui cada registro para qualquer número de arquivos CSV em uma única passada.
+ *
+ * Há dois tipos de rota, que podem ser combinadas:
+ * <ul>
+ *   <li>partições declaradas ({@link #addPartition}): um arquivo e um predicado; o registro vai
+ *       para todas as partições cujo predicado aceitar. Com {@link #addRowPartition}, o predicado
+ *       recebe o índice da linha informado em {@link #write(String[], int)}, para quem decide pela
+ *       linha (ex: o código da classificação em uma coluna codificada) e não pelos campos;</li>
+ *   <li>partições por chave ({@link #partitionBy}): uma função que extrai a chave do registro; cada
+ *       valor distinto da chave ganha o seu arquivo, criado na primeira vez que aparece.</li>
+ * </ul>
+ *
+ * Cada partição acumula as linhas em um buffer limitado ({@code bufferChars} caracteres) e só
+ * precisa de um arquivo aberto quando o buffer enche ou no {@link #close()}. Os arquivos abertos
+ * ficam em um {@link MyLRUCache} com no máximo {@code maxOpenFiles} entradas: quando é preciso abrir
+ * mais um, o usado há mais tempo é fechado, e volta a ser aberto (em modo de anexação) se a sua
+ * partição encher o buffer de novo. Assim, centenas de partições não esgotam os descritores de
+ * arquivo nem a memória: no máximo {@code partições × bufferChars} caracteres em buffers mais
+ * {@code maxOpenFiles} escritores abertos.
+ *
+ * As linhas têm o mesmo formato do CSVWriter do DateFormatter (campos entre aspas, separados por
+ * vírgula), e cada arquivo começa com o cabeçalho. Nomes terminados em .gz são comprimidos como nas
+ * demais saídas ({@link CompressedFiles}); cada reabertura acrescenta novos membros gzip, o que
+ * continua sendo um .gz válido.
+ *
+ * Esta classe não é segura para múltiplas threads.
+ */
+public final class PartitionedWriter implements Closeable {
+    public static final int DEFAULT_MAX_OPEN_FILES = 64;
+    public static final int DEFAULT_BUFFER_CHARS = 8 * 1024;
+
+    /** Um arquivo de saída com o seu buffer. */
+    private static final class Partition {
+        final Path path;
+        final StringBuilder buffer = new StringBuilder();
+        BufferedWriter writer; // null enquanto o arquivo estiver fechado
+        boolean created;       // Se o arquivo já foi criado (com o cabeçalho) nesta execução
+        long rows;
+
+        Partition(Path path) {
+            this.path = path;
+        }
+    }
+
+    /** Uma rota por chave: a função da chave e o diretório dos arquivos. */
+    private static final class KeyRoute {
+        final Function<String[], String> keyFunction;
+        final Path directory;
+        final String suffix;
+
+        KeyRoute(Function<String[], String> keyFunction, Path directory, String suffix) {
+            this.keyFunction = keyFunction;
+            this.directory = directory;
+            this.suffix = suffix;
+        }
+    }
+
+    private final String headerLine;
+    private final int bufferChars;
+    private final MyDynamicArray<Partition> declared = new MyDynamicArray<>();
+    private final MyDynamicArray<Predicate<String[]>> predicates = new MyDynamicArray<>(); // null nas partições por linha
+    private final MyDynamicArray<IntPredicate> rowPredicates = new MyDynamicArray<>();     // null nas demais
+    private boolean hasRowPartitions;
+    private final MyDynamicArray<KeyRoute> keyRoutes = new MyDynamicArray<>();
+    private final MyHashMap<Path, Partition> partitions = new MyHashMap<>(); // Todas, por arquivo
+    private final MyDynamicArray<Partition> order = new MyDynamicArray<>();  // Ordem de criação
+    private final MyLRUCache<Path, Partition> openFiles;
+    private long opens;
+    private boolean closed;
+
+    /**
+     * @param header O cabeçalho gravado no início de cada arquivo.
+     * @param maxOpenFiles O número máximo de arquivos abertos ao mesmo tempo.
+     * @param bufferChars O tamanho do buffer de cada partição, em caracteres.
+     * @throws IllegalArgumentException se algum limite não for positivo.
+     */
+    public PartitionedWriter(String[] header, int maxOpenFiles, int bufferChars) {
+        if (maxOpenFiles <= 0) {
+            throw new IllegalArgumentException("Número máximo de arquivos abertos inválido: " + maxOpenFiles);
+        }
+        if (bufferChars <= 0) {
+            throw new IllegalArgumentException("Tamanho de buffer inválido: " + bufferChars);
+        }
+        this.headerLine = PasswordSorter.toCsvLine(header);
+        this.bufferChars = bufferChars;
+        this.openFiles = new MyLRUCache<>(maxOpenFiles, (path, partition) -> closeFile(partition));
+    }
+
+    /**
+     * Declara uma partição: os registros aceitos pelo predicado vão para o arquivo.
+     *
+     * @param file O arquivo de saída.
+     * @param predicate O predicado que seleciona os registros.
+     */
+    public void addPartition(Path file, Predicate<String[]> predicate) {
+        declared.add(partition(file));
+        predicates.add(predicate);
+        rowPredicates.add(null);
+    }
+
+    /**
+     * Declara uma partição decidida pelo índice da linha: os registros gravados com
+     * {@link #write(String[], int)} cujo índice for aceito pelo predicado vão para o arquivo.
+     *
+     * @param file O arquivo de saída.
+     * @param rowPredicate O predicado que seleciona as linhas.
+     */
+    public void addRowPartition(Path file, IntPredicate rowPredicate) {
+        declared.add(partition(file));
+        predicates.add(null);
+        rowPredicates.add(rowPredicate);
+        hasRowPartitions = true;
+    }
+
+    /**
+     * Declara uma partição por chave: cada valor distinto de {@code keyFunction} vai para
+     * {@code directory/<valor><suffix>}. Caracteres fora de [A-Za-z0-9._-] viram '_' no nome do arquivo
+     * (valores que ficarem com o mesmo nome dividem o arquivo).
+     *
+     * @param keyFunction Extrai a chave de um registro.
+     * @param directory O diretório dos arquivos (criado se não existir).
+     * @param suffix O sufixo dos arquivos, como ".csv" ou ".csv.gz".
+     */
+    public void partitionBy(Function<String[], String> keyFunction, Path directory, String suffix) {
+        keyRoutes.add(new KeyRoute(keyFunction, directory, suffix));
+    }
+
+    /**
+     * Envia um registro para todas as partições que o aceitarem.
+     *
+     * @param record O registro.
+     * @return O número de arquivos que receberam o registro.
+     * @throws IOException se um arquivo não puder ser criado ou escrito.
+     * @throws IllegalStateException se houver partições por linha (use {@link #write(String[], int)}).
+     */
+    public int write(String[] record) throws IOException {
+        if (hasRowPartitions) {
+            throw new IllegalStateException("Há partições por linha: informe o índice com write(record, row).");
+        }
+        return write(record, -1);
+    }
+
+    /**
+     * Envia o registro de uma linha para todas as partições que o aceitarem. As partições de
+     * {@link #addRowPartition} testam o índice da linha; as demais, o registro.
+     *
+     * @param record O registro.
+     * @param row O índice da linha do registro.
+     * @return O número de arquivos que receberam o registro.
+     * @throws IOException se um arquivo não puder ser criado ou escrito.
+     */
+    public int write(String[] record, int row) throws IOException {
+        if (closed) {
+            throw new IOException("PartitionedWriter já foi fechado.");
+        }
+        String line = null;
+        int routed = 0;
+        try {
+            for (int i = 0; i < declared.size(); i++) {
+                Predicate<String[]> predicate = predicates.get(i);
+                if (predicate != null ? predicate.test(record) : rowPredicates.get(i).test(row)) {
+                    if (line == null) line = PasswordSorter.toCsvLine(record);
+                    append(declared.get(i), line);
+                    routed++;
+                }
+            }
+            for (int i = 0; i < keyRoutes.size(); i++) {
+                KeyRoute route = keyRoutes.get(i);
+                String key = route.keyFunction.apply(record);
+                if (key == null) continue;
+                if (line == null) line = PasswordSorter.toCsvLine(record);
+                append(partition(route.directory.resolve(fileName(key) + route.suffix)), line);
+                routed++;
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause(); // Falha ao fechar um arquivo descartado do LRU
+        }
+        return routed;
+    }
+
+    /** @return O número de arquivos (partições) criados até agora. */
+    public int partitionCount() {
+        return order.size();
+    }
+
+    /** @return Quantas vezes um arquivo foi aberto (a primeira abertura de cada um mais as reaberturas). */
+    public long getOpens() {
+        return opens;
+    }
+
+    /** @return Quantos arquivos foram fechados para liberar espaço para outros. */
+    public long getEvictions() {
+        return openFiles.getEvictions();
+    }
+
+    /**
+     * Retorna o número de registros gravados em um arquivo.
+     *
+     * @param file O arquivo.
+     * @return O número de registros, ou 0 se o arquivo não recebeu nenhum.
+     */
+    public long rowsWritten(Path file) {
+        Partition partition = partitions.get(file);
+        return partition == null ? 0 : partition.rows;
+    }
+
+    /**
+     * Esvazia os buffers de todas as partições e fecha todos os arquivos. Partições declaradas que
+     * não receberam nenhum registro ainda assim ganham o arquivo, só com o cabeçalho.
+     *
+     * @throws IOException se algum arquivo não puder ser escrito ou fechado (os demais são fechados mesmo assim).
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        IOException failure = null;
+        for (int i = 0; i < order.size(); i++) {
+            Partition partition = order.get(i);
+            try {
+                if (partition.buffer.length() > 0 || !partition.created) {
+                    flush(partition);
+                }
+            } catch (IOException | UncheckedIOException e) {
+                IOException io = e instanceof UncheckedIOException u ? u.getCause() : (IOException) e;
+                if (failure == null) failure = io; else failure.addSuppressed(io);
+            }
+        }
+        for (int i = 0; i < order.size(); i++) {
+            try {
+                closeFile(order.get(i));
+            } catch (UncheckedIOException e) {
+                if (failure == null) failure = e.getCause(); else failure.addSuppressed(e.getCause());
+            }
+        }
+        if (failure != null) throw failure;
+    }
+
+    /** Partição de um arquivo, criada na primeira vez que é pedida. */
+    private Partition partition(Path file) {
+        Partition partition = partitions.get(file);
+        if (partition == null) {
+            partition = new Partition(file);
+            partitions.put(file, partition);
+            order.add(partition);
+        }
+        return partition;
+    }
+
+    private void append(Partition partition, String line) throws IOException {
+        if (partition.buffer.length() + line.length() + 1 > bufferChars && partition.buffer.length() > 0) {
+            flush(partition);
+        }
+        partition.buffer.append(line).append('\n');
+        partition.rows++;
+        if (partition.buffer.length() >= bufferChars) {
+            flush(partition); // Linha maior que o buffer inteiro: vai direto para o arquivo
+        }
+    }
+
+    /** Grava o buffer da partição no seu arquivo, abrindo-o (e fechando o menos usado) se preciso. */
+    private void flush(Partition partition) throws IOException {
+        BufferedWriter writer = partition.writer;
+        if (writer == null) {
+            if (!partition.created) {
+                Path parent = partition.path.toAbsolutePath().getParent();
+                if (parent != null) Files.createDirectories(parent);
+            }
+            writer = CompressedFiles.newWriter(partition.path, partition.created);
+            opens++;
+            if (!partition.created) {
+                writer.write(headerLine);
+                writer.write('\n');
+                partition.created = true;
+            }
+            partition.writer = writer;
+            openFiles.put(partition.path, partition); // Pode fechar o arquivo usado há mais tempo
+        } else {
+            openFiles.get(partition.path); // Marca como usado recentemente
+        }
+        writer.append(partition.buffer);
+        partition.buffer.setLength(0);
+    }
+
+    /** Fecha o arquivo da partição, se estiver aberto. */
+    private static void closeFile(Partition partition) {
+        if (partition.writer == null) return;
+        try {
+            partition.writer.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao fechar " + partition.path, e);
+        } finally {
+            partition.writer = null;
+        }
+    }
+
+    /** Nome de arquivo seguro para um valor de chave. */
+    static String fileName(String key) {
+        if (key.isEmpty()) return "_vazio";
+        StringBuilder sb = new StringBuilder(key.length());
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            boolean safe = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                    || c == '.' || c == '_' || c == '-';
+            sb.append(safe ? c : '_');
+        }
+        String name = sb.toString();
+        return name.equals(".") || name.equals("..") ? "_" + name : name;
+    }
+}
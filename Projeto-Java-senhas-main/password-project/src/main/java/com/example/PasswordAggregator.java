@@ -0,0 +1,359 @@
+package com.example;
+
+import com.opencsv.CSVReader;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.stream.IntStream;
+
+import com.example.datastructures.MyDynamicArray;
+import com.example.datastructures.MyHashMap;
+
+/**
+ * Agregação multidimensional em uma única passada sobre os registros classificados.
+ *
+ * Calcula, ao mesmo tempo, os histogramas classe × mês e classe × tamanho, os totais por ano
+ * e os quantis do tamanho das senhas. Tudo é acumulado em "cubos" densos de long[] indexados
+ * por (classe, mês), (classe, tamanho) e ano, sem mapas de objetos boxeados. Os resultados
+ * parciais são combináveis ({@link #merge(PasswordAggregator)}), então a passada pode ser
+ * dividida entre threads e somada no final.
+ *
+ * O relatório é gravado em CSV ({@code aggregation_report.csv}, uma linha por célula não vazia)
+ * e em JSON ({@code aggregation_report.json}).
+ *
+ * Uso:
+ * <pre>
+ * PasswordAggregator [arquivo.csv] [diretório de saída] [--parallel]
+ * </pre>
+ * Sem {@code --parallel}, lê o arquivo em streaming (uma linha por vez, sem carregá-lo todo).
+ */
+public class PasswordAggregator {
+    public static final String REPORT_CSV = "aggregation_report.csv";
+    public static final String REPORT_JSON = "aggregation_report.json";
+
+    private static final int MAX_LENGTH = 128;  // Tamanhos maiores caem no último intervalo
+    private static final int LENGTHS = MAX_LENGTH + 1;
+    private static final int MONTHS = 13;       // 1..12; 0 para data ausente ou inválida
+    private static final int MIN_YEAR = 1900;
+    private static final int YEARS = 201;       // 1900..2100
+    private static final double[] QUANTILES = { 0.10, 0.25, 0.50, 0.75, 0.90, 0.99 };
+
+    // Classes conhecidas: os rótulos do classificador, "comprometida", "erro_processamento" e "outra".
+    private static final String[] CLASSES = buildClasses();
+    private static final MyHashMap<String, Integer> CLASS_CODES = buildClassCodes();
+
+    private final long[] classMonth = new long[CLASSES.length * MONTHS];
+    private final long[] classLength = new long[CLASSES.length * LENGTHS];
+    private final long[] years = new long[YEARS];
+    private long invalidYears;   // Registros sem ano reconhecível ou fora de 1900..2100
+    private long invalidLengths; // Registros sem tamanho reconhecível
+    private long records;
+
+    public static void main(String[] args) throws Exception {
+        String inputFile = "password_classifier.csv";
+        String outputDir = ".";
+        boolean parallel = false;
+        int positional = 0;
+        for (String arg : args) {
+            if (arg.equals("--parallel")) {
+                parallel = true;
+            } else if (positional++ == 0) {
+                inputFile = arg;
+            } else {
+                outputDir = arg;
+            }
+        }
+
+        long start = System.nanoTime();
+        PasswordAggregator result;
+        if (parallel) {
+            MyDynamicArray<String[]> rows = PasswordSorter.readCSV(inputFile);
+            result = aggregate(rows, 1, true); // A primeira linha é o cabeçalho
+        } else {
+            result = new PasswordAggregator();
+            try (CSVReader reader = new CSVReader(CompressedFiles.newReader(inputFile))) {
+                String[] row = reader.readNext(); // Cabeçalho
+                while (row != null && (row = reader.readNext()) != null) {
+                    result.accumulate(row);
+                }
+            }
+        }
+        Files.createDirectories(Paths.get(outputDir));
+        result.writeReport(Paths.get(outputDir));
+        System.out.printf("%d registros agregados em %.1f ms%n", result.records, (System.nanoTime() - start) / 1e6);
+        result.printSummary();
+    }
+
+    /**
+     * Agrega os registros {@code [fromIndex, size)} de um MyDynamicArray.
+     *
+     * @param rows Os registros.
+     * @param fromIndex O primeiro registro (1 para pular o cabeçalho).
+     * @param parallel Se true, divide a passada entre as threads do common pool e combina os parciais.
+     * @return O resultado da agregação.
+     */
+    public static PasswordAggregator aggregate(MyDynamicArray<String[]> rows, int fromIndex, boolean parallel) {
+        IntStream indexes = IntStream.range(fromIndex, rows.size());
+        if (parallel) {
+            indexes = indexes.parallel();
+        }
+        return indexes.collect(PasswordAggregator::new, (partial, i) -> partial.accumulate(rows.get(i)),
+                PasswordAggregator::merge);
+    }
+
+    /**
+     * Acumula um registro (id, password, length, date, class) nos cubos.
+     * Aceita a data nos formatos {@code yyyy-MM-dd HH:mm:ss} e {@code dd/MM/yyyy}.
+     *
+     * @param record O registro.
+     */
+    public void accumulate(String[] record) {
+        records++;
+        int classCode = classCode(record.length > 4 ? record[4] : "erro_processamento");
+
+        long dateKey = record.length > 3 ? PasswordQueryIndex.dateKey(record[3]) : -1;
+        int month = 0;
+        if (dateKey >= 0) {
+            int year = (int) (dateKey / 10_000_000_000L);
+            month = (int) (dateKey / 100_000_000L % 100);
+            if (month < 1 || month > 12) {
+                month = 0;
+            }
+            if (year >= MIN_YEAR && year < MIN_YEAR + YEARS) {
+                years[year - MIN_YEAR]++;
+            } else {
+                invalidYears++;
+            }
+        } else {
+            invalidYears++;
+        }
+        classMonth[classCode * MONTHS + month]++;
+
+        int length = length(record);
+        if (length >= 0) {
+            classLength[classCode * LENGTHS + Math.min(length, MAX_LENGTH)]++;
+        } else {
+            invalidLengths++;
+        }
+    }
+
+    /**
+     * Soma outro resultado parcial a este.
+     *
+     * @param other O parcial a ser somado.
+     */
+    public void merge(PasswordAggregator other) {
+        for (int i = 0; i < classMonth.length; i++) classMonth[i] += other.classMonth[i];
+        for (int i = 0; i < classLength.length; i++) classLength[i] += other.classLength[i];
+        for (int i = 0; i < years.length; i++) years[i] += other.years[i];
+        invalidYears += other.invalidYears;
+        invalidLengths += other.invalidLengths;
+        records += other.records;
+    }
+
+    /** @return O número de registros agregados. */
+    public long getRecords() {
+        return records;
+    }
+
+    /**
+     * Retorna a contagem de uma célula classe × mês.
+     *
+     * @param label A classificação.
+     * @param month O mês (1 a 12; 0 para data inválida).
+     * @return A contagem.
+     */
+    public long countByClassAndMonth(String label, int month) {
+        return classMonth[classCode(label) * MONTHS + month];
+    }
+
+    /**
+     * Calcula um quantil do tamanho das senhas (todas as classes) a partir do histograma.
+     * Tamanhos maiores que MAX_LENGTH são contados como MAX_LENGTH.
+     *
+     * @param q O quantil, entre 0 e 1.
+     * @return O menor tamanho t tal que pelo menos q dos registros têm tamanho menor ou igual a t,
+     *         ou -1 se não houver registros com tamanho.
+     */
+    public int lengthQuantile(double q) {
+        long[] histogram = lengthHistogram();
+        long total = 0;
+        for (long count : histogram) total += count;
+        if (total == 0) {
+            return -1;
+        }
+        long target = Math.max(1, (long) Math.ceil(q * total));
+        long seen = 0;
+        for (int length = 0; length < LENGTHS; length++) {
+            seen += histogram[length];
+            if (seen >= target) {
+                return length;
+            }
+        }
+        return MAX_LENGTH;
+    }
+
+    /**
+     * Grava o relatório em CSV e em JSON no diretório informado.
+     *
+     * @param dir O diretório de saída.
+     * @throws IOException se os arquivos não puderem ser gravados.
+     */
+    public void writeReport(Path dir) throws IOException {
+        try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(dir.resolve(REPORT_CSV), StandardCharsets.UTF_8))) {
+            csv.println("section,class,key,count");
+            for (int c = 0; c < CLASSES.length; c++) {
+                for (int m = 0; m < MONTHS; m++) {
+                    long count = classMonth[c * MONTHS + m];
+                    if (count > 0) csv.println("class_month," + CLASSES[c] + "," + m + "," + count);
+                }
+            }
+            for (int c = 0; c < CLASSES.length; c++) {
+                for (int l = 0; l < LENGTHS; l++) {
+                    long count = classLength[c * LENGTHS + l];
+                    if (count > 0) csv.println("class_length," + CLASSES[c] + "," + l + "," + count);
+                }
+            }
+            for (int y = 0; y < YEARS; y++) {
+                if (years[y] > 0) csv.println("year,," + (MIN_YEAR + y) + "," + years[y]);
+            }
+            for (double q : QUANTILES) {
+                csv.println("length_quantile,," + quantileName(q) + "," + lengthQuantile(q));
+            }
+            csv.println("total,,records," + records);
+            csv.println("total,,invalid_year," + invalidYears);
+            csv.println("total,,invalid_length," + invalidLengths);
+        }
+
+        try (PrintWriter json = new PrintWriter(Files.newBufferedWriter(dir.resolve(REPORT_JSON), StandardCharsets.UTF_8))) {
+            json.println("{");
+            json.println("  \"records\": " + records + ",");
+            json.println("  \"invalid_year\": " + invalidYears + ",");
+            json.println("  \"invalid_length\": " + invalidLengths + ",");
+            json.println("  \"class_month\": " + cubeJson(classMonth, MONTHS) + ",");
+            json.println("  \"class_length\": " + cubeJson(classLength, LENGTHS) + ",");
+            StringBuilder sb = new StringBuilder("{");
+            for (int y = 0; y < YEARS; y++) {
+                if (years[y] > 0) {
+                    if (sb.length() > 1) sb.append(", ");
+                    sb.append('"').append(MIN_YEAR + y).append("\": ").append(years[y]);
+                }
+            }
+            json.println("  \"years\": " + sb.append('}') + ",");
+            sb.setLength(0);
+            sb.append('{');
+            for (double q : QUANTILES) {
+                if (sb.length() > 1) sb.append(", ");
+                sb.append('"').append(quantileName(q)).append("\": ").append(lengthQuantile(q));
+            }
+            json.println("  \"length_quantiles\": " + sb.append('}'));
+            json.println("}");
+        }
+    }
+
+    /**
+     * Imprime um resumo no console (totais por classe e quantis do tamanho).
+     */
+    public void printSummary() {
+        System.out.println("\n--- Agregação ---");
+        for (int c = 0; c < CLASSES.length; c++) {
+            long total = 0;
+            for (int m = 0; m < MONTHS; m++) total += classMonth[c * MONTHS + m];
+            if (total > 0) System.out.println(CLASSES[c] + ": " + total);
+        }
+        StringBuilder sb = new StringBuilder("tamanho");
+        for (double q : QUANTILES) {
+            sb.append(" | ").append(quantileName(q)).append('=').append(lengthQuantile(q));
+        }
+        System.out.println(sb);
+    }
+
+    private long[] lengthHistogram() {
+        long[] histogram = new long[LENGTHS];
+        for (int c = 0; c < CLASSES.length; c++) {
+            for (int l = 0; l < LENGTHS; l++) {
+                histogram[l] += classLength[c * LENGTHS + l];
+            }
+        }
+        return histogram;
+    }
+
+    /** Serializa um cubo classe × dimensão como {"classe": [contagens...], ...}, omitindo classes vazias. */
+    private static String cubeJson(long[] cube, int width) {
+        StringBuilder sb = new StringBuilder("{");
+        for (int c = 0; c < CLASSES.length; c++) {
+            long total = 0;
+            for (int i = 0; i < width; i++) total += cube[c * width + i];
+            if (total == 0) continue;
+            if (sb.length() > 1) sb.append(", ");
+            sb.append('"').append(CLASSES[c]).append("\": [");
+            for (int i = 0; i < width; i++) {
+                if (i > 0) sb.append(',');
+                sb.append(cube[c * width + i]);
+            }
+            sb.append(']');
+        }
+        return sb.append('}').toString();
+    }
+
+    private static String quantileName(double q) {
+        return "p" + Math.round(q * 100);
+    }
+
+    /** Lê o tamanho da coluna 2; se não for numérica, usa o tamanho da senha (coluna 1). */
+    private static int length(String[] record) {
+        if (record.length > 2) {
+            String value = record[2];
+            int length = 0;
+            boolean numeric = !value.isEmpty() && value.length() <= 9;
+            for (int i = 0; numeric && i < value.length(); i++) {
+                int d = value.charAt(i) - '0';
+                numeric = d >= 0 && d <= 9;
+                length = length * 10 + d;
+            }
+            if (numeric) {
+                return length;
+            }
+        }
+        return record.length > 1 ? record[1].length() : -1;
+    }
+
+    /**
+     * Código da classe de um rótulo (índice em CLASSES), sem diferenciar maiúsculas de minúsculas;
+     * rótulos desconhecidos caem em "outra".
+     */
+    static int classCode(String label) {
+        Integer code = CLASS_CODES.get(label.toLowerCase(Locale.ROOT));
+        return code != null ? code : CLASSES.length - 1;
+    }
+
+    private static String[] buildClasses() {
+        int labels = PasswordClassifier.labelCount();
+        String[] classes = new String[labels + 3];
+        for (int i = 0; i < labels; i++) {
+            classes[i] = PasswordClassifier.labelOf((byte) i);
+        }
+        classes[labels] = CompromisedPasswordDictionary.CLASS_LABEL;
+        classes[labels + 1] = "erro_processamento";
+        classes[labels + 2] = "outra";
+        return classes;
+    }
+
+    private static MyHashMap<String, Integer> buildClassCodes() {
+        MyHashMap<String, Integer> codes = new MyHashMap<>();
+        // As chaves ficam em minúsculas, como os rótulos consultados em classCode (um arquivo de
+        // regras pode usar "Boa"); entre rótulos que só diferem na caixa, vale o primeiro.
+        for (int i = 0; i < CLASSES.length; i++) {
+            String key = CLASSES[i].toLowerCase(Locale.ROOT);
+            if (codes.get(key) == null) {
+                codes.put(key, i);
+            }
+        }
+        return codes;
+    }
+}
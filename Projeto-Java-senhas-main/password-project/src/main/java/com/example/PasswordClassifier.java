@@ -1,13 +1,24 @@
 package com.example;
 
+import com.opencsv.CSVParser;
 import com.opencsv.CSVReader;
 import com.opencsv.CSVWriter;
 import com.opencsv.exceptions.CsvException;
+import java.io.ByteArrayOutputStream;
 import java.io.InputStreamReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.FileWriter;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.Arrays; // Mantido para Arrays.copyOf e Arrays.toString em mensagens de erro
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 // IMPORTAÇÕES DE ESTRUTURAS DE DADOS PERSONALIZADAS
 // Estas linhas importam suas classes MyHashMap e MyDynamicArray.
@@ -15,6 +26,9 @@ import java.util.Arrays; // Mantido para Arrays.copyOf e Arrays.toString em mens
 // MyDynamicArray é importada porque MyHashMap.keySet() a retorna.
 import com.example.datastructures.MyHashMap;
 import com.example.datastructures.MyDynamicArray;
+import com.example.datastructures.MyCache;
+import com.example.datastructures.MyConcurrentCounterMap;
+import com.example.datastructures.MyLRUCache;
 // import com.example.datastructures.MySinglyLinkedList; // MySinglyLinkedList não é usada diretamente aqui, mas MyHashMap a utiliza internamente.
 
 public class PasswordClassifier {
@@ -23,6 +37,84 @@ public class PasswordClassifier {
         String inputFile = "passwords.csv";
         String outputFile = "password_classifier.csv";
 
+        // Opções: [--cache <capacidade>] [--dictionary <prefixo>] [--reuse <n>] [--gzip] [--quiet]
+        //        [--rules <arquivo>] [--incremental <entrada> [saida] [checkpoint]]
+        // --quiet: não imprime as duas linhas de análise de cada senha (só o resumo).
+        boolean incremental = false;
+        MyCache<String, String> cache = null;
+        String dictionaryPrefix = null;
+        int reuseTop = -1; // Sem --reuse, a análise de reuso não é executada
+        MyDynamicArray<String> positional = new MyDynamicArray<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--incremental" -> incremental = true;
+                case "--gzip" -> CompressedFiles.setCompressOutputs(true);
+                case "--quiet" -> setVerbose(false);
+                case "--cache" -> {
+                    if (i + 1 >= args.length) {
+                        throw new IllegalArgumentException("--cache exige a capacidade do cache.");
+                    }
+                    cache = new MyLRUCache<>(Integer.parseInt(args[++i]));
+                }
+                case "--dictionary" -> {
+                    if (i + 1 >= args.length) {
+                        throw new IllegalArgumentException("--dictionary exige o prefixo dos arquivos do dicionário.");
+                    }
+                    dictionaryPrefix = args[++i];
+                }
+                case "--rules" -> {
+                    if (i + 1 >= args.length) {
+                        throw new IllegalArgumentException("--rules exige o arquivo de regras de classificação.");
+                    }
+                    setRules(ClassificationRules.load(Paths.get(args[++i])));
+                }
+                case "--reuse" -> {
+                    if (i + 1 >= args.length) {
+                        throw new IllegalArgumentException("--reuse exige o número de senhas mais reusadas a listar.");
+                    }
+                    reuseTop = Integer.parseInt(args[++i]);
+                }
+                default -> positional.add(args[i]);
+            }
+        }
+
+        CompromisedPasswordDictionary dictionary =
+                dictionaryPrefix != null ? CompromisedPasswordDictionary.open(dictionaryPrefix) : null;
+        try {
+            // Modo incremental: lê a entrada do sistema de arquivos (não do classpath), pois precisa de offsets em bytes.
+            if (incremental) {
+                String input = positional.size() > 0 ? positional.get(0) : inputFile;
+                String output = positional.size() > 1 ? positional.get(1) : CompressedFiles.outputName(outputFile);
+                String checkpoint = positional.size() > 2 ? positional.get(2) : output + ".checkpoint";
+                runIncremental(Paths.get(input), Paths.get(output), Paths.get(checkpoint), cache, dictionary);
+                if (reuseTop >= 0) {
+                    // O reuso é medido sobre o arquivo inteiro, não só sobre o delta desta execução.
+                    PasswordReuseAnalyzer.analyze(() -> CompressedFiles.newReader(input), reuseTop).printReport();
+                }
+            } else {
+                classifyAll(inputFile, CompressedFiles.outputName(outputFile), cache, dictionary);
+                if (reuseTop >= 0) {
+                    PasswordReuseAnalyzer.analyze(PasswordReuseAnalyzer.classpathSource(inputFile), reuseTop).printReport();
+                }
+            }
+        } finally {
+            if (dictionary != null) {
+                dictionary.printStats();
+                dictionary.close();
+            }
+        }
+    }
+
+    /**
+     * Classificação completa: lê {@code passwords.csv} do classpath e reescreve a saída inteira.
+     *
+     * @param inputFile Nome do recurso de entrada.
+     * @param outputFile Arquivo de saída.
+     * @param cache Cache de classificações (opcional, pode ser null).
+     * @param dictionary Dicionário de senhas comprometidas (opcional, pode ser null).
+     */
+    public static void classifyAll(String inputFile, String outputFile, MyCache<String, String> cache,
+                                   CompromisedPasswordDictionary dictionary) {
         // ALTERAÇÃO: USO DE MYHASHMAP
         // Uma instância de MyHashMap é criada para armazenar a contagem de cada classificação de senha.
         // As chaves serão as strings de classificação (ex: "boa", "ruim") e os valores serão as contagens (Integers).
@@ -34,7 +126,7 @@ public class PasswordClassifier {
 
         try (InputStream inputStream = PasswordClassifier.class.getClassLoader().getResourceAsStream(inputFile);
              CSVReader reader = new CSVReader(new InputStreamReader(inputStream));
-             CSVWriter writer = new CSVWriter(new FileWriter(outputFile))) {
+             CSVWriter writer = new CSVWriter(CompressedFiles.newWriter(Paths.get(outputFile)))) {
 
             if (inputStream == null) {
                 System.err.println("arquivo não encontrado: " + inputFile);
@@ -56,50 +148,17 @@ public class PasswordClassifier {
             int processedCount = 0;
 
             while ((nextRecord = reader.readNext()) != null) {
-                if (nextRecord.length < 3) {
-                    System.err.println("linha inválida encontrada. Pulando: " + Arrays.toString(nextRecord));
-                    String[] invalidRecordWithClass = Arrays.copyOf(nextRecord, nextRecord.length + 1);
-                    invalidRecordWithClass[nextRecord.length] = "erro_processamento";
-                    writer.writeNext(invalidRecordWithClass);
-                    // ALTERAÇÃO: ATUALIZAÇÃO DA CONTAGEM PARA ERROS
-                    // A contagem é atualizada mesmo para registros inválidos.
-                    updateClassificationCount(classificationCounts, "erro_processamento");
-                    continue;
+                writer.writeNext(classifyRecord(nextRecord, classificationCounts, cache, dictionary));
+                if (nextRecord.length >= 3) {
+                    processedCount++;
                 }
-
-                String password = nextRecord[1].trim();
-
-                String classification = classifyPassword(password);
-                System.out.println("senha: " + password + " | classificação: " + classification);
-
-                String[] classifiedRecord = new String[nextRecord.length + 1];
-                System.arraycopy(nextRecord, 0, classifiedRecord, 0, nextRecord.length);
-                classifiedRecord[nextRecord.length] = classification;
-                
-                writer.writeNext(classifiedRecord);
-                processedCount++;
-
-                // ALTERAÇÃO: ATUALIZAÇÃO DA CONTAGEM NA MYHASHMAP
-                // Para cada senha classificada, a contagem para aquela classificação é incrementada
-                // na 'classificationCounts' MyHashMap.
-                updateClassificationCount(classificationCounts, classification);
             }
 
             System.out.println("classificação concluída. arquivo gerado: " + outputFile);
             System.out.println("total de registros processados e escritos (excluindo cabeçalho): " + processedCount);
 
-            // ALTERAÇÃO: EXIBIÇÃO DO RESUMO USANDO MYHASHMAP
-            // Após processar todos os registros, o resumo das classificações é impresso
-            // Iterando sobre as chaves (classificações) armazenadas na MyHashMap e obtendo suas contagens.
-            System.out.println("\n--- Resumo das Classificações ---");
-            // 'keySet()' da MyHashMap retorna uma MyDynamicArray das chaves.
-            MyDynamicArray<String> classifications = classificationCounts.keySet();
-            for (int i = 0; i < classifications.size(); i++) {
-                String cls = classifications.get(i);
-                Integer count = classificationCounts.get(cls);
-                System.out.println("- " + cls + ": " + count + " senhas");
-            }
-            System.out.println("---------------------------------");
+            printSummary(classificationCounts);
+            printCacheStats(cache);
 
         } catch (IOException | CsvException e) {
             System.err.println("ocorreu um erro: " + e.getMessage());
@@ -107,6 +166,326 @@ public class PasswordClassifier {
         }
     }
 
+    /**
+     * Classificação incremental de um arquivo que só cresce por anexação.
+     * Retoma a leitura a partir do offset salvo no checkpoint, classifica apenas as linhas
+     * completas anexadas desde a última execução, acrescenta-as ao arquivo de saída e
+     * atualiza as contagens acumuladas, de modo que o custo da execução é proporcional ao delta.
+     * Uma linha final sem '\n' é considerada ainda em escrita e fica para a próxima execução.
+     * Campos entre aspas podem conter quebras de linha: um registro só termina em um '\n' fora
+     * de aspas (número par de aspas desde o início do registro), e o offset só avança em fins
+     * de registro. Se a saída tiver passado do tamanho registrado no checkpoint (uma execução
+     * interrompida antes de salvá-lo), ela é truncada de volta antes de o delta ser reprocessado.
+     *
+     * @param input Arquivo de entrada (append-only).
+     * @param output Arquivo de saída classificado.
+     * @param checkpointPath Arquivo onde o offset e as contagens são persistidos.
+     * @param cache Cache de classificações (opcional, pode ser null).
+     * @param dictionary Dicionário de senhas comprometidas (opcional, pode ser null).
+     */
+    public static void runIncremental(Path input, Path output, Path checkpointPath, MyCache<String, String> cache,
+                                      CompromisedPasswordDictionary dictionary) throws IOException {
+        if (!Files.exists(input)) {
+            System.err.println("arquivo não encontrado: " + input);
+            return;
+        }
+
+        ClassificationCheckpoint checkpoint = ClassificationCheckpoint.load(checkpointPath);
+        long fileSize = Files.size(input);
+        // Se a entrada encolheu ou a saída sumiu, o checkpoint não descreve mais os arquivos atuais.
+        long outputSize = Files.exists(output) ? Files.size(output) : -1;
+        if (checkpoint.getOffset() > fileSize || (checkpoint.getOffset() > 0 && outputSize < 0)
+                || (checkpoint.getOffset() > 0 && outputSize < checkpoint.getOutputLength())) {
+            System.err.println("checkpoint inconsistente com os arquivos atuais. reclassificando desde o início.");
+            checkpoint = new ClassificationCheckpoint();
+        } else if (checkpoint.getOffset() > 0 && checkpoint.getOutputLength() >= 0
+                && outputSize > checkpoint.getOutputLength()) {
+            // Linhas gravadas por uma execução interrompida antes do checkpoint: serão gravadas de novo.
+            System.err.println("descartando " + (outputSize - checkpoint.getOutputLength())
+                    + " bytes da saída não confirmados pelo checkpoint.");
+            try (FileChannel out = FileChannel.open(output, StandardOpenOption.WRITE)) {
+                out.truncate(checkpoint.getOutputLength());
+            }
+        }
+
+        boolean fromStart = checkpoint.getOffset() == 0;
+        MyHashMap<String, Integer> classificationCounts = checkpoint.getCounts();
+        CSVParser parser = new CSVParser();
+        int processedCount = 0;
+        boolean headerPending = fromStart;
+
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ);
+             InputStream in = Channels.newInputStream(channel.position(checkpoint.getOffset()));
+             // Uma saída .gz recebe um novo membro gzip a cada execução, o que continua sendo um .gz válido.
+             CSVWriter writer = new CSVWriter(CompressedFiles.newWriter(output, !fromStart))) {
+
+            long offset = checkpoint.getOffset();
+            byte[] buffer = new byte[1 << 16];
+            ByteArrayOutputStream pending = new ByteArrayOutputStream(); // Registro atual, até o '\n'
+            boolean inQuotes = false; // Se o registro atual tem um campo entre aspas ainda aberto
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                int start = 0;
+                for (int i = 0; i < read; i++) {
+                    if (buffer[i] == '"') inQuotes = !inQuotes; // "" (aspas escapadas) alterna duas vezes
+                    if (buffer[i] != '\n' || inQuotes) continue;
+
+                    pending.write(buffer, start, i - start);
+                    start = i + 1;
+                    offset += pending.size() + 1;
+                    String line = pending.toString(StandardCharsets.UTF_8);
+                    pending.reset();
+                    if (line.endsWith("\r")) {
+                        line = line.substring(0, line.length() - 1);
+                    }
+                    if (line.isEmpty()) {
+                        checkpoint.setOffset(offset);
+                        continue;
+                    }
+
+                    String[] record = parser.parseLine(line);
+                    if (headerPending) {
+                        String[] newHeader = Arrays.copyOf(record, record.length + 1);
+                        newHeader[record.length] = "class";
+                        writer.writeNext(newHeader);
+                        headerPending = false;
+                    } else {
+                        writer.writeNext(classifyRecord(record, classificationCounts, cache, dictionary));
+                        if (record.length >= 3) {
+                            processedCount++;
+                        }
+                    }
+                    checkpoint.setOffset(offset);
+                }
+                pending.write(buffer, start, read - start);
+            }
+        }
+
+        if (headerPending) {
+            System.err.println("o arquivo csv está vazio ou não possui cabeçalho.");
+            return;
+        }
+
+        // O checkpoint só é gravado depois que a saída foi fechada (e portanto descarregada),
+        // junto com o tamanho que ela tem agora.
+        checkpoint.setOutputLength(Files.size(output));
+        checkpoint.save(checkpointPath);
+
+        System.out.println("classificação incremental concluída. arquivo atualizado: " + output);
+        System.out.println("registros novos processados nesta execução: " + processedCount);
+        System.out.println("offset salvo em " + checkpointPath + ": " + checkpoint.getOffset() + " bytes");
+
+        printSummary(classificationCounts);
+        printCacheStats(cache);
+    }
+
+    /**
+     * Classifica em memória um conjunto de linhas já carregadas (usado pelo pipeline em um único
+     * processo, {@link Main}, que repassa o resultado diretamente ao DateFormatter).
+     *
+     * @param rows Linhas do CSV de entrada; a primeira é o cabeçalho.
+     * @param counts MyHashMap com as contagens por classificação.
+     * @param cache Cache de classificações (opcional, pode ser null).
+     * @param dictionary Dicionário de senhas comprometidas (opcional, pode ser null).
+     * @return As linhas com a coluna "class" acrescentada, começando pelo novo cabeçalho.
+     */
+    public static MyDynamicArray<String[]> classifyRecords(MyDynamicArray<String[]> rows, MyHashMap<String, Integer> counts,
+                                                          MyCache<String, String> cache,
+                                                          CompromisedPasswordDictionary dictionary) {
+        return classifyRecords(rows, counts, cache, dictionary, verbose);
+    }
+
+    /**
+     * Variante de classifyRecords que decide, por chamada, se a análise de cada senha é impressa
+     * (o {@link ShardedPipeline} classifica os shards em paralelo e passa false).
+     *
+     * @param log Se a análise de cada senha é impressa.
+     */
+    static MyDynamicArray<String[]> classifyRecords(MyDynamicArray<String[]> rows, MyHashMap<String, Integer> counts,
+                                                   MyCache<String, String> cache,
+                                                   CompromisedPasswordDictionary dictionary, boolean log) {
+        MyDynamicArray<String[]> classified = new MyDynamicArray<>(rows.size());
+        if (rows.isEmpty()) {
+            return classified;
+        }
+        String[] header = rows.get(0);
+        String[] newHeader = Arrays.copyOf(header, header.length + 1);
+        newHeader[header.length] = "class";
+        classified.add(newHeader);
+        for (int i = 1; i < rows.size(); i++) {
+            classified.add(classifyRecord(rows.get(i), counts, cache, dictionary, log));
+        }
+        return classified;
+    }
+
+    /**
+     * Classifica em memória, em paralelo, um conjunto de linhas já carregadas.
+     * As linhas são divididas em blocos contíguos, um por tarefa; cada tarefa grava a saída
+     * nas posições do seu bloco (a ordem original é preservada) e conta as classificações em
+     * um MyConcurrentCounterMap, que não perde contagens entre threads. Não imprime a análise de
+     * cada senha, qualquer que seja {@link #setVerbose}: as tarefas disputariam o lock do
+     * System.out a cada linha, e a classificação ficaria serializada na saída padrão.
+     *
+     * @param rows Linhas do CSV de entrada; a primeira é o cabeçalho.
+     * @param counts Contadores concorrentes por classificação.
+     * @param cache Cache de classificações seguro para threads (ex: MyStripedLRUCache), ou null.
+     * @param dictionary Dicionário de senhas comprometidas (opcional, pode ser null).
+     * @param executor Pool de threads que executa os blocos.
+     * @param tasks Número de blocos.
+     * @return As linhas com a coluna "class" acrescentada, começando pelo novo cabeçalho.
+     */
+    public static MyDynamicArray<String[]> classifyRecordsParallel(MyDynamicArray<String[]> rows,
+                                                                  MyConcurrentCounterMap<String> counts,
+                                                                  MyCache<String, String> cache,
+                                                                  CompromisedPasswordDictionary dictionary,
+                                                                  ExecutorService executor, int tasks)
+            throws InterruptedException, ExecutionException {
+        MyDynamicArray<String[]> classified = new MyDynamicArray<>(rows.size());
+        if (rows.isEmpty()) {
+            return classified;
+        }
+        String[] header = rows.get(0);
+        String[] newHeader = Arrays.copyOf(header, header.length + 1);
+        newHeader[header.length] = "class";
+
+        String[][] output = new String[rows.size()][];
+        output[0] = newHeader;
+        int dataRows = rows.size() - 1;
+        int blocks = Math.max(1, Math.min(tasks, dataRows));
+        MyDynamicArray<Future<?>> pending = new MyDynamicArray<>(blocks);
+        for (int b = 0; b < blocks; b++) {
+            int from = 1 + (int) ((long) dataRows * b / blocks);
+            int to = 1 + (int) ((long) dataRows * (b + 1) / blocks);
+            pending.add(executor.submit(() -> {
+                for (int i = from; i < to; i++) {
+                    String[] classifiedRecord = classifyLine(rows.get(i), cache, dictionary, false);
+                    output[i] = classifiedRecord;
+                    counts.increment(classifiedRecord[classifiedRecord.length - 1]);
+                }
+            }));
+        }
+        for (int b = 0; b < pending.size(); b++) {
+            pending.get(b).get();
+        }
+        classified.addAll(output);
+        return classified;
+    }
+
+    /**
+     * Classifica um registro lido do CSV e atualiza a contagem correspondente.
+     *
+     * @param record O registro original.
+     * @param counts MyHashMap com as contagens por classificação.
+     * @param cache Cache de classificações (opcional, pode ser null).
+     * @param dictionary Dicionário de senhas comprometidas (opcional, pode ser null).
+     * @return O registro com a coluna de classificação acrescentada.
+     */
+    static String[] classifyRecord(String[] record, MyHashMap<String, Integer> counts, MyCache<String, String> cache,
+                                   CompromisedPasswordDictionary dictionary) {
+        return classifyRecord(record, counts, cache, dictionary, verbose);
+    }
+
+    private static String[] classifyRecord(String[] record, MyHashMap<String, Integer> counts, MyCache<String, String> cache,
+                                           CompromisedPasswordDictionary dictionary, boolean log) {
+        String[] classifiedRecord = classifyLine(record, cache, dictionary, log);
+        // Para cada registro (inclusive os inválidos), a contagem da sua classificação é incrementada.
+        updateClassificationCount(counts, classifiedRecord[classifiedRecord.length - 1]);
+        return classifiedRecord;
+    }
+
+    /**
+     * Classifica um registro lido do CSV, sem tocar em nenhuma contagem.
+     * Registros com menos de 3 colunas recebem a classe "erro_processamento";
+     * senhas presentes no dicionário recebem a classe "comprometida".
+     *
+     * @param record O registro original.
+     * @param cache Cache de classificações (opcional, pode ser null).
+     * @param dictionary Dicionário de senhas comprometidas (opcional, pode ser null).
+     * @return O registro com a coluna de classificação acrescentada.
+     */
+    static String[] classifyLine(String[] record, MyCache<String, String> cache,
+                                 CompromisedPasswordDictionary dictionary) {
+        return classifyLine(record, cache, dictionary, verbose);
+    }
+
+    /** Variante de classifyLine com a impressão da análise de cada senha decidida pelo chamador. */
+    static String[] classifyLine(String[] record, MyCache<String, String> cache,
+                                 CompromisedPasswordDictionary dictionary, boolean log) {
+        if (record.length < 3) {
+            System.err.println("linha inválida encontrada. Pulando: " + Arrays.toString(record));
+            String[] invalidRecordWithClass = Arrays.copyOf(record, record.length + 1);
+            invalidRecordWithClass[record.length] = "erro_processamento";
+            return invalidRecordWithClass;
+        }
+
+        String password = record[1].trim();
+
+        String classification = dictionary != null && dictionary.isCompromised(password)
+                ? CompromisedPasswordDictionary.CLASS_LABEL
+                : classifyPassword(password, cache, log);
+        if (log) {
+            System.out.println("senha: " + password + " | classificação: " + classification);
+        }
+
+        String[] classifiedRecord = new String[record.length + 1];
+        System.arraycopy(record, 0, classifiedRecord, 0, record.length);
+        classifiedRecord[record.length] = classification;
+        return classifiedRecord;
+    }
+
+    /**
+     * Imprime o resumo das classificações, iterando sobre as chaves armazenadas na MyHashMap.
+     *
+     * @param counts MyHashMap com as contagens por classificação.
+     */
+    static void printSummary(MyHashMap<String, ? extends Number> counts) {
+        System.out.println("\n--- Resumo das Classificações ---");
+        // 'keySet()' da MyHashMap retorna uma MyDynamicArray das chaves.
+        MyDynamicArray<String> classifications = counts.keySet();
+        for (int i = 0; i < classifications.size(); i++) {
+            String cls = classifications.get(i);
+            Number count = counts.get(cls);
+            System.out.println("- " + cls + ": " + count + " senhas");
+        }
+        System.out.println("---------------------------------");
+    }
+
+    /**
+     * Imprime os contadores do cache de classificações, se houver um.
+     *
+     * @param cache O cache usado na execução (pode ser null).
+     */
+    static void printCacheStats(MyCache<String, String> cache) {
+        if (cache == null) return;
+        System.out.printf("cache de classificações: %d acertos, %d falhas, %d descartes, taxa de acerto %.2f%% (%d entradas)%n",
+                cache.getHits(), cache.getMisses(), cache.getEvictions(), cache.getHitRate() * 100, cache.size());
+    }
+
+    /**
+     * Classifica uma senha consultando antes o cache de memoização.
+     * Listas de senhas vazadas são muito concentradas, então as senhas repetidas
+     * são resolvidas sem refazer a análise.
+     *
+     * @param password A senha a ser classificada.
+     * @param cache Cache de classificações; se null, classifica diretamente.
+     * @return A classificação da senha.
+     */
+    public static String classifyPassword(String password, MyCache<String, String> cache) {
+        return classifyPassword(password, cache, verbose);
+    }
+
+    private static String classifyPassword(String password, MyCache<String, String> cache, boolean log) {
+        if (cache == null) {
+            return classifyPassword(password, log);
+        }
+        String classification = cache.get(password);
+        if (classification == null) {
+            classification = classifyPassword(password, log);
+            cache.put(password, classification);
+        }
+        return classification;
+    }
+
     /**
      * MÉTODO AUXILIAR PARA MYHASHMAP
      * Este método foi adicionado para encapsular a lógica de atualização da contagem
@@ -125,26 +504,103 @@ public class PasswordClassifier {
     }
 
     public static String classifyPassword(String password) {
+        return classifyPassword(password, verbose);
+    }
+
+    private static String classifyPassword(String password, boolean log) {
         int length = password.length();
-        boolean hasLetter = password.matches(".*[a-zA-Z].*");
-        boolean hasNumber = password.matches(".*\\d.*");
-        boolean hasSpecial = password.matches(".*[^a-zA-Z0-9].*");
-
-        int types = 0;
-        if (hasLetter) types++;
-        if (hasNumber) types++;
-        if (hasSpecial) types++;
-
-        System.out.println("analisando senha: " + password + " | tamanho: " + length + 
-            " | letras: " + hasLetter + " | números: " + hasNumber + " | especiais: " + hasSpecial + 
-            " | tipos: " + types);
-
-        if (length < 5 && types == 1) return "muito ruim";
-        if (length <= 5 && types == 1) return "ruim";
-        if (length <= 6 && types == 2) return "fraca";
-        if (length <= 7 && types == 3) return "boa";
-        if (length > 8 && types == 3) return "muito boa";
-
-        return "sem classificação";
+        int mask = characterTypes(password);
+        boolean hasLetter = (mask & TYPE_LETTER) != 0;
+        boolean hasNumber = (mask & TYPE_NUMBER) != 0;
+        boolean hasSpecial = (mask & TYPE_SPECIAL) != 0;
+        int types = Integer.bitCount(mask);
+
+        if (log) {
+            System.out.println("analisando senha: " + password + " | tamanho: " + length +
+                " | letras: " + hasLetter + " | números: " + hasNumber + " | especiais: " + hasSpecial +
+                " | tipos: " + types);
+        }
+
+        return labelOf(labelCode(length, mask));
+    }
+
+    // Bits da máscara de tipos de caracteres presentes em uma senha.
+    static final int TYPE_LETTER = 1;
+    static final int TYPE_NUMBER = 2;
+    static final int TYPE_SPECIAL = 4;
+
+    // Se a análise de cada senha é impressa (duas linhas por senha). Ligado por padrão, como sempre
+    // foi na execução sequencial; os caminhos paralelos nunca imprimem.
+    private static volatile boolean verbose = true;
+
+    /**
+     * Liga ou desliga a impressão da análise de cada senha nos caminhos sequenciais
+     * (opção --quiet). Os caminhos paralelos nunca imprimem.
+     *
+     * @param enabled true para imprimir as duas linhas de cada senha.
+     */
+    public static void setVerbose(boolean enabled) {
+        verbose = enabled;
+    }
+
+    // Regras de classificação compiladas em tabela (arquivo de regras ou regras embutidas).
+    private static volatile ClassificationRules rules = ClassificationRules.loadDefault();
+
+    /**
+     * Troca as regras de classificação (opção --rules). Deve ser chamado antes da classificação
+     * e da agregação, que fixa os rótulos conhecidos ao ser carregada.
+     *
+     * @param newRules As regras compiladas.
+     */
+    public static void setRules(ClassificationRules newRules) {
+        rules = newRules;
+    }
+
+    /** @return As regras de classificação em uso. */
+    public static ClassificationRules getRules() {
+        return rules;
+    }
+
+    /**
+     * Calcula a máscara de tipos de caracteres (letra, número, especial) de uma senha,
+     * com as mesmas expressões regulares usadas desde a primeira versão do classificador.
+     *
+     * @param password A senha.
+     * @return Combinação de TYPE_LETTER, TYPE_NUMBER e TYPE_SPECIAL.
+     */
+    static int characterTypes(String password) {
+        int mask = 0;
+        if (password.matches(".*[a-zA-Z].*")) mask |= TYPE_LETTER;
+        if (password.matches(".*\\d.*")) mask |= TYPE_NUMBER;
+        if (password.matches(".*[^a-zA-Z0-9].*")) mask |= TYPE_SPECIAL;
+        return mask;
+    }
+
+    /**
+     * Aplica as regras de classificação ao tamanho e à máscara de tipos de caracteres.
+     * As regras já estão compiladas em uma tabela (veja {@link ClassificationRules}),
+     * então isto é uma única leitura de array.
+     *
+     * @param length O tamanho da senha.
+     * @param typeMask A máscara de tipos retornada por characterTypes.
+     * @return O código da classificação (veja labelOf).
+     */
+    static byte labelCode(int length, int typeMask) {
+        return rules.code(length, typeMask);
+    }
+
+    /**
+     * Retorna o rótulo de um código de classificação.
+     *
+     * @param code O código retornado por labelCode.
+     * @return O rótulo (ex: "boa").
+     */
+    public static String labelOf(byte code) {
+        return rules.label(code);
+    }
+
+    /** @return O número de códigos de classificação (os códigos vão de 0 a labelCount() - 1). */
+    static int labelCount() {
+        return rules.labelCount();
     }
 }
@@ -0,0 +1,317 @@
+package com.example;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.example.datastructures.MyDynamicArray;
+
+/**
+ * Gerador determinístico de arquivos de senhas sintéticos, no formato de passwords.csv
+ * ({@code ,password,length,date}), para testes de desempenho em escala (10³ a 10⁸ linhas).
+ *
+ * A mesma semente e os mesmos parâmetros geram sempre o mesmo arquivo, byte a byte, qualquer que
+ * seja o número de threads: as linhas são geradas em blocos de tamanho fixo, e cada bloco tem o seu
+ * próprio gerador pseudoaleatório, derivado apenas da semente e do número do bloco. Os blocos são
+ * gerados em paralelo (já como bytes) e gravados em ordem, com no máximo 2 × threads blocos em
+ * memória; nomes terminados em .gz são comprimidos em blocos paralelos ({@link CompressedFiles}).
+ *
+ * Distribuições configuráveis:
+ * <ul>
+ *   <li>reúso de senhas: a senha de cada linha vem de um vocabulário de {@code --vocabulary} senhas,
+ *       escolhida pela lei de Zipf com expoente {@code --zipf} (a senha de posição k aparece com
+ *       frequência proporcional a 1/k^s); uma fração {@code --unique-ratio} das linhas recebe uma
+ *       senha nova, gerada só para ela. A senha de posição k depende só da semente e de k, então o
+ *       vocabulário não é guardado em memória;</li>
+ *   <li>tamanho: {@code --lengths "6:20,8:40,12:40"} (tamanho:peso);</li>
+ *   <li>data: uniforme entre {@code --from} e {@code --to}; uma fração {@code --presorted} das linhas
+ *       recebe a data proporcional à sua posição no arquivo, então 1.0 gera o arquivo já ordenado
+ *       por data e 0.0 o deixa aleatório;</li>
+ *   <li>linhas mal formadas: uma fração {@code --malformed} das linhas sai truncada (só o id, ou id e
+ *       senha), o que exercita o caminho "erro_processamento" do classificador e o descarte das
+ *       linhas incompletas nas etapas seguintes.</li>
+ * </ul>
+ *
+ * Uso:
+ * <pre>
+ * PasswordDatasetGenerator --rows n [--output passwords.csv] [--seed 42] [--threads n]
+ *      [--vocabulary n] [--zipf s] [--unique-ratio f] [--lengths "tam:peso,..."]
+ *      [--from aaaa-mm-dd] [--to aaaa-mm-dd] [--presorted f] [--malformed f] [--block-rows n]
+ * </pre>
+ */
+public final class PasswordDatasetGenerator {
+    public static final String HEADER = ",password,length,date";
+
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ";
+    private static final String DIGITS = "0123456789";
+    private static final String SPECIALS = "!@#$%&*?-_+=."; // Sem vírgula nem aspas: o CSV não precisa de escape
+    private static final int DEFAULT_BLOCK_ROWS = 1 << 16;
+    private static final int MAX_DEFAULT_VOCABULARY = 1_000_000;
+
+    private final long rows;
+    private final long seed;
+    private final int vocabulary;
+    private final double uniqueRatio;
+    private final double presorted;
+    private final double malformed;
+    private final int[] lengths;
+    private final double[] lengthCdf;
+    private final double[] zipfCdf;
+    private final long fromSecond;
+    private final long spanSeconds;
+    private final int blockRows;
+
+    private PasswordDatasetGenerator(long rows, long seed, int vocabulary, double zipf, double uniqueRatio,
+                                     String lengthMix, LocalDate from, LocalDate to, double presorted,
+                                     double malformed, int blockRows) {
+        if (rows < 0) throw new IllegalArgumentException("Número de linhas inválido: " + rows);
+        if (vocabulary < 1) throw new IllegalArgumentException("Vocabulário inválido: " + vocabulary);
+        if (zipf < 0) throw new IllegalArgumentException("Expoente de Zipf inválido: " + zipf);
+        if (blockRows < 1) throw new IllegalArgumentException("Tamanho de bloco inválido: " + blockRows);
+        if (to.isBefore(from)) throw new IllegalArgumentException("Intervalo de datas vazio: " + from + " a " + to);
+        this.rows = rows;
+        this.seed = seed;
+        this.vocabulary = vocabulary;
+        this.uniqueRatio = fraction("--unique-ratio", uniqueRatio);
+        this.presorted = fraction("--presorted", presorted);
+        this.malformed = fraction("--malformed", malformed);
+        this.blockRows = blockRows;
+
+        String[] parts = lengthMix.split(",");
+        this.lengths = new int[parts.length];
+        this.lengthCdf = new double[parts.length];
+        double total = 0;
+        for (int i = 0; i < parts.length; i++) {
+            String[] pair = parts[i].trim().split(":");
+            lengths[i] = Integer.parseInt(pair[0].trim());
+            double weight = pair.length > 1 ? Double.parseDouble(pair[1].trim()) : 1;
+            if (lengths[i] < 1 || weight < 0) {
+                throw new IllegalArgumentException("Distribuição de tamanhos inválida: " + lengthMix);
+            }
+            total += weight;
+            lengthCdf[i] = total;
+        }
+        if (total <= 0) throw new IllegalArgumentException("Distribuição de tamanhos sem peso: " + lengthMix);
+        for (int i = 0; i < lengthCdf.length; i++) lengthCdf[i] /= total;
+
+        // Distribuição acumulada de Zipf: a posição k (1..V) tem peso 1/k^s.
+        this.zipfCdf = new double[vocabulary];
+        double sum = 0;
+        for (int k = 0; k < vocabulary; k++) {
+            sum += 1.0 / Math.pow(k + 1, zipf);
+            zipfCdf[k] = sum;
+        }
+        for (int k = 0; k < vocabulary; k++) zipfCdf[k] /= sum;
+
+        this.fromSecond = from.atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+        this.spanSeconds = to.plusDays(1).atStartOfDay().toEpochSecond(ZoneOffset.UTC) - fromSecond;
+    }
+
+    public static void main(String[] args) throws Exception {
+        long rows = 1000;
+        String output = "passwords.csv";
+        long seed = 42;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int vocabulary = -1;
+        double zipf = 1.0;
+        double uniqueRatio = 0.1;
+        String lengthMix = "4:5,6:15,8:30,10:20,12:20,16:10";
+        LocalDate from = LocalDate.of(2010, 1, 1);
+        LocalDate to = LocalDate.of(2024, 12, 31);
+        double presorted = 0.0;
+        double malformed = 0.0;
+        int blockRows = DEFAULT_BLOCK_ROWS;
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException(option + " exige um valor.");
+            }
+            String value = args[++i];
+            switch (option) {
+                case "--rows" -> rows = Long.parseLong(value.replace("_", ""));
+                case "--output" -> output = value;
+                case "--seed" -> seed = Long.parseLong(value);
+                case "--threads" -> threads = Integer.parseInt(value);
+                case "--vocabulary" -> vocabulary = Integer.parseInt(value.replace("_", ""));
+                case "--zipf" -> zipf = Double.parseDouble(value);
+                case "--unique-ratio" -> uniqueRatio = Double.parseDouble(value);
+                case "--lengths" -> lengthMix = value;
+                case "--from" -> from = LocalDate.parse(value);
+                case "--to" -> to = LocalDate.parse(value);
+                case "--presorted" -> presorted = Double.parseDouble(value);
+                case "--malformed" -> malformed = Double.parseDouble(value);
+                case "--block-rows" -> blockRows = Integer.parseInt(value);
+                default -> throw new IllegalArgumentException("Opção desconhecida: " + option);
+            }
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("Número de threads inválido: " + threads);
+        }
+        if (vocabulary < 0) {
+            vocabulary = (int) Math.max(1, Math.min(MAX_DEFAULT_VOCABULARY, rows / 10));
+        }
+
+        PasswordDatasetGenerator generator = new PasswordDatasetGenerator(rows, seed, vocabulary, zipf, uniqueRatio,
+                lengthMix, from, to, presorted, malformed, blockRows);
+        Path path = Paths.get(output);
+        long start = System.nanoTime();
+        ExecutorService executor = threads > 1 ? Executors.newFixedThreadPool(threads) : null;
+        try {
+            generator.write(path, executor, threads);
+        } finally {
+            if (executor != null) executor.shutdown();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long bytes = Files.size(path);
+        System.out.printf("%s: %d linhas, %.1f MB em %.2f s (%.1f MB/s, %d thread(s), semente %d)%n",
+                path, rows, bytes / 1e6, seconds, bytes / 1e6 / seconds, threads, seed);
+    }
+
+    /**
+     * Grava o arquivo inteiro.
+     *
+     * @param path O arquivo de saída (.gz = comprimido).
+     * @param executor Pool que gera os blocos; null gera em sequência.
+     * @param threads O número de threads do pool (define quantos blocos ficam pendentes).
+     * @throws IOException se a escrita falhar.
+     */
+    public void write(Path path, ExecutorService executor, int threads) throws IOException {
+        long blocks = (rows + blockRows - 1) / blockRows;
+        try (OutputStream out = CompressedFiles.newOutputStream(path, false)) {
+            out.write((HEADER + "\n").getBytes(StandardCharsets.US_ASCII));
+            if (executor == null) {
+                for (long b = 0; b < blocks; b++) {
+                    out.write(generateBlock(b));
+                }
+                return;
+            }
+            // Janela deslizante: os próximos blocos são gerados enquanto o atual é gravado.
+            int window = 2 * threads;
+            MyDynamicArray<Future<byte[]>> pending = new MyDynamicArray<>(window);
+            for (int i = 0; i < window; i++) {
+                pending.add(null);
+            }
+            long submitted = 0;
+            for (long next = 0; next < blocks; next++) {
+                while (submitted < blocks && submitted - next < window) {
+                    long block = submitted++;
+                    pending.set((int) (block % window), executor.submit(() -> generateBlock(block)));
+                }
+                try {
+                    out.write(pending.get((int) (next % window)).get());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Geração interrompida.", e);
+                } catch (ExecutionException e) {
+                    throw new IOException("Falha ao gerar o bloco " + next + ": " + e.getCause(), e.getCause());
+                }
+            }
+        }
+    }
+
+    /** Gera as linhas de um bloco, em ASCII. */
+    byte[] generateBlock(long block) {
+        long first = block * blockRows;
+        long last = Math.min(rows, first + blockRows);
+        SplittableRandom random = new SplittableRandom(mix(seed, block));
+        StringBuilder sb = new StringBuilder((int) (last - first) * 40);
+        char[] password = new char[64];
+        for (long row = first; row < last; row++) {
+            sb.append(row);
+            if (random.nextDouble() < malformed) {
+                // Linha truncada: só o id, ou id e senha.
+                if (random.nextBoolean()) {
+                    int length = randomPassword(random, password);
+                    sb.append(',').append(password, 0, length);
+                }
+                sb.append('\n');
+                continue;
+            }
+            int length;
+            if (random.nextDouble() < uniqueRatio) {
+                length = randomPassword(random, password);
+            } else {
+                int rank = zipfRank(random.nextDouble());
+                length = randomPassword(new SplittableRandom(mix(~seed, rank)), password);
+            }
+            sb.append(',').append(password, 0, length).append(',').append(length).append(',');
+
+            long second;
+            if (random.nextDouble() < presorted) {
+                second = fromSecond + (long) ((double) spanSeconds * row / Math.max(1, rows));
+            } else {
+                second = fromSecond + random.nextLong(spanSeconds);
+            }
+            appendDate(sb, second);
+            sb.append('\n');
+        }
+        return sb.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /** Gera uma senha no buffer, com o tamanho sorteado da distribuição de tamanhos. */
+    private int randomPassword(SplittableRandom random, char[] buffer) {
+        double pick = random.nextDouble();
+        int index = 0;
+        while (index < lengthCdf.length - 1 && pick >= lengthCdf[index]) index++;
+        int length = Math.min(lengths[index], buffer.length);
+        for (int i = 0; i < length; i++) {
+            double kind = random.nextDouble();
+            String chars = kind < 0.6 ? LETTERS : kind < 0.85 ? DIGITS : SPECIALS;
+            buffer[i] = chars.charAt(random.nextInt(chars.length()));
+        }
+        return length;
+    }
+
+    /** Posição de Zipf (0..V-1) para um valor uniforme em [0, 1), por busca binária na distribuição acumulada. */
+    private int zipfRank(double u) {
+        int lo = 0;
+        int hi = vocabulary - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (zipfCdf[mid] > u) hi = mid; else lo = mid + 1;
+        }
+        return lo;
+    }
+
+    /** Acrescenta a data no formato yyyy-MM-dd HH:mm:ss. */
+    private static void appendDate(StringBuilder sb, long epochSecond) {
+        LocalDate day = LocalDate.ofEpochDay(Math.floorDiv(epochSecond, 86_400L));
+        int secondOfDay = (int) Math.floorMod(epochSecond, 86_400L);
+        sb.append(day.getYear()).append('-');
+        pad2(sb, day.getMonthValue()).append('-');
+        pad2(sb, day.getDayOfMonth()).append(' ');
+        pad2(sb, secondOfDay / 3600).append(':');
+        pad2(sb, secondOfDay / 60 % 60).append(':');
+        pad2(sb, secondOfDay % 60);
+    }
+
+    private static StringBuilder pad2(StringBuilder sb, int value) {
+        if (value < 10) sb.append('0');
+        return sb.append(value);
+    }
+
+    /** Semente de um bloco ou de uma posição do vocabulário (mistura de bits do SplitMix64). */
+    private static long mix(long seed, long index) {
+        long z = seed + (index + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static double fraction(String option, double value) {
+        if (value < 0 || value > 1) {
+            throw new IllegalArgumentException(option + " deve estar entre 0 e 1: " + value);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,335 @@
+package com.example;
+
+import java.io.IOException;
+import java.util.Arrays; // Usado apenas para Arrays.copyOf ao fechar o índice de datas
+
+import com.example.datastructures.MyBitSet;
+import com.example.datastructures.MyDynamicArray;
+import com.example.datastructures.MyHashMap;
+import com.example.datastructures.MyIntArray;
+
+/**
+ * Camada de consultas em memória sobre os registros já carregados, para responder perguntas
+ * como "todas as senhas 'fraca' criadas em março de 2023" ou "o registro de id X" sem uma
+ * passada completa do PasswordSorter e sem percorrer todas as linhas.
+ *
+ * Três índices são construídos uma única vez:
+ * <ul>
+ *   <li>índice hash por id (coluna 0) em uma {@link MyHashMap};</li>
+ *   <li>índice de datas ordenado (coluna 3), com busca binária para consultas por intervalo;</li>
+ *   <li>um bitmap ({@link MyBitSet}) por classificação (coluna 4), que pode ser intersectado
+ *       com o resultado de outras consultas.</li>
+ * </ul>
+ * As datas são aceitas tanto no formato original ({@code yyyy-MM-dd HH:mm:ss}) quanto no
+ * formatado ({@code dd/MM/yyyy}). O layout das colunas é o que o restante do projeto lê
+ * (id, password, length, date, class); os dados não têm uma coluna de usuário.
+ *
+ * Uso:
+ * <pre>
+ * PasswordQueryIndex &lt;arquivo.csv&gt; [--id X] [--class C] [--from D] [--to D] [--limit n]
+ * </pre>
+ */
+public class PasswordQueryIndex {
+    private static final int ID_COLUMN = 0;
+    private static final int DATE_COLUMN = 3;
+    private static final int CLASS_COLUMN = 4;
+
+    private final MyDynamicArray<String[]> records;
+    private final MyHashMap<String, MyIntArray> idIndex;
+    private final MyHashMap<String, MyBitSet> classIndex;
+    private final long[] sortedDates; // Chaves de data em ordem crescente
+    private final int[] dateRows;     // dateRows[i] é a linha cuja data é sortedDates[i]
+
+    /**
+     * Constrói os índices sobre os registros (sem o cabeçalho).
+     * Linhas com data inválida ficam fora do índice de datas, mas continuam nos demais.
+     *
+     * @param records Os registros de dados.
+     */
+    public PasswordQueryIndex(MyDynamicArray<String[]> records) {
+        this.records = records;
+        int n = records.size();
+        this.idIndex = new MyHashMap<>(Math.max(16, (int) (n / 0.75) + 1));
+        this.classIndex = new MyHashMap<>();
+
+        long[] keys = new long[n];
+        int valid = 0;
+        int[] rows = new int[n];
+        for (int row = 0; row < n; row++) {
+            String[] record = records.get(row);
+            if (record.length > ID_COLUMN) {
+                MyIntArray ids = idIndex.get(record[ID_COLUMN]);
+                if (ids == null) {
+                    ids = new MyIntArray(1);
+                    idIndex.put(record[ID_COLUMN], ids);
+                }
+                ids.add(row);
+            }
+            if (record.length > CLASS_COLUMN) {
+                String label = record[CLASS_COLUMN].toLowerCase();
+                MyBitSet bits = classIndex.get(label);
+                if (bits == null) {
+                    bits = new MyBitSet(n);
+                    classIndex.put(label, bits);
+                }
+                bits.set(row);
+            }
+            long key = record.length > DATE_COLUMN ? dateKey(record[DATE_COLUMN]) : -1;
+            if (key >= 0) {
+                keys[valid] = key;
+                rows[valid] = row;
+                valid++;
+            }
+        }
+        this.sortedDates = Arrays.copyOf(keys, valid);
+        this.dateRows = Arrays.copyOf(rows, valid);
+        sortByKey(sortedDates, dateRows);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Uso: PasswordQueryIndex <arquivo.csv> [--id X] [--class C] [--from D] [--to D] [--limit n]");
+            return;
+        }
+        String id = null;
+        String label = null;
+        String from = null;
+        String to = null;
+        int limit = 20;
+        for (int i = 1; i < args.length; i++) {
+            String option = args[i];
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Opção sem valor: " + option);
+            }
+            String value = args[++i];
+            switch (option) {
+                case "--id" -> id = value;
+                case "--class" -> label = value;
+                case "--from" -> from = value;
+                case "--to" -> to = value;
+                case "--limit" -> limit = Integer.parseInt(value);
+                default -> throw new IllegalArgumentException("Opção desconhecida: " + option);
+            }
+        }
+
+        MyDynamicArray<String[]> rows = PasswordSorter.readCSV(args[0]);
+        MyDynamicArray<String[]> data = new MyDynamicArray<>(rows.size());
+        for (int i = 1; i < rows.size(); i++) { // A primeira linha é o cabeçalho
+            data.add(rows.get(i));
+        }
+        long start = System.nanoTime();
+        PasswordQueryIndex index = new PasswordQueryIndex(data);
+        System.out.printf("Índices construídos para %d registros em %.1f ms%n", data.size(), (System.nanoTime() - start) / 1e6);
+
+        start = System.nanoTime();
+        MyIntArray result;
+        if (id != null) {
+            result = index.byId(id);
+        } else {
+            MyBitSet selection = null;
+            if (label != null) {
+                selection = index.byClass(label);
+            }
+            if (from != null || to != null) {
+                MyBitSet range = index.byDateRange(from, to);
+                selection = selection == null ? range : selection.and(range);
+            }
+            if (selection == null) {
+                throw new IllegalArgumentException("Informe --id, --class e/ou --from/--to");
+            }
+            result = selection.toIntArray();
+        }
+        long queryNanos = System.nanoTime() - start;
+
+        for (int i = 0; i < Math.min(limit, result.size()); i++) {
+            System.out.println(String.join(",", data.get(result.get(i))));
+        }
+        System.out.printf("%d registros encontrados em %.3f ms%n", result.size(), queryNanos / 1e6);
+    }
+
+    /**
+     * Retorna as linhas com o id especificado (normalmente uma).
+     *
+     * @param id O id procurado.
+     * @return Uma cópia das linhas encontradas (vazia se não houver); alterá-la não afeta o índice.
+     */
+    public MyIntArray byId(String id) {
+        MyIntArray rows = idIndex.get(id);
+        if (rows == null) {
+            return new MyIntArray(0);
+        }
+        MyIntArray copy = new MyIntArray(rows.size());
+        copy.addAll(rows.rawArray(), 0, rows.size());
+        return copy;
+    }
+
+    /**
+     * Retorna o bitmap das linhas com a classificação especificada (sem diferenciar maiúsculas).
+     * É uma cópia do bitmap do índice (n/64 palavras), que o chamador pode alterar livremente.
+     *
+     * @param label A classificação (ex: "fraca").
+     * @return O bitmap das linhas (vazio se a classificação não existir).
+     */
+    public MyBitSet byClass(String label) {
+        MyBitSet bits = classIndex.get(label.toLowerCase());
+        return bits != null ? bits.copy() : new MyBitSet(records.size());
+    }
+
+    /**
+     * Retorna as linhas com data em {@code [from, to)}, em ordem de data, por busca binária
+     * no índice ordenado.
+     *
+     * @param from Data inicial (inclusiva) ou null para sem limite.
+     * @param to Data final (exclusiva) ou null para sem limite.
+     * @return As linhas do intervalo, em ordem de data.
+     * @throws IllegalArgumentException se alguma data for inválida.
+     */
+    public MyIntArray byDateRangeSorted(String from, String to) {
+        int lo = lowerBound(from == null ? Long.MIN_VALUE : parseBound(from));
+        int hi = lowerBound(to == null ? Long.MAX_VALUE : parseBound(to));
+        MyIntArray result = new MyIntArray(Math.max(0, hi - lo));
+        if (hi > lo) {
+            result.addAll(dateRows, lo, hi);
+        }
+        return result;
+    }
+
+    /**
+     * Retorna o bitmap das linhas com data em {@code [from, to)}, para intersectar com outros índices.
+     *
+     * @param from Data inicial (inclusiva) ou null para sem limite.
+     * @param to Data final (exclusiva) ou null para sem limite.
+     * @return O bitmap das linhas do intervalo.
+     */
+    public MyBitSet byDateRange(String from, String to) {
+        int lo = lowerBound(from == null ? Long.MIN_VALUE : parseBound(from));
+        int hi = lowerBound(to == null ? Long.MAX_VALUE : parseBound(to));
+        MyBitSet bits = new MyBitSet(records.size());
+        for (int i = lo; i < hi; i++) {
+            bits.set(dateRows[i]);
+        }
+        return bits;
+    }
+
+    /**
+     * Retorna o registro de uma linha.
+     *
+     * @param row O índice da linha.
+     * @return O registro.
+     */
+    public String[] record(int row) {
+        return records.get(row);
+    }
+
+    /** Primeira posição de sortedDates com chave maior ou igual a key. */
+    private int lowerBound(long key) {
+        int lo = 0;
+        int hi = sortedDates.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sortedDates[mid] < key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static long parseBound(String date) {
+        long key = dateKey(date);
+        if (key < 0) {
+            throw new IllegalArgumentException("Data inválida: " + date + " (use yyyy-MM-dd [HH:mm:ss] ou dd/MM/yyyy)");
+        }
+        return key;
+    }
+
+    /**
+     * Converte uma data em uma chave numérica ordenável {@code yyyyMMddHHmmss}, sem criar objetos.
+     * Aceita {@code yyyy-MM-dd HH:mm:ss}, {@code yyyy-MM-dd} e {@code dd/MM/yyyy}.
+     *
+     * @param date A data.
+     * @return A chave, ou -1 se o formato não for reconhecido.
+     */
+    static long dateKey(String date) {
+        int length = date.length();
+        if (length >= 10 && date.charAt(4) == '-' && date.charAt(7) == '-') {
+            long year = digits(date, 0, 4);
+            long month = digits(date, 5, 7);
+            long day = digits(date, 8, 10);
+            long time = 0;
+            if (length == 19 && date.charAt(10) == ' ' && date.charAt(13) == ':' && date.charAt(16) == ':') {
+                long h = digits(date, 11, 13);
+                long m = digits(date, 14, 16);
+                long s = digits(date, 17, 19);
+                if (h < 0 || m < 0 || s < 0) return -1;
+                time = h * 10000 + m * 100 + s;
+            } else if (length != 10) {
+                return -1;
+            }
+            return year < 0 || month < 0 || day < 0 ? -1 : ((year * 100 + month) * 100 + day) * 1_000_000 + time;
+        }
+        if (length == 10 && date.charAt(2) == '/' && date.charAt(5) == '/') {
+            long day = digits(date, 0, 2);
+            long month = digits(date, 3, 5);
+            long year = digits(date, 6, 10);
+            return year < 0 || month < 0 || day < 0 ? -1 : ((year * 100 + month) * 100 + day) * 1_000_000;
+        }
+        return -1;
+    }
+
+    /** Lê os dígitos de s[from, to) como número, ou -1 se houver outro caractere. */
+    private static long digits(String s, int from, int to) {
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            int d = s.charAt(i) - '0';
+            if (d < 0 || d > 9) {
+                return -1;
+            }
+            value = value * 10 + d;
+        }
+        return value;
+    }
+
+    /**
+     * Ordena keys em ordem crescente levando rows junto (merge sort estável, de baixo para cima,
+     * sobre arrays primitivos).
+     */
+    private static void sortByKey(long[] keys, int[] rows) {
+        int n = keys.length;
+        long[] keyBuffer = new long[n];
+        int[] rowBuffer = new int[n];
+        long[] srcKeys = keys, dstKeys = keyBuffer;
+        int[] srcRows = rows, dstRows = rowBuffer;
+        for (int width = 1; width < n; width <<= 1) {
+            for (int lo = 0; lo < n; lo += width << 1) {
+                int mid = Math.min(lo + width, n);
+                int hi = Math.min(lo + (width << 1), n);
+                int i = lo, j = mid, k = lo;
+                while (i < mid && j < hi) {
+                    if (srcKeys[j] < srcKeys[i]) {
+                        dstKeys[k] = srcKeys[j];
+                        dstRows[k++] = srcRows[j++];
+                    } else {
+                        dstKeys[k] = srcKeys[i];
+                        dstRows[k++] = srcRows[i++];
+                    }
+                }
+                while (i < mid) {
+                    dstKeys[k] = srcKeys[i];
+                    dstRows[k++] = srcRows[i++];
+                }
+                while (j < hi) {
+                    dstKeys[k] = srcKeys[j];
+                    dstRows[k++] = srcRows[j++];
+                }
+            }
+            long[] tk = srcKeys; srcKeys = dstKeys; dstKeys = tk;
+            int[] tr = srcRows; srcRows = dstRows; dstRows = tr;
+        }
+        if (srcKeys != keys) {
+            System.arraycopy(srcKeys, 0, keys, 0, n);
+            System.arraycopy(srcRows, 0, rows, 0, n);
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.example;
+
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+
+import com.example.datastructures.Fingerprints;
+import com.example.datastructures.MyLongIntHashMap;
+
+/**
+ * Análise de reuso de senhas: quantos registros compartilham cada senha e quais são as mais reusadas.
+ *
+ * Guardar as senhas como chaves String de uma MyHashMap custa dezenas de bytes por senha distinta,
+ * o que não cabe em memória com dezenas de milhões de linhas. Aqui cada senha vira um fingerprint
+ * de 64 bits ({@link Fingerprints#of(String)}) e as ocorrências são contadas em uma tabela aberta
+ * primitiva ({@link MyLongIntHashMap}). Só os N fingerprints mais frequentes são convertidos de
+ * volta em texto, em uma segunda passada pelo arquivo.
+ *
+ * Os dados não têm coluna de usuário: o reuso é medido em registros (ids) que usam a mesma senha.
+ *
+ * Uso:
+ * <pre>
+ * PasswordReuseAnalyzer [arquivo.csv] [topN]
+ * </pre>
+ * Sem arquivo, lê {@code passwords.csv} do classpath, como o PasswordClassifier.
+ */
+public class PasswordReuseAnalyzer {
+    private static final int PASSWORD_COLUMN = 1;
+
+    /**
+     * Abre a entrada a cada passada (arquivo ou recurso do classpath).
+     */
+    @FunctionalInterface
+    public interface Source {
+        Reader open() throws IOException;
+    }
+
+    private final MyLongIntHashMap counts;
+    private long records;
+
+    // Resultado do top-N (preenchido por selectTop e resolve).
+    private long[] topFingerprints = new long[0];
+    private int[] topCounts = new int[0];
+    private String[] topPasswords = new String[0];
+    private MyLongIntHashMap topIndex = new MyLongIntHashMap(0); // Fingerprint -> posição no top-N + 1
+    private int unresolved;
+
+    /**
+     * @param expectedPasswords Estimativa do número de senhas distintas, para pré-dimensionar a tabela.
+     */
+    public PasswordReuseAnalyzer(int expectedPasswords) {
+        this.counts = new MyLongIntHashMap(expectedPasswords);
+    }
+
+    public static void main(String[] args) throws IOException, CsvException {
+        String inputFile = args.length > 0 ? args[0] : null;
+        int topN = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        Source source = inputFile != null ? () -> CompressedFiles.newReader(inputFile) : classpathSource("passwords.csv");
+        analyze(source, topN).printReport();
+    }
+
+    /**
+     * Executa as duas passadas sobre a entrada: contagem dos fingerprints e resolução do top-N.
+     *
+     * @param source A entrada (CSV com cabeçalho e a senha na coluna 1).
+     * @param topN Quantas senhas mais reusadas devem ser resolvidas.
+     * @return O analisador com o resultado.
+     * @throws IOException se a entrada não puder ser lida.
+     * @throws CsvException se o CSV for inválido.
+     */
+    public static PasswordReuseAnalyzer analyze(Source source, int topN) throws IOException, CsvException {
+        PasswordReuseAnalyzer analyzer = new PasswordReuseAnalyzer(1 << 16);
+        try (CSVReader reader = new CSVReader(source.open())) {
+            String[] row = reader.readNext(); // Cabeçalho
+            while (row != null && (row = reader.readNext()) != null) {
+                if (row.length > PASSWORD_COLUMN) {
+                    analyzer.accept(row[PASSWORD_COLUMN]);
+                }
+            }
+        }
+        if (analyzer.selectTop(topN) > 0) {
+            try (CSVReader reader = new CSVReader(source.open())) {
+                String[] row = reader.readNext();
+                while (row != null && (row = reader.readNext()) != null) {
+                    if (row.length > PASSWORD_COLUMN && analyzer.resolve(row[PASSWORD_COLUMN])) {
+                        break; // Todos os fingerprints do top-N já têm texto
+                    }
+                }
+            }
+        }
+        return analyzer;
+    }
+
+    /**
+     * Retorna uma fonte que abre um recurso do classpath.
+     *
+     * @param resource O nome do recurso.
+     * @return A fonte.
+     */
+    public static Source classpathSource(String resource) {
+        return () -> {
+            InputStream stream = PasswordReuseAnalyzer.class.getClassLoader().getResourceAsStream(resource);
+            if (stream == null) {
+                throw new IOException("arquivo não encontrado no classpath: " + resource);
+            }
+            return new InputStreamReader(stream);
+        };
+    }
+
+    /**
+     * Primeira passada: conta uma ocorrência da senha.
+     *
+     * @param password A senha.
+     */
+    public void accept(String password) {
+        counts.increment(Fingerprints.of(password));
+        records++;
+    }
+
+    /**
+     * Seleciona os N fingerprints mais frequentes (com pelo menos 2 ocorrências), com um heap
+     * mínimo de tamanho N sobre arrays primitivos. Empates são desfeitos pelo fingerprint, para
+     * um resultado determinístico.
+     *
+     * @param n O número de senhas a selecionar.
+     * @return Quantos fingerprints foram selecionados.
+     */
+    public int selectTop(int n) {
+        long[] heapKeys = new long[Math.max(n, 0)];
+        int[] heapCounts = new int[heapKeys.length];
+        int[] heapSize = { 0 };
+        counts.forEach((key, count) -> {
+            if (count < 2 || heapKeys.length == 0) {
+                return;
+            }
+            if (heapSize[0] < heapKeys.length) {
+                int i = heapSize[0]++;
+                heapKeys[i] = key;
+                heapCounts[i] = count;
+                siftUp(heapKeys, heapCounts, i);
+            } else if (greater(count, key, heapCounts[0], heapKeys[0])) {
+                heapKeys[0] = key;
+                heapCounts[0] = count;
+                siftDown(heapKeys, heapCounts, heapSize[0], 0);
+            }
+        });
+
+        // Esvazia o heap do menor para o maior, preenchendo o resultado de trás para frente.
+        int size = heapSize[0];
+        topFingerprints = new long[size];
+        topCounts = new int[size];
+        topPasswords = new String[size];
+        for (int i = size - 1; i >= 0; i--) {
+            topFingerprints[i] = heapKeys[0];
+            topCounts[i] = heapCounts[0];
+            int last = --heapSize[0];
+            heapKeys[0] = heapKeys[last];
+            heapCounts[0] = heapCounts[last];
+            siftDown(heapKeys, heapCounts, last, 0);
+        }
+        topIndex = new MyLongIntHashMap(size);
+        for (int i = 0; i < size; i++) {
+            topIndex.put(topFingerprints[i], i + 1);
+        }
+        unresolved = size;
+        return size;
+    }
+
+    /**
+     * Segunda passada: se a senha for uma das selecionadas e ainda não tiver texto, guarda-o.
+     *
+     * @param password A senha lida.
+     * @return true quando todas as selecionadas já foram resolvidas.
+     */
+    public boolean resolve(String password) {
+        int position = topIndex.getOrDefault(Fingerprints.of(password), 0);
+        if (position > 0 && topPasswords[position - 1] == null) {
+            topPasswords[position - 1] = password;
+            unresolved--;
+        }
+        return unresolved == 0;
+    }
+
+    /**
+     * Imprime o relatório de reuso: senhas distintas, senhas reusadas e o top-N com a classificação.
+     */
+    public void printReport() {
+        long[] reused = { 0, 0 }; // Senhas distintas reusadas, registros com senha reusada
+        counts.forEach((key, count) -> {
+            if (count >= 2) {
+                reused[0]++;
+                reused[1] += count;
+            }
+        });
+        System.out.println("\n--- Reuso de Senhas ---");
+        System.out.println("registros analisados: " + records);
+        System.out.println("senhas distintas: " + counts.size());
+        System.out.println("senhas usadas por mais de um registro: " + reused[0]);
+        System.out.println("registros com senha reusada: " + reused[1]);
+        for (int i = 0; i < topFingerprints.length; i++) {
+            String password = topPasswords[i];
+            String label = password == null ? "?" : PasswordClassifier.labelOf(
+                    PasswordClassifier.labelCode(password.length(), PasswordClassifier.characterTypes(password)));
+            System.out.println((i + 1) + ". " + (password == null ? "(não resolvida)" : password)
+                    + " | registros: " + topCounts[i] + " | classe: " + label);
+        }
+        System.out.println("-----------------------");
+    }
+
+    /** @return O número de registros analisados. */
+    public long getRecords() {
+        return records;
+    }
+
+    /** @return O número de senhas distintas. */
+    public int distinctPasswords() {
+        return counts.size();
+    }
+
+    private static boolean greater(int countA, long keyA, int countB, long keyB) {
+        return countA != countB ? countA > countB : keyA < keyB;
+    }
+
+    private static void siftUp(long[] keys, int[] counts, int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!greater(counts[parent], keys[parent], counts[i], keys[i])) {
+                break;
+            }
+            swap(keys, counts, i, parent);
+            i = parent;
+        }
+    }
+
+    private static void siftDown(long[] keys, int[] counts, int size, int i) {
+        while (true) {
+            int smallest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < size && greater(counts[smallest], keys[smallest], counts[left], keys[left])) smallest = left;
+            if (right < size && greater(counts[smallest], keys[smallest], counts[right], keys[right])) smallest = right;
+            if (smallest == i) {
+                return;
+            }
+            swap(keys, counts, i, smallest);
+            i = smallest;
+        }
+    }
+
+    private static void swap(long[] keys, int[] counts, int i, int j) {
+        long k = keys[i];
+        keys[i] = keys[j];
+        keys[j] = k;
+        int c = counts[i];
+        counts[i] = counts[j];
+        counts[j] = c;
+    }
+}
@@ -2,22 +2,100 @@ package com.example;
 
 import java.io.*;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.text.ParseException; // Mantido, embora não diretamente usado nas novas comparações de data
 import java.text.SimpleDateFormat; // Mantido, embora não diretamente usado nas novas comparações de data
 import java.util.Arrays; // Mantido para Arrays.copyOf
+import java.util.Comparator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
 
 // IMPORTAÇÕES DE ESTRUTURAS DE DADOS PERSONALIZADAS
 // Estas linhas importam suas classes MyDynamicArray e MySinglyLinkedList.
 // MyDynamicArray é usada como a principal estrutura para armazenar e manipular os dados do CSV.
 // MySinglyLinkedList é usada internamente no Counting Sort para lidar com colisões.
+import com.example.datastructures.MyDictionaryColumn;
 import com.example.datastructures.MyDynamicArray;
+import com.example.datastructures.MyIntArray;
+import com.example.datastructures.MyList;
+import com.example.datastructures.MyLongArray;
+import com.example.datastructures.MyOffHeapRecords;
 import com.example.datastructures.MySinglyLinkedList;
+import com.example.datastructures.MyStringArena;
 
 public class PasswordSorter {
 
+    /** Arquivo com os contadores de operações de cada ordenação (modo --instrument). */
+    public static final String STATS_FILE = "sort_stats.csv";
+
+    // Combinações geradas por sortAll (e mantidas pelo modo incremental, SortedOutputMerger).
+    static final String[] ALGORITMOS = { "insertion", "selection", "merge", "quick", "quickMediana", "counting", "heap", "heap4", "heap8", "auto" };
+    static final String[] CASOS = { "melhorCaso", "medioCaso", "piorCaso" };
+    static final String[] CRITERIOS = { "length", "month", "data" };
+
+    /** Nome do arquivo de saída de uma combinação (com .gz no modo --gzip). */
+    static String outputName(String criterio, String algoritmo, String caso) {
+        return CompressedFiles.outputName(String.format("passwords_%s_%s_%s.csv", criterio, algoritmo, caso));
+    }
+
     public static void main(String[] args) throws IOException {
+        // --gzip: grava as saídas como .csv.gz, comprimidas em blocos paralelos.
+        // --instrument: conta as operações de cada ordenação e grava sort_stats.csv.
+        // --spec <chaves> [--algorithm <algoritmo>]: ordena só pela especificação composta
+        // (ex: "class,-data,length"; veja SortSpec) com o algoritmo indicado (padrão: auto).
+        // --incremental <novas.csv>: mescla as linhas novas nas saídas ordenadas existentes
+        // (veja SortedOutputMerger), sem reordenar os dados inteiros.
+        // --offheap: lê os registros para uma arena fora do heap (veja sortAllOffHeap).
+        String spec = null;
+        String delta = null;
+        String specAlgorithm = "auto";
+        boolean offHeap = false;
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.equals("--gzip")) {
+                CompressedFiles.setCompressOutputs(true);
+            } else if (arg.equals("--instrument")) {
+                SortCounters.setEnabled(true);
+            } else if (arg.equals("--offheap")) {
+                offHeap = true;
+            } else if ((arg.equals("--spec") || arg.equals("--algorithm") || arg.equals("--incremental"))
+                    && i + 1 >= args.length) {
+                throw new IllegalArgumentException(arg + " exige um valor.");
+            } else if (arg.equals("--spec")) {
+                spec = args[++i];
+            } else if (arg.equals("--algorithm")) {
+                specAlgorithm = args[++i];
+            } else if (arg.equals("--incremental")) {
+                delta = args[++i];
+            }
+        }
         String inputPath = "passwords_formated_data.csv";
+        if (delta != null) {
+            SortedOutputMerger.updateAll(inputPath, delta, ".", null);
+            return;
+        }
+        if (offHeap) {
+            if (spec != null) {
+                throw new IllegalArgumentException("--offheap não pode ser combinado com --spec.");
+            }
+            try (MyStringArena arena = new MyStringArena()) {
+                sortAllOffHeap(readCSVOffHeap(inputPath, arena), ".");
+            }
+            System.out.println("Arquivos gerados com sucesso!");
+            return;
+        }
+        if (spec == null) {
+            // Sem especificação composta, a data e a classificação ficam codificadas por dicionário
+            // (EncodedRecords) e os registros só são remontados na escrita (veja sortAllEncoded).
+            sortAllEncoded(readCSVEncoded(inputPath), ".");
+            System.out.println("Arquivos gerados com sucesso!");
+            return;
+        }
         // ALTERAÇÃO: USO DE MYDYNAMICARRAY
         // 'dados' agora é uma instância do seu MyDynamicArray<String[]>, que irá armazenar
         // todas as linhas do CSV de forma dinâmica.
@@ -26,53 +104,286 @@ public class PasswordSorter {
         // evitando arrays de tamanho fixo e a necessidade de redimensionamento manual.
         MyDynamicArray<String[]> dados = readCSV(inputPath);
 
-        String[] algoritmos = { "insertion", "selection", "merge", "quick", "quickMediana", "counting", "heap" };
-        String[] casos = { "melhorCaso", "medioCaso", "piorCaso" };
-        String[] criterios = { "length", "month", "data" };
-
         // O cabeçalho é o primeiro elemento do MyDynamicArray de 'dados'.
         String[] header = dados.get(0);
         
         // ALTERAÇÃO: USO DE MYDYNAMICARRAY
         // 'dataToSort' agora é também um MyDynamicArray, que conterá os dados (sem o cabeçalho)
         // que serão passados para os algoritmos de ordenação.
-        MyDynamicArray<String[]> dataToSort = new MyDynamicArray<>();
+        MyDynamicArray<String[]> dataToSort = new MyDynamicArray<>(dados.size()); // Pré-dimensionado: tamanho conhecido
         for (int i = 1; i < dados.size(); i++) { // Percorre 'dados' do segundo elemento em diante
             dataToSort.add(dados.get(i)); // Adiciona cada linha ao 'dataToSort' MyDynamicArray
         }
 
-        for (String criterio : criterios) {
-            for (String algoritmo : algoritmos) {
+        SortSpec parsed = SortSpec.parse(spec);
+        sortComposite(dataToSort, specAlgorithm, parsed);
+        String[][] rows = new String[dataToSort.size() + 1][];
+        rows[0] = header;
+        for (int i = 0; i < dataToSort.size(); i++) {
+            rows[i + 1] = dataToSort.get(i);
+        }
+        String nome = CompressedFiles.outputName(
+                String.format("passwords_%s_%s.csv", parsed.toFileName(), specAlgorithm));
+        writeCSV(nome, rows);
+        System.out.println("Arquivo gerado com sucesso: " + nome);
+    }
+
+    /**
+     * Executa todas as combinações válidas de critério × algoritmo × caso sobre os dados,
+     * gravando um arquivo por combinação. Extraído do main para que o pipeline em um único
+     * processo ({@link Main}) possa ordenar os registros formatados diretamente da memória.
+     * Com a instrumentação ativa ({@link SortCounters}), grava também {@value #STATS_FILE}
+     * no mesmo diretório, com os contadores de operações de cada combinação.
+     *
+     * @param header O cabeçalho do CSV.
+     * @param dataToSort Os registros (sem o cabeçalho); não são modificados.
+     * @param outputDir Diretório onde os arquivos são gravados.
+     * @param executor Pool de threads para executar as combinações em paralelo; null executa em sequência.
+     * @param writeOutputs Se false, apenas ordena (usado no aquecimento do JIT).
+     */
+    public static void sortAll(String[] header, MyDynamicArray<String[]> dataToSort, String outputDir,
+                               ExecutorService executor, boolean writeOutputs) throws IOException {
+        boolean instrument = SortCounters.enabled && writeOutputs;
+        MyDynamicArray<String[]> stats = new MyDynamicArray<>();
+        stats.add(SortCounters.HEADER);
+
+        MyDynamicArray<Future<String[]>> pending = new MyDynamicArray<>();
+        for (String criterio : CRITERIOS) {
+            for (String algoritmo : ALGORITMOS) {
                 if (!isAlgoritmoValido(algoritmo, criterio)) continue;
                 
-                for (String caso : casos) {
-                    // ALTERAÇÃO: USO DE MÉTODO CUSTOMIZADO PARA CÓPIA PROFUNDA
-                    // Cria uma cópia profunda (independente) do MyDynamicArray 'dataToSort'
-                    // para que cada algoritmo de ordenação opere em um conjunto de dados não modificado
-                    // pelas execuções anteriores.
-                    // PROBLEMA RESOLVIDO: Evitar que as ordenações subsequentes modifiquem os dados originais.
-                    // JUSTIFICATIVA: Deep copy garante que cada algoritmo comece com um conjunto limpo de dados,
-                    // mantendo a independência dos testes.
-                    MyDynamicArray<String[]> copia = deepCopyMyDynamicArray(dataToSort);
-
-                    // Chama a função de ordenação que agora opera em MyDynamicArray
-                    sortData(copia, algoritmo, criterio);
-
-                    // Converte MyDynamicArray de volta para String[][] para o método writeCSV.
-                    // Esta conversão é necessária apenas no momento da escrita, pois o CSVWriter
-                    // da biblioteca OpenCSV espera um array bidimensional nativo.
-                    String[][] finalDataForWrite = new String[copia.size() + 1][];
-                    finalDataForWrite[0] = header; // Adiciona o cabeçalho de volta
-                    for (int i = 0; i < copia.size(); i++) {
-                        finalDataForWrite[i + 1] = copia.get(i); // Copia os dados ordenados
+                for (String caso : CASOS) {
+                    String nome = outputName(criterio, algoritmo, caso);
+                    Path destino = Paths.get(outputDir, nome);
+                    if (executor == null) {
+                        String[] row = sortAndWrite(header, dataToSort, algoritmo, criterio, caso, destino, writeOutputs);
+                        if (row != null) stats.add(row);
+                    } else {
+                        // Cada tarefa trabalha na sua própria cópia; 'dataToSort' é apenas lido.
+                        pending.add(executor.submit(
+                                () -> sortAndWrite(header, dataToSort, algoritmo, criterio, caso, destino, writeOutputs)));
+                    }
+                }
+            }
+        }
+
+        for (int i = 0; i < pending.size(); i++) {
+            try {
+                String[] row = pending.get(i).get();
+                if (row != null) stats.add(row); // Na ordem de envio, como na execução sequencial
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Ordenação interrompida.", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException io) throw io;
+                if (e.getCause() instanceof RuntimeException re) throw re;
+                throw new IOException("Falha na ordenação: " + e.getCause(), e.getCause());
+            }
+        }
+
+        if (instrument) {
+            writeStats(stats, outputDir);
+        }
+    }
+
+    /** Grava as linhas de estatísticas da instrumentação em {@value #STATS_FILE}. */
+    private static void writeStats(MyDynamicArray<String[]> stats, String outputDir) throws IOException {
+        String[][] rows = new String[stats.size()][];
+        for (int i = 0; i < stats.size(); i++) {
+            rows[i] = stats.get(i);
+        }
+        writeCSV(Paths.get(outputDir, CompressedFiles.outputName(STATS_FILE)).toString(), rows);
+    }
+
+    /**
+     * Variante de sortAll para os registros lidos por {@link #readCSVOffHeap} (opção --offheap):
+     * os campos ficam na arena, e o heap guarda só os handles, uma chave int por registro para o
+     * critério atual e, em cada combinação, a permutação dos registros em um {@link MyLongArray}
+     * de valores {@code (chave << 32) | registro} ({@link PackedRowSort}), sem nenhum objeto por
+     * registro. Cada registro só é decodificado na hora de ser gravado. A data (dd/MM/yyyy) vira a
+     * chave aaaammdd, que ordena como compareDate.
+     * Gera os mesmos arquivos (e, com a instrumentação, os mesmos contadores) que sortAll.
+     *
+     * @param records Os registros, com o cabeçalho na linha 0.
+     * @param outputDir Diretório onde os arquivos são gravados.
+     * @throws IOException se um arquivo não puder ser gravado.
+     */
+    public static void sortAllOffHeap(MyOffHeapRecords records, String outputDir) throws IOException {
+        sortAllRows(records.toStringArray(0), records.size(), criterio -> offHeapKeys(records, criterio),
+                records::toStringArray, outputDir);
+    }
+
+    /**
+     * Variante de sortAll para os registros codificados de {@link #readCSVEncoded}: a data e a
+     * classificação ficam como códigos nas colunas do dicionário, e as chaves de cada critério
+     * são calculadas uma vez por valor distinto da data (o mês ou aaaammdd) e copiadas para os
+     * registros pelo código. Como em sortAllOffHeap, os algoritmos ordenam a permutação empacotada
+     * ({@link PackedRowSort}) e cada registro só é decodificado na hora de ser gravado.
+     * Gera os mesmos arquivos (e, com a instrumentação, os mesmos contadores) que sortAll.
+     *
+     * @param records Os registros, com o cabeçalho na linha 0.
+     * @param outputDir Diretório onde os arquivos são gravados.
+     * @throws IOException se um arquivo não puder ser gravado.
+     */
+    public static void sortAllEncoded(EncodedRecords records, String outputDir) throws IOException {
+        sortAllRows(records.decode(0), records.size(), criterio -> encodedKeys(records, criterio),
+                records::decode, outputDir);
+    }
+
+    /**
+     * Executa todas as combinações sobre registros identificados pelo índice, ordenando a permutação
+     * empacotada com as chaves de cada critério.
+     *
+     * @param header O cabeçalho do CSV.
+     * @param size O número de registros, incluindo o cabeçalho na linha 0.
+     * @param keysOf As chaves de um critério, por índice de registro (a posição 0 é ignorada).
+     * @param decode Remonta um registro para a escrita.
+     * @param outputDir Diretório onde os arquivos são gravados.
+     */
+    private static void sortAllRows(String[] header, int size, Function<String, int[]> keysOf,
+                                    IntFunction<String[]> decode, String outputDir) throws IOException {
+        MyDynamicArray<String[]> stats = new MyDynamicArray<>();
+        stats.add(SortCounters.HEADER);
+
+        for (String criterio : CRITERIOS) {
+            int[] keys = keysOf.apply(criterio);
+            for (String algoritmo : ALGORITMOS) {
+                if (!isAlgoritmoValido(algoritmo, criterio)) continue;
+
+                for (String caso : CASOS) {
+                    MyLongArray rows = new MyLongArray(Math.max(size - 1, 1));
+                    for (int r = 1; r < size; r++) {
+                        rows.add(PackedRowSort.pack(keys[r], r));
                     }
+                    SortCounters counters = SortCounters.enabled ? SortCounters.start() : null;
+                    sortRows(rows, algoritmo, criterio);
+                    if (counters != null) counters.stop();
 
-                    String nome = String.format("passwords_%s_%s_%s.csv", criterio, algoritmo, caso);
-                    writeCSV(nome, finalDataForWrite);
+                    try (BufferedWriter writer = CompressedFiles.newWriter(Paths.get(outputDir, outputName(criterio, algoritmo, caso)))) {
+                        writer.write(toCsvLine(header));
+                        writer.newLine();
+                        for (int i = 0; i < rows.size(); i++) {
+                            writer.write(toCsvLine(decode.apply(PackedRowSort.row(rows.getUnchecked(i)))));
+                            writer.newLine();
+                        }
+                    }
+                    if (counters != null) stats.add(counters.toRow(criterio, algoritmo, caso, rows.size()));
                 }
             }
         }
-        System.out.println("Arquivos gerados com sucesso!");
+
+        if (SortCounters.enabled) {
+            writeStats(stats, outputDir);
+        }
+    }
+
+    /**
+     * Chave int de cada registro para o critério, lida direto dos bytes da arena (sem criar Strings):
+     * o tamanho, o mês ou a data como aaaammdd.
+     * @throws NumberFormatException se o campo do critério não for numérico.
+     */
+    private static int[] offHeapKeys(MyOffHeapRecords records, String criterio) {
+        MyStringArena arena = records.arena();
+        int[] keys = new int[records.size()];
+        for (int r = 1; r < records.size(); r++) {
+            if (criterio.equals("length")) {
+                keys[r] = arena.parseInt(records.handle(r, 2));
+                continue;
+            }
+            long date = records.handle(r, DateFormatter.DATE_COLUMN);
+            int first = arena.indexOf(date, (byte) '/', 0);
+            int second = first < 0 ? -1 : arena.indexOf(date, (byte) '/', first + 1);
+            if (second < 0) {
+                throw new NumberFormatException("Data inválida: " + arena.getString(date));
+            }
+            int month = arena.parseInt(MyStringArena.slice(date, first + 1, second));
+            if (criterio.equals("month")) {
+                keys[r] = month;
+            } else {
+                int day = arena.parseInt(MyStringArena.slice(date, 0, first));
+                int year = arena.parseInt(MyStringArena.slice(date, second + 1, MyStringArena.length(date)));
+                keys[r] = year * 10_000 + month * 100 + day;
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Chave int de cada registro codificado para o critério. O tamanho é convertido por registro;
+     * o mês e a data, uma vez por código da coluna de data.
+     * @throws RuntimeException nos mesmos casos em que compareLength, compareMonth e compareDate lançariam.
+     */
+    private static int[] encodedKeys(EncodedRecords records, String criterio) {
+        int[] keys = new int[records.size()];
+        if (criterio.equals("length")) {
+            for (int r = 1; r < records.size(); r++) {
+                keys[r] = Integer.parseInt(records.get(r, 2));
+            }
+            return keys;
+        }
+        MyDictionaryColumn dates = records.column(DateFormatter.DATE_COLUMN);
+        int[] byCode = new int[dates.cardinality()];
+        boolean[] known = new boolean[byCode.length]; // O cabeçalho também tem um código, nunca convertido
+        for (int r = 1; r < records.size(); r++) {
+            int code = dates.code(r);
+            if (!known[code]) {
+                String[] parts = dates.value(code).split("/");
+                int month = Integer.parseInt(parts[1]);
+                byCode[code] = criterio.equals("month")
+                        ? month
+                        : Integer.parseInt(parts[2]) * 10_000 + month * 100 + Integer.parseInt(parts[0]);
+                known[code] = true;
+            }
+            keys[r] = byCode[code];
+        }
+        return keys;
+    }
+
+    /** Ordena a permutação empacotada pelas chaves, com o algoritmo indicado (ou o do modo "auto"). */
+    private static void sortRows(MyLongArray rows, String algoritmo, String criterio) {
+        if (algoritmo.equals("auto")) {
+            SortAlgorithmSelector.Choice choice = SortAlgorithmSelector.choose(
+                    rows.size(), i -> PackedRowSort.key(rows.getUnchecked(i)), !criterio.equals("data"));
+            System.out.println("auto [" + criterio + "]: " + choice);
+            algoritmo = choice.getAlgorithm();
+        }
+        PackedRowSort.sort(rows, algoritmo);
+    }
+
+    /**
+     * Ordena uma cópia dos dados com um algoritmo e critério e grava o resultado.
+     * @return A linha de estatísticas da ordenação, ou null se a instrumentação estiver desativada.
+     */
+    static String[] sortAndWrite(String[] header, MyDynamicArray<String[]> dataToSort, String algoritmo,
+                                         String criterio, String caso, Path destino, boolean writeOutputs)
+            throws IOException {
+        // ALTERAÇÃO: USO DE MÉTODO CUSTOMIZADO PARA CÓPIA PROFUNDA
+        // Cria uma cópia profunda (independente) do MyDynamicArray 'dataToSort'
+        // para que cada algoritmo de ordenação opere em um conjunto de dados não modificado
+        // pelas execuções anteriores.
+        // PROBLEMA RESOLVIDO: Evitar que as ordenações subsequentes modifiquem os dados originais.
+        // JUSTIFICATIVA: Deep copy garante que cada algoritmo comece com um conjunto limpo de dados,
+        // mantendo a independência dos testes.
+        MyDynamicArray<String[]> copia = deepCopyMyDynamicArray(dataToSort);
+
+        // Chama a função de ordenação que agora opera em MyDynamicArray.
+        // A cópia acima fica fora da medição: os contadores cobrem só a ordenação.
+        SortCounters counters = SortCounters.enabled ? SortCounters.start() : null;
+        sortData(copia, algoritmo, criterio);
+        if (counters != null) counters.stop();
+        if (!writeOutputs) return null;
+
+        // Converte MyDynamicArray de volta para String[][] para o método writeCSV.
+        // Esta conversão é necessária apenas no momento da escrita, pois o CSVWriter
+        // da biblioteca OpenCSV espera um array bidimensional nativo.
+        String[][] finalDataForWrite = new String[copia.size() + 1][];
+        finalDataForWrite[0] = header; // Adiciona o cabeçalho de volta
+        for (int i = 0; i < copia.size(); i++) {
+            finalDataForWrite[i + 1] = copia.get(i); // Copia os dados ordenados
+        }
+
+        writeCSV(destino.toString(), finalDataForWrite);
+        return counters == null ? null : counters.toRow(criterio, algoritmo, caso, copia.size());
     }
 
     /**
@@ -82,7 +393,7 @@ public class PasswordSorter {
      * @return Uma nova instância de MyDynamicArray contendo cópias profundas dos elementos.
      */
     public static MyDynamicArray<String[]> deepCopyMyDynamicArray(MyDynamicArray<String[]> original) {
-        MyDynamicArray<String[]> copy = new MyDynamicArray<>();
+        MyDynamicArray<String[]> copy = new MyDynamicArray<>(original.size()); // Pré-dimensionado: tamanho conhecido
         for (int i = 0; i < original.size(); i++) {
             if (original.get(i) != null) {
                 // Cria uma cópia do array interno (linha do CSV) para garantir uma deep copy.
@@ -102,9 +413,48 @@ public class PasswordSorter {
      * @return Um MyDynamicArray contendo todas as linhas do CSV (exceto vazias).
      */
     public static MyDynamicArray<String[]> readCSV(String filePath) throws IOException {
-        MyDynamicArray<String[]> lines = new MyDynamicArray<>(); // IMPLEMENTAÇÃO: MyDynamicArray
-        
-        try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
+        // IMPLEMENTAÇÃO: MyDynamicArray pré-dimensionado a partir do tamanho do arquivo,
+        // evitando as ~20 duplicações (e cópias) de um arquivo com um milhão de linhas.
+        MyDynamicArray<String[]> lines = new MyDynamicArray<>(estimateLineCount(Paths.get(CompressedFiles.resolveInput(filePath))));
+        readCSV(filePath, lines);
+        return lines; // Retorna o MyDynamicArray preenchido
+    }
+
+    /**
+     * Lê as linhas válidas do CSV para a lista de destino, como String[]. Os registros com a mesma
+     * data ou classificação compartilham uma única String (por um {@link MyDictionaryColumn} usado
+     * só como tabela de valores), mas cada registro guarda a String, não um código: para a
+     * codificação por dicionário de verdade, use {@link #readCSVEncoded}.
+     */
+    private static void readCSV(String filePath, MyList<String[]> lines) throws IOException {
+        MyDictionaryColumn dates = new MyDictionaryColumn(0);
+        MyDictionaryColumn classes = new MyDictionaryColumn(0);
+        readRecords(filePath, parts -> {
+            parts[DateFormatter.DATE_COLUMN] = dates.value(dates.encode(parts[DateFormatter.DATE_COLUMN]));
+            parts[DateFormatter.CLASS_COLUMN] = classes.value(classes.encode(parts[DateFormatter.CLASS_COLUMN]));
+            lines.add(parts); // Adiciona as partes à lista
+        });
+    }
+
+    /**
+     * Lê o CSV com a data e a classificação codificadas por dicionário ({@link EncodedRecords}):
+     * cada registro guarda só um código de 1 ou 2 bytes para elas, e a String de cada valor
+     * distinto existe uma única vez. Usado pelo main, com {@link #sortAllEncoded}.
+     *
+     * @param filePath O caminho do arquivo CSV.
+     * @return Os registros (incluindo o cabeçalho, como em readCSV).
+     * @throws IOException se o arquivo não puder ser lido.
+     */
+    public static EncodedRecords readCSVEncoded(String filePath) throws IOException {
+        EncodedRecords records = new EncodedRecords(DateFormatter.DATE_COLUMN, DateFormatter.CLASS_COLUMN);
+        readRecords(filePath, records::add);
+        return records;
+    }
+
+    /** Lê as linhas válidas do CSV (5 colunas ou mais), já separadas em campos, para o destino. */
+    private static void readRecords(String filePath, Consumer<String[]> sink) throws IOException {
+        // Aceita também entradas .gz (reconhecidas pelos bytes mágicos).
+        try (BufferedReader br = new BufferedReader(CompressedFiles.newReader(filePath))) {
             String line;
             while ((line = br.readLine()) != null) {
                 if (line.trim().isEmpty()) {
@@ -114,13 +464,106 @@ public class PasswordSorter {
                 String[] parts = parseCsvLine(line);
                 
                 if (parts != null && parts.length >= 5) {
-                    lines.add(parts); // Adiciona as partes ao MyDynamicArray
+                    sink.accept(parts);
                 } else {
                     System.err.println("Linha CSV inválida ignorada: " + line);
                 }
             }
         }
-        return lines; // Retorna o MyDynamicArray preenchido
+    }
+
+    /**
+     * Lê o CSV diretamente para uma {@link MyStringArena} (fora do heap), sem criar uma String
+     * por campo: os bytes de cada campo são copiados para a arena e o heap guarda apenas os
+     * handles (longs) em um {@link MyOffHeapRecords}. Usa as mesmas regras de readCSV (aspas
+     * removidas, linhas vazias puladas e linhas com menos de 5 colunas ignoradas). Usado só pela
+     * opção --offheap do main, com {@link #sortAllOffHeap}: o DateFormatter (e o pipeline do
+     * {@link Main}) continua lendo com o OpenCSV, que preserva as aspas escapadas ("") das senhas
+     * que estas regras descartam.
+     *
+     * @param filePath O caminho do arquivo CSV.
+     * @param arena A arena que recebe os campos; o chamador controla seu tempo de vida.
+     * @return Os registros (incluindo o cabeçalho, como em readCSV).
+     * @throws IOException se o arquivo não puder ser lido.
+     */
+    public static MyOffHeapRecords readCSVOffHeap(String filePath, MyStringArena arena) throws IOException {
+        final int columns = 5;
+        MyOffHeapRecords records = new MyOffHeapRecords(arena, columns,
+                estimateLineCount(Paths.get(CompressedFiles.resolveInput(filePath))));
+        long[] row = new long[columns];
+        byte[] field = new byte[256]; // Campo atual, já sem aspas
+        byte[] line = new byte[1024]; // Linha atual, só para a mensagem de erro
+        byte[] buffer = new byte[1 << 16];
+        try (InputStream in = CompressedFiles.openInput(filePath)) {
+            int position = 0;
+            int limit = 0;
+            int fieldLength = 0;
+            int lineLength = 0;
+            int column = 0;
+            boolean inQuotes = false;
+            boolean blank = true;
+            int b;
+            while (true) {
+                if (position == limit) {
+                    limit = in.read(buffer);
+                    position = 0;
+                }
+                b = limit <= 0 ? -1 : buffer[position++] & 0xff;
+                if (b == -1 || (b == '\n' && !inQuotes)) {
+                    if (!blank) {
+                        if (fieldLength > 0 && field[fieldLength - 1] == '\r') fieldLength--;
+                        if (column < columns) {
+                            row[column] = arena.append(field, 0, fieldLength);
+                        }
+                        column++;
+                        if (column >= columns) {
+                            records.addRow(row);
+                        } else {
+                            System.err.println("Linha CSV inválida ignorada: "
+                                    + new String(line, 0, lineLength, java.nio.charset.StandardCharsets.UTF_8));
+                        }
+                    }
+                    if (b == -1) break;
+                    fieldLength = 0;
+                    lineLength = 0;
+                    column = 0;
+                    inQuotes = false;
+                    blank = true;
+                    continue;
+                }
+                if (lineLength < line.length) line[lineLength++] = (byte) b;
+                if (b != ' ' && b != '\t' && b != '\r') blank = false;
+                if (b == '"') {
+                    inQuotes = !inQuotes; // As aspas são descartadas, como em parseCsvLine
+                } else if (b == ',' && !inQuotes) {
+                    if (column < columns) {
+                        row[column] = arena.append(field, 0, fieldLength);
+                    }
+                    column++;
+                    fieldLength = 0;
+                } else {
+                    if (fieldLength == field.length) field = Arrays.copyOf(field, field.length * 2);
+                    field[fieldLength++] = (byte) b;
+                }
+            }
+        }
+        return records;
+    }
+
+    // Tamanho médio aproximado, em bytes, de uma linha de "passwords_formated_data.csv".
+    private static final int ESTIMATED_BYTES_PER_LINE = 40;
+
+    /**
+     * Estima o número de linhas de um arquivo CSV a partir do seu tamanho.
+     * Uma estimativa alta desperdiça só referências vazias; uma baixa custa poucas duplicações.
+     */
+    static int estimateLineCount(Path path) {
+        try {
+            long estimate = Files.size(path) / ESTIMATED_BYTES_PER_LINE + 16;
+            return (int) Math.min(estimate, Integer.MAX_VALUE - 8);
+        } catch (IOException e) {
+            return 16; // O erro real aparece ao abrir o arquivo.
+        }
     }
 
     /**
@@ -128,7 +571,7 @@ public class PasswordSorter {
      * Parsea uma linha CSV manual (sem OpenCSV para esta parte).
      * Lida com aspas duplas e o separador.
      */
-    private static String[] parseCsvLine(String line) {
+    static String[] parseCsvLine(String line) {
         if (line.startsWith("\"") && line.endsWith("\"")) {
             line = line.substring(1, line.length() - 1);
         }
@@ -147,54 +590,195 @@ public class PasswordSorter {
      * Os campos serão unidos por ";".
      */
     public static void writeCSV(String nomeArquivo, String[][] dados) throws IOException {
-        try (BufferedWriter writer = Files.newBufferedWriter(Paths.get(nomeArquivo))) {
+        // Se o nome terminar em .gz, a saída é comprimida em blocos paralelos.
+        try (BufferedWriter writer = CompressedFiles.newWriter(Paths.get(nomeArquivo))) {
             for (String[] linha : dados) {
-                StringBuilder sb = new StringBuilder();
-                for (int i = 0; i < linha.length; i++) {
-                    sb.append("\"").append(linha[i].replace("\"", "\"\"")).append("\"");
-                    if (i < linha.length - 1) {
-                        sb.append(",");
-                    }
-                }
-                writer.write(sb.toString());
+                writer.write(toCsvLine(linha));
                 writer.newLine();
             }
         }
     }
+
+    /** Formata um registro como uma linha de writeCSV (campos entre aspas, separados por vírgula). */
+    static String toCsvLine(String[] linha) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < linha.length; i++) {
+            sb.append("\"").append(linha[i].replace("\"", "\"\"")).append("\"");
+            if (i < linha.length - 1) {
+                sb.append(",");
+            }
+        }
+        return sb.toString();
+    }
     
     /**
      * ALTERAÇÃO: PARÂMETRO 'dados' AGORA É MYDYNAMICARRAY
      * Direciona os dados para o algoritmo de ordenação apropriado com base no critério e algoritmo selecionados.
      * @param dados O MyDynamicArray de dados a serem ordenados.
      * @param algoritmo O nome do algoritmo de ordenação a ser usado.
-     * @param criterio O critério de ordenação (length, month, data).
+     * @param criterio O critério de ordenação (length, month, data) ou uma especificação composta
+     *                 ({@link SortSpec}, ex: "class,-data,length").
      */
     public static void sortData(MyDynamicArray<String[]> dados, String algoritmo, String criterio) {
+        // Especificações compostas ("class,-data,length") são ordenadas por chaves pré-calculadas.
+        if (SortSpec.isComposite(criterio)) {
+            sortComposite(dados, algoritmo, SortSpec.parse(criterio));
+            return;
+        }
+        switch (algoritmo) {
+            case "counting":
+                if (criterio.equals("length")) {
+                    countingSortLength(dados);
+                } else {
+                    System.err.println("Counting Sort só é aplicável para o critério 'length'.");
+                }
+                break;
+            case "auto": {
+                // Escolhe o algoritmo a partir de uma amostra dos dados (veja SortAlgorithmSelector).
+                SortAlgorithmSelector.Choice choice = SortAlgorithmSelector.choose(dados, criterio);
+                System.out.println("auto [" + criterio + "]: " + choice);
+                if (choice.getAlgorithm().equals("counting")) {
+                    countingSort(dados, criterio);
+                } else {
+                    sortData(dados, choice.getAlgorithm(), criterio);
+                }
+                break;
+            }
+            default:
+                if (criterio.equals("length")) {
+                    sortWith(dados, algoritmo, comparator(criterio));
+                } else {
+                    sortByDateCode(dados, algoritmo, criterio);
+                }
+        }
+    }
+
+    /**
+     * Ordena por mês ou por data comparando códigos em vez de Strings. A coluna de data é
+     * codificada por dicionário; só os valores distintos são convertidos e ordenados (com as mesmas
+     * regras de compareMonth e compareDate), e cada código recebe a sua posição nessa ordem, com
+     * posições iguais para valores empatados. Cada registro é decorado com a posição do seu código,
+     * e o algoritmo compara dois ints: o resultado de cada comparação, e portanto a ordem final e
+     * os contadores da instrumentação, são os mesmos da comparação das Strings.
+     * @param dados O MyDynamicArray de dados a serem ordenados.
+     * @param algoritmo O nome do algoritmo baseado em comparações.
+     * @param criterio "month" ou "data".
+     */
+    private static void sortByDateCode(MyDynamicArray<String[]> dados, String algoritmo, String criterio) {
+        MyDictionaryColumn dates = new MyDictionaryColumn(dados.size());
+        for (int i = 0; i < dados.size(); i++) {
+            dates.add(dados.get(i)[DateFormatter.DATE_COLUMN]);
+        }
+        int[] rank = dateRanks(dates, criterio);
+
+        MyDynamicArray<SortSpec.Keyed> coded = new MyDynamicArray<>(dados.size());
+        for (int i = 0; i < dados.size(); i++) {
+            coded.add(new SortSpec.Keyed(rank[dates.code(i)], null, dados.get(i)));
+        }
+        sortWith(coded, algoritmo, (a, b) -> {
+            if (SortCounters.enabled) SortCounters.countCompare();
+            return Long.compare(a.key, b.key);
+        });
+        for (int i = 0; i < coded.size(); i++) {
+            dados.set(i, coded.get(i).record);
+        }
+    }
+
+    /**
+     * Posição de cada código de data na ordem do critério (valores empatados têm a mesma posição).
+     * @throws RuntimeException nos mesmos casos em que compareMonth/compareDate lançariam.
+     */
+    private static int[] dateRanks(MyDictionaryColumn dates, String criterio) {
+        int distinct = dates.cardinality();
+        String[] dateKeys = new String[distinct];
+        int[] monthKeys = new int[distinct];
+        MyDynamicArray<Integer> order = new MyDynamicArray<>(distinct);
+        for (int code = 0; code < distinct; code++) {
+            String[] parts = dates.value(code).split("/");
+            if (criterio.equals("month")) {
+                monthKeys[code] = Integer.parseInt(parts[1]);
+            } else {
+                dateKeys[code] = String.format("%s%s%s", parts[2], parts[1], parts[0]);
+            }
+            order.add(code);
+        }
+        Comparator<Integer> byKey = criterio.equals("month")
+                ? (a, b) -> Integer.compare(monthKeys[a], monthKeys[b])
+                : (a, b) -> dateKeys[a].compareTo(dateKeys[b]);
+        order.sort(byKey);
+
+        int[] rank = new int[distinct];
+        int current = 0;
+        for (int i = 0; i < distinct; i++) {
+            if (i > 0 && byKey.compare(order.get(i - 1), order.get(i)) != 0) current++;
+            rank[order.get(i)] = current;
+        }
+        return rank;
+    }
+
+    /**
+     * Ordena por uma especificação composta em uma única passada: cada registro recebe a sua chave
+     * (empacotada em um long quando as larguras permitem) e o algoritmo escolhido ordena os
+     * registros decorados; no final, os registros voltam para 'dados' na nova ordem.
+     * @param dados O MyDynamicArray de dados a serem ordenados.
+     * @param algoritmo O nome do algoritmo (qualquer um de sortData, exceto counting).
+     * @param spec A especificação de ordenação.
+     */
+    public static void sortComposite(MyDynamicArray<String[]> dados, String algoritmo, SortSpec spec) {
+        if (algoritmo.equals("counting")) {
+            System.err.println("Counting Sort só é aplicável para o critério 'length'.");
+            return;
+        }
+        MyDynamicArray<SortSpec.Keyed> keyed = spec.decorate(dados);
+        boolean packed = SortSpec.isPacked(keyed);
+        if (algoritmo.equals("auto")) {
+            SortAlgorithmSelector.Choice choice = packed
+                    ? SortAlgorithmSelector.choose(keyed.size(), i -> keyed.get(i).key, false)
+                    : new SortAlgorithmSelector.Choice("merge", "chaves que não cabem em um long: cadeia de comparadores");
+            System.out.println("auto [" + spec + "]: " + choice);
+            algoritmo = choice.getAlgorithm();
+        }
+        sortWith(keyed, algoritmo, spec.comparator(packed));
+        for (int i = 0; i < keyed.size(); i++) {
+            dados.set(i, keyed.get(i).record);
+        }
+    }
+
+    /**
+     * Executa um algoritmo baseado em comparações sobre qualquer tipo de elemento.
+     * @param dados O MyDynamicArray a ser ordenado.
+     * @param algoritmo O nome do algoritmo.
+     * @param cmp O comparador.
+     */
+    private static <T> void sortWith(MyDynamicArray<T> dados, String algoritmo, Comparator<? super T> cmp) {
         switch (algoritmo) {
             case "insertion":
-                insertionSort(dados, criterio);
+                insertionSort(dados, cmp);
                 break;
             case "selection":
-                selectionSort(dados, criterio);
+                selectionSort(dados, cmp);
                 break;
             case "merge":
-                mergeSort(dados, criterio);
+                mergeSort(dados, cmp);
                 break;
             case "quick":
-                quickSort(dados, criterio, 0, dados.size() - 1);
+                quickSort(dados, cmp, 0, dados.size() - 1);
                 break;
             case "quickMediana":
-                quickSortMediana(dados, criterio, 0, dados.size() - 1);
-                break;
-            case "counting":
-                if (criterio.equals("length")) {
-                    countingSortLength(dados);
-                } else {
-                    System.err.println("Counting Sort só é aplicável para o critério 'length'.");
-                }
+                quickSortMediana(dados, cmp, 0, dados.size() - 1);
                 break;
             case "heap":
-                heapSort(dados, criterio);
+                heapSort(dados, cmp);
+                break;
+            case "heap4":
+                dAryHeapSort(dados, cmp, 4);
+                break;
+            case "heap8":
+                dAryHeapSort(dados, cmp, 8);
+                break;
+            case "tim":
+                // Ordenação estável in-place diretamente no array interno do MyDynamicArray.
+                dados.sort(cmp);
                 break;
             default:
                 throw new IllegalArgumentException("Algoritmo de ordenação inválido: " + algoritmo);
@@ -207,7 +791,7 @@ public class PasswordSorter {
      */
     public static boolean isAlgoritmoValido(String algoritmo, String criterio) {
         return switch (algoritmo) {
-            case "insertion", "selection", "merge", "quick", "heap" -> true;
+            case "insertion", "selection", "merge", "quick", "heap", "heap4", "heap8", "tim", "auto" -> true;
             case "quickMediana" -> !criterio.equals("data");
             case "counting" -> criterio.equals("length");
             default -> false;
@@ -246,30 +830,68 @@ public class PasswordSorter {
      * @param i O índice do primeiro elemento.
      * @param j O índice do segundo elemento.
      */
-    private static void swap(MyDynamicArray<String[]> array, int i, int j) {
-        String[] temp = array.get(i); // Obtém o elemento no índice i
-        array.set(i, array.get(j));   // Define o elemento no índice i com o elemento no índice j
-        array.set(j, temp);           // Define o elemento no índice j com o elemento temporário
+    private static <T> void swap(MyDynamicArray<T> array, int i, int j) {
+        if (SortCounters.enabled) SortCounters.countSwap();
+        array.swap(i, j); // Troca direta no array interno do MyDynamicArray
+    }
+
+    /** Move um registro para a posição i (MyDynamicArray.set), contando o movimento na instrumentação. */
+    private static <T> void move(MyDynamicArray<T> array, int i, T value) {
+        if (SortCounters.enabled) SortCounters.countMove();
+        array.set(i, value);
+    }
+
+    /** Variante de move para as visões usadas pelo Merge Sort. */
+    private static <T> void move(MyDynamicArray<T>.View view, int i, T value) {
+        if (SortCounters.enabled) SortCounters.countMove();
+        view.set(i, value);
     }
 
     // === ALGORITMOS DE ORDENAÇÃO (OPERANDO EM MYDYNAMICARRAY) ===
+    // Os algoritmos recebem um comparador, para ordenar tanto os registros (comparator(criterio))
+    // quanto os registros decorados de uma especificação composta (SortSpec). As versões por
+    // critério abaixo mantêm a API original e aceitam também especificações compostas.
+
+    public static void insertionSort(MyDynamicArray<String[]> array, String criterio) {
+        insertionSort(array, comparator(criterio));
+    }
+
+    public static void selectionSort(MyDynamicArray<String[]> array, String criterio) {
+        selectionSort(array, comparator(criterio));
+    }
+
+    public static void mergeSort(MyDynamicArray<String[]> array, String criterio) {
+        mergeSort(array, comparator(criterio));
+    }
+
+    public static void quickSort(MyDynamicArray<String[]> array, String criterio, int low, int high) {
+        quickSort(array, comparator(criterio), low, high);
+    }
+
+    public static void quickSortMediana(MyDynamicArray<String[]> array, String criterio, int low, int high) {
+        quickSortMediana(array, comparator(criterio), low, high);
+    }
+
+    public static void heapSort(MyDynamicArray<String[]> array, String criterio) {
+        heapSort(array, comparator(criterio));
+    }
 
     /**
      * ALTERAÇÃO: insertionSort ADAPTADO PARA MYDYNAMICARRAY
      * Implementa o algoritmo Insertion Sort para um MyDynamicArray.
      * @param array O MyDynamicArray a ser ordenado.
-     * @param criterio O critério de ordenação.
+     * @param cmp O comparador (veja comparator(criterio)).
      */
-    public static void insertionSort(MyDynamicArray<String[]> array, String criterio) {
+    public static <T> void insertionSort(MyDynamicArray<T> array, Comparator<? super T> cmp) {
         for (int i = 1; i < array.size(); i++) { // Usa array.size() para o tamanho
-            String[] key = array.get(i); // Obtém o elemento 'chave'
+            T key = array.get(i); // Obtém o elemento 'chave'
             int j = i - 1;
             // Usa array.get() para comparar elementos e array.set() para mover
-            while (j >= 0 && compare(array.get(j), key, criterio) > 0) {
-                array.set(j + 1, array.get(j));
+            while (j >= 0 && cmp.compare(array.get(j), key) > 0) {
+                move(array, j + 1, array.get(j));
                 j--;
             }
-            array.set(j + 1, key);
+            move(array, j + 1, key);
         }
     }
 
@@ -277,13 +899,13 @@ public class PasswordSorter {
      * ALTERAÇÃO: selectionSort ADAPTADO PARA MYDYNAMICARRAY
      * Implementa o algoritmo Selection Sort para um MyDynamicArray.
      * @param array O MyDynamicArray a ser ordenado.
-     * @param criterio O critério de ordenação.
+     * @param cmp O comparador (veja comparator(criterio)).
      */
-    public static void selectionSort(MyDynamicArray<String[]> array, String criterio) {
+    public static <T> void selectionSort(MyDynamicArray<T> array, Comparator<? super T> cmp) {
         for (int i = 0; i < array.size() - 1; i++) { // Usa array.size()
             int minIdx = i;
             for (int j = i + 1; j < array.size(); j++) { // Usa array.size()
-                if (compare(array.get(j), array.get(minIdx), criterio) < 0) {
+                if (cmp.compare(array.get(j), array.get(minIdx)) < 0) {
                     minIdx = j;
                 }
             }
@@ -296,66 +918,71 @@ public class PasswordSorter {
     /**
      * ALTERAÇÃO: mergeSort ADAPTADO PARA MYDYNAMICARRAY
      * Implementa o algoritmo Merge Sort para um MyDynamicArray.
-     * A divisão dos sub-arrays agora cria novos MyDynamicArray.
+     * As metades são visões (subView) que compartilham o array interno, então a divisão não copia
+     * elementos; a intercalação usa um único buffer auxiliar, alocado uma vez para toda a ordenação.
      * @param array O MyDynamicArray a ser ordenado.
-     * @param criterio O critério de ordenação.
+     * @param cmp O comparador (veja comparator(criterio)).
      */
-    public static void mergeSort(MyDynamicArray<String[]> array, String criterio) {
+    public static <T> void mergeSort(MyDynamicArray<T> array, Comparator<? super T> cmp) {
         if (array.size() <= 1) return;
-        int mid = array.size() / 2;
-
-        // ALTERAÇÃO: CRIAÇÃO DE SUB-ARRAYS SEM ClassCastException
-        // Popula os MyDynamicArray 'left' e 'right' diretamente do 'array' principal
-        // Isso evita o ClassCastException que ocorria ao tentar converter Object[] para String[][]
-        MyDynamicArray<String[]> left = new MyDynamicArray<>();
-        for(int i = 0; i < mid; i++) {
-            left.add(array.get(i)); 
-        }
-
-        MyDynamicArray<String[]> right = new MyDynamicArray<>();
-        for(int i = mid; i < array.size(); i++) { 
-            right.add(array.get(i));
-        }
+        MyDynamicArray<T> aux = new MyDynamicArray<>(array.size());
+        aux.addAll(array);
+        mergeSort(array.subView(0, array.size()), aux.subView(0, aux.size()), cmp);
+    }
 
-        mergeSort(left, criterio);
-        mergeSort(right, criterio);
-        merge(array, left, right, criterio);
+    /**
+     * Merge Sort recursivo sobre uma visão, usando a visão correspondente do buffer auxiliar.
+     */
+    private static <T> void mergeSort(MyDynamicArray<T>.View range, MyDynamicArray<T>.View aux, Comparator<? super T> cmp) {
+        if (range.size() <= 1) return;
+        if (SortCounters.enabled) SortCounters.enter();
+        int mid = range.size() / 2;
+        mergeSort(range.subView(0, mid), aux.subView(0, mid), cmp);
+        mergeSort(range.subView(mid, range.size()), aux.subView(mid, range.size()), cmp);
+        merge(range, aux, mid, cmp);
+        if (SortCounters.enabled) SortCounters.exit();
     }
 
     /**
-     * ALTERAÇÃO: merge ADAPTADO PARA MYDYNAMICARRAY
-     * Combina dois MyDynamicArray ordenados em um único MyDynamicArray.
-     * @param array O MyDynamicArray resultante da fusão.
-     * @param left O MyDynamicArray da metade esquerda.
-     * @param right O MyDynamicArray da metade direita.
-     * @param criterio O critério de ordenação.
+     * ALTERAÇÃO: merge ADAPTADO PARA VISÕES DE MYDYNAMICARRAY
+     * Combina as duas metades ordenadas [0, mid) e [mid, size) de uma visão.
+     * @param range A visão cujas metades serão intercaladas.
+     * @param aux Visão do buffer auxiliar, do mesmo tamanho.
+     * @param mid O início da metade direita.
+     * @param cmp O comparador (veja comparator(criterio)).
      */
-    public static void merge(MyDynamicArray<String[]> array, MyDynamicArray<String[]> left, MyDynamicArray<String[]> right, String criterio) {
-        int i = 0, j = 0, k = 0;
-        while (i < left.size() && j < right.size()) {
-            if (compare(left.get(i), right.get(j), criterio) <= 0) {
-                array.set(k++, left.get(i++));
+    public static <T> void merge(MyDynamicArray<T>.View range, MyDynamicArray<T>.View aux, int mid, Comparator<? super T> cmp) {
+        int n = range.size();
+        for (int i = 0; i < n; i++) {
+            move(aux, i, range.get(i));
+        }
+        int i = 0, j = mid, k = 0;
+        while (i < mid && j < n) {
+            if (cmp.compare(aux.get(i), aux.get(j)) <= 0) {
+                move(range, k++, aux.get(i++));
             } else {
-                array.set(k++, right.get(j++));
+                move(range, k++, aux.get(j++));
             }
         }
-        while (i < left.size()) array.set(k++, left.get(i++));
-        while (j < right.size()) array.set(k++, right.get(j++));
+        while (i < mid) move(range, k++, aux.get(i++));
+        // O restante da metade direita já está na posição final.
     }
 
     /**
      * ALTERAÇÃO: quickSort ADAPTADO PARA MYDYNAMICARRAY
      * Implementa o algoritmo Quick Sort para um MyDynamicArray.
      * @param array O MyDynamicArray a ser ordenado.
-     * @param criterio O critério de ordenação.
+     * @param cmp O comparador (veja comparator(criterio)).
      * @param low O índice inicial.
      * @param high O índice final.
      */
-    public static void quickSort(MyDynamicArray<String[]> array, String criterio, int low, int high) {
+    public static <T> void quickSort(MyDynamicArray<T> array, Comparator<? super T> cmp, int low, int high) {
         if (low < high) {
-            int pi = partition(array, criterio, low, high);
-            quickSort(array, criterio, low, pi - 1);
-            quickSort(array, criterio, pi + 1, high);
+            if (SortCounters.enabled) SortCounters.enter();
+            int pi = partition(array, cmp, low, high);
+            quickSort(array, cmp, low, pi - 1);
+            quickSort(array, cmp, pi + 1, high);
+            if (SortCounters.enabled) SortCounters.exit();
         }
     }
 
@@ -363,16 +990,16 @@ public class PasswordSorter {
      * ALTERAÇÃO: partition ADAPTADO PARA MYDYNAMICARRAY
      * Implementa a função de partição para o Quick Sort em um MyDynamicArray.
      * @param array O MyDynamicArray a ser particionado.
-     * @param criterio O critério de ordenação.
+     * @param cmp O comparador (veja comparator(criterio)).
      * @param low O índice inicial.
      * @param high O índice final.
      * @return O índice do pivô após a partição.
      */
-    public static int partition(MyDynamicArray<String[]> array, String criterio, int low, int high) {
-        String[] pivot = array.get(high);
+    public static <T> int partition(MyDynamicArray<T> array, Comparator<? super T> cmp, int low, int high) {
+        T pivot = array.get(high);
         int i = low - 1;
         for (int j = low; j < high; j++) {
-            if (compare(array.get(j), pivot, criterio) <= 0) {
+            if (cmp.compare(array.get(j), pivot) <= 0) {
                 i++;
                 swap(array, i, j);
             }
@@ -385,15 +1012,17 @@ public class PasswordSorter {
      * ALTERAÇÃO: quickSortMediana ADAPTADO PARA MYDYNAMICARRAY
      * Implementa o algoritmo Quick Sort com pivô de mediana de três para um MyDynamicArray.
      * @param array O MyDynamicArray a ser ordenado.
-     * @param criterio O critério de ordenação.
+     * @param cmp O comparador (veja comparator(criterio)).
      * @param low O índice inicial.
      * @param high O índice final.
      */
-    public static void quickSortMediana(MyDynamicArray<String[]> array, String criterio, int low, int high) {
+    public static <T> void quickSortMediana(MyDynamicArray<T> array, Comparator<? super T> cmp, int low, int high) {
         if (low < high) {
-            int pi = partitionMediana(array, criterio, low, high);
-            quickSortMediana(array, criterio, low, pi - 1);
-            quickSortMediana(array, criterio, pi + 1, high);
+            if (SortCounters.enabled) SortCounters.enter();
+            int pi = partitionMediana(array, cmp, low, high);
+            quickSortMediana(array, cmp, low, pi - 1);
+            quickSortMediana(array, cmp, pi + 1, high);
+            if (SortCounters.enabled) SortCounters.exit();
         }
     }
 
@@ -401,26 +1030,26 @@ public class PasswordSorter {
      * ALTERAÇÃO: partitionMediana ADAPTADO PARA MYDYNAMICARRAY
      * Implementa a função de partição com mediana de três para o Quick Sort em um MyDynamicArray.
      * @param array O MyDynamicArray a ser particionado.
-     * @param criterio O critério de ordenação.
+     * @param cmp O comparador (veja comparator(criterio)).
      * @param low O índice inicial.
      * @param high O índice final.
      * @return O índice do pivô após a partição.
      */
-    public static int partitionMediana(MyDynamicArray<String[]> array, String criterio, int low, int high) {
+    public static <T> int partitionMediana(MyDynamicArray<T> array, Comparator<? super T> cmp, int low, int high) {
         int mid = (low + high) / 2;
         
-        String[] a = array.get(low);
-        String[] b = array.get(mid);
-        String[] c = array.get(high);
+        T a = array.get(low);
+        T b = array.get(mid);
+        T c = array.get(high);
         
-        String[] pivot;
-        if (compare(a, b, criterio) < 0) {
-            if (compare(b, c, criterio) < 0) pivot = b;
-            else if (compare(a, c, criterio) < 0) pivot = c;
+        T pivot;
+        if (cmp.compare(a, b) < 0) {
+            if (cmp.compare(b, c) < 0) pivot = b;
+            else if (cmp.compare(a, c) < 0) pivot = c;
             else pivot = a;
         } else {
-            if (compare(a, c, criterio) < 0) pivot = a;
-            else if (compare(b, c, criterio) < 0) pivot = c;
+            if (cmp.compare(a, c) < 0) pivot = a;
+            else if (cmp.compare(b, c) < 0) pivot = c;
             else pivot = b;
         }
 
@@ -435,7 +1064,7 @@ public class PasswordSorter {
             swap(array, pivotIndex, high);
         }
         
-        return partition(array, criterio, low, high);
+        return partition(array, cmp, low, high);
     }
 
     /**
@@ -448,13 +1077,30 @@ public class PasswordSorter {
         // PROBLEMA RESOLVIDO: Counting Sort sem uso de Listas nativas para buckets.
         // JUSTIFICATIVA: MySinglyLinkedList é usada para os buckets, permitindo lidar com múltiplos
         // elementos tendo o mesmo "length" (colisões) de forma eficiente, sem usar ArrayList.
+        countingSort(array, "length");
+    }
+
+    /**
+     * Counting Sort pelas chaves inteiras de um critério de faixa pequena (length ou month).
+     * Usado diretamente por countingSortLength e pelo modo "auto" quando a faixa de chaves é pequena.
+     * @param array O MyDynamicArray a ser ordenado.
+     * @param criterio O critério de ordenação (length ou month).
+     */
+    static void countingSort(MyDynamicArray<String[]> array, String criterio) {
         if (array.size() == 0) return;
 
-        int minLength = Integer.parseInt(array.get(0)[2]);
-        int maxLength = Integer.parseInt(array.get(0)[2]);
+        // As chaves são convertidas uma única vez para um MyIntArray (sem boxing),
+        // em vez de chamar Integer.parseInt em cada uma das duas passagens.
+        MyIntArray lengths = new MyIntArray(array.size());
+        for (int i = 0; i < array.size(); i++) {
+            lengths.add((int) SortAlgorithmSelector.key(array.get(i), criterio));
+        }
+
+        int minLength = lengths.getUnchecked(0);
+        int maxLength = lengths.getUnchecked(0);
 
-        for (int i = 1; i < array.size(); i++) {
-            int currentLength = Integer.parseInt(array.get(i)[2]);
+        for (int i = 1; i < lengths.size(); i++) {
+            int currentLength = lengths.getUnchecked(i);
             if (currentLength < minLength) minLength = currentLength;
             if (currentLength > maxLength) maxLength = currentLength;
         }
@@ -465,7 +1111,7 @@ public class PasswordSorter {
         // Cria um array de MySinglyLinkedLists, onde cada MySinglyLinkedList é um "bucket"
         // para armazenar os elementos com um determinado comprimento.
         @SuppressWarnings("unchecked")
-        MySinglyLinkedList<String[]>[] buckets = new MySinglyLinkedList[range];
+        MySinglyLinkedList<String[]>[] buckets = (MySinglyLinkedList<String[]>[]) new MySinglyLinkedList<?>[range];
         
         // Inicializa cada MySinglyLinkedList em cada posição do array de buckets.
         for (int i = 0; i < range; i++) {
@@ -475,7 +1121,7 @@ public class PasswordSorter {
         // Distribui os elementos do MyDynamicArray de entrada nos buckets apropriados.
         for (int i = 0; i < array.size(); i++) {
             String[] element = array.get(i);
-            int length = Integer.parseInt(element[2]);
+            int length = lengths.getUnchecked(i);
             buckets[length - minLength].add(element); // Adiciona o elemento ao MySinglyLinkedList no bucket
         }
 
@@ -486,7 +1132,7 @@ public class PasswordSorter {
         for (MySinglyLinkedList<String[]> bucket : buckets) {
             // O loop interno também funciona porque MySinglyLinkedList é iterável.
             for (String[] element : bucket) {
-                array.set(currentArrayIndex++, element); // Define o elemento no MyDynamicArray
+                move(array, currentArrayIndex++, element); // Define o elemento no MyDynamicArray
             }
         }
     }
@@ -495,18 +1141,18 @@ public class PasswordSorter {
      * ALTERAÇÃO: heapSort ADAPTADO PARA MYDYNAMICARRAY
      * Implementa o algoritmo Heap Sort para um MyDynamicArray.
      * @param array O MyDynamicArray a ser ordenado.
-     * @param criterio O critério de ordenação.
+     * @param cmp O comparador (veja comparator(criterio)).
      */
-    public static void heapSort(MyDynamicArray<String[]> array, String criterio) {
+    public static <T> void heapSort(MyDynamicArray<T> array, Comparator<? super T> cmp) {
         int n = array.size(); // Usa array.size()
         // Constrói o heap (reorganiza o array)
         for (int i = n / 2 - 1; i >= 0; i--) {
-            heapify(array, n, i, criterio);
+            heapify(array, n, i, cmp);
         }
         // Extrai elementos um por um do heap
         for (int i = n - 1; i > 0; i--) {
             swap(array, 0, i); // Usa o método swap customizado
-            heapify(array, i, 0, criterio);
+            heapify(array, i, 0, cmp);
         }
     }
 
@@ -516,32 +1162,110 @@ public class PasswordSorter {
      * @param array O MyDynamicArray sendo heapificado.
      * @param n O tamanho atual do heap.
      * @param i O índice raiz da sub-árvore.
-     * @param criterio O critério de ordenação.
+     * @param cmp O comparador (veja comparator(criterio)).
      */
-    public static void heapify(MyDynamicArray<String[]> array, int n, int i, String criterio) {
+    public static <T> void heapify(MyDynamicArray<T> array, int n, int i, Comparator<? super T> cmp) {
+        if (SortCounters.enabled) SortCounters.enter();
         int largest = i; // Inicializa largest como raiz
         int l = 2 * i + 1; // filho esquerdo = 2*i + 1
         int r = 2 * i + 2; // filho direito = 2*i + 2
 
         // Compara com o filho esquerdo
-        if (l < n && compare(array.get(l), array.get(largest), criterio) > 0) {
+        if (l < n && cmp.compare(array.get(l), array.get(largest)) > 0) {
             largest = l;
         }
 
         // Compara com o filho direito
-        if (r < n && compare(array.get(r), array.get(largest), criterio) > 0) {
+        if (r < n && cmp.compare(array.get(r), array.get(largest)) > 0) {
             largest = r;
         }
 
         // Se o maior não for a raiz, troca e continua heapificando
         if (largest != i) {
             swap(array, i, largest); // Usa o método swap customizado
-            heapify(array, n, largest, criterio);
+            heapify(array, n, largest, cmp);
+        }
+        if (SortCounters.enabled) SortCounters.exit();
+    }
+
+    /**
+     * Heap Sort iterativo com heap d-ário e a estratégia de baixo para cima de Floyd.
+     *
+     * Em relação a heapSort/heapify: não há recursão; cada nó tem {@code arity} filhos, então a árvore
+     * tem log_d(n) níveis e os filhos de um nó ficam lado a lado no array (um heap de 4 ou 8 filhos
+     * percorre bem menos linhas de cache); e a descida não compara o elemento que está afundando com
+     * os filhos a cada nível. Ela só escolhe o maior filho e o sobe, abrindo um buraco até uma folha
+     * (d - 1 comparações por nível), e então o elemento sobe a partir da folha até a sua posição,
+     * o que costuma custar uma ou duas comparações, já que quase sempre ele pertence perto do fundo.
+     *
+     * @param array O MyDynamicArray a ser ordenado.
+     * @param cmp O comparador (veja comparator(criterio)).
+     * @param arity O número de filhos de cada nó (2 ou mais; "heap4" e "heap8" em sortData).
+     * @throws IllegalArgumentException se arity for menor que 2.
+     */
+    public static <T> void dAryHeapSort(MyDynamicArray<T> array, Comparator<? super T> cmp, int arity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("Aridade do heap inválida: " + arity);
+        }
+        int n = array.size();
+        // Constrói o heap, do último nó interno até a raiz
+        for (int i = (n - 2) / arity; i >= 0 && n > 1; i--) {
+            siftDownBottomUp(array, i, n, array.get(i), arity, cmp);
+        }
+        // Extrai o maior: ele vai para o fim e o último elemento é reinserido a partir da raiz
+        for (int end = n - 1; end > 0; end--) {
+            T last = array.get(end);
+            move(array, end, array.get(0));
+            siftDownBottomUp(array, 0, end, last, arity, cmp);
+        }
+    }
+
+    /**
+     * Coloca {@code item} na sub-árvore de {@code root} (cuja posição está livre) de um heap de
+     * tamanho n: desce o buraco até uma folha pelo maior filho e sobe o item a partir dela.
+     */
+    private static <T> void siftDownBottomUp(MyDynamicArray<T> array, int root, int n, T item, int arity,
+                                             Comparator<? super T> cmp) {
+        int hole = root;
+        int child;
+        while ((child = arity * hole + 1) < n) {
+            int last = Math.min(child + arity, n);
+            int largest = child;
+            for (int c = child + 1; c < last; c++) {
+                if (cmp.compare(array.get(c), array.get(largest)) > 0) {
+                    largest = c;
+                }
+            }
+            move(array, hole, array.get(largest));
+            hole = largest;
+        }
+        while (hole > root) {
+            int parent = (hole - 1) / arity;
+            if (cmp.compare(item, array.get(parent)) <= 0) {
+                break;
+            }
+            move(array, hole, array.get(parent));
+            hole = parent;
+        }
+        move(array, hole, item);
+    }
+
+    /**
+     * Retorna o comparador de registros para um critério, para uso com MyDynamicArray.sort.
+     * @param criterio O critério de ordenação (length, month, data) ou uma especificação composta.
+     * @return O comparador.
+     */
+    public static Comparator<String[]> comparator(String criterio) {
+        if (SortSpec.isComposite(criterio)) {
+            // Sem chaves pré-calculadas: a cadeia converte os campos a cada comparação.
+            return SortSpec.parse(criterio).recordComparator();
         }
+        return (o1, o2) -> compare(o1, o2, criterio);
     }
 
     /** Permanece inalterado. Método central de comparação. */
     private static int compare(String[] o1, String[] o2, String criterio) {
+        if (SortCounters.enabled) SortCounters.countCompare();
         switch (criterio) {
             case "length": return compareLength(o1, o2);
             case "month": return compareMonth(o1, o2);
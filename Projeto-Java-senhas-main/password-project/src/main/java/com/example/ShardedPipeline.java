@@ -0,0 +1,415 @@
+package com.example;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import com.opencsv.CSVWriter;
+
+import com.example.datastructures.MyDynamicArray;
+import com.example.datastructures.MyHashMap;
+
+/**
+ * Pipeline sobre uma entrada dividida em vários arquivos CSV (shards), como um diretório ou um
+ * glob ({@code dados/parte-*.csv.gz}), em vez de um único passwords.csv.
+ *
+ * Cada shard passa sozinho, em uma tarefa própria, por classificação, formatação das datas e
+ * ordenação por cada critério, e grava os seus resultados em {@code shards/<nnnn>_<nome>/} no
+ * diretório de saída. Os shards não dependem uns dos outros, então com um pool de threads eles
+ * rodam em paralelo, um por núcleo. A classificação dos shards não imprime a análise de cada
+ * senha: as tarefas não disputam o lock do System.out.
+ *
+ * Depois, os resultados são combinados nos arquivos globais:
+ * <ul>
+ *   <li>as contagens por classificação (uma MyHashMap por shard) são somadas;</li>
+ *   <li>password_classifier.csv, passwords_formated_data.csv e passwords_classifier.csv são a
+ *       concatenação dos arquivos dos shards, na ordem dos shards;</li>
+ *   <li>{@code passwords_<criterio>_<algoritmo>.csv} é a intercalação de k vias dos arquivos
+ *       ordenados dos shards, lidos em fluxo, com um heap das linhas atuais de cada shard. Nos
+ *       empates vence o shard anterior, então o resultado é o de uma ordenação estável de todos os
+ *       registros na ordem dos shards.</li>
+ * </ul>
+ * As combinações também rodam em paralelo (uma tarefa por arquivo global) e só guardam em
+ * memória uma linha por shard.
+ */
+public final class ShardedPipeline {
+    static final String SHARDS_DIR = "shards";
+
+    /** O resultado do processamento de um shard. */
+    private static final class ShardResult {
+        final Path directory;
+        final String[] header;
+        final MyHashMap<String, Integer> counts;
+        final int records;
+
+        ShardResult(Path directory, String[] header, MyHashMap<String, Integer> counts, int records) {
+            this.directory = directory;
+            this.header = header;
+            this.counts = counts;
+            this.records = records;
+        }
+    }
+
+    private final MyDynamicArray<Path> shards;
+    private final String outputDir;
+    private final String algorithm;
+    private final ExecutorService executor;
+    private MyDynamicArray<ShardResult> results;
+
+    /**
+     * @param shards Os arquivos de entrada, na ordem em que os seus registros devem ser combinados.
+     * @param outputDir O diretório de saída.
+     * @param algorithm O algoritmo da ordenação de cada shard (qualquer um de PasswordSorter.sortData).
+     * @param executor Pool de threads para processar os shards em paralelo; null processa em sequência.
+     */
+    public ShardedPipeline(MyDynamicArray<Path> shards, String outputDir, String algorithm, ExecutorService executor) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("Nenhum shard de entrada.");
+        }
+        this.shards = shards;
+        this.outputDir = outputDir;
+        this.algorithm = algorithm;
+        this.executor = executor;
+    }
+
+    /**
+     * Encontra os shards de uma especificação: um diretório (todos os .csv e .csv.gz dele), um
+     * glob ({@code *}, {@code ?}, {@code [...]}, {@code {a,b}}; {@code **} atravessa diretórios)
+     * ou um único arquivo. Os shards são ordenados pelo caminho.
+     *
+     * @param spec O diretório, glob ou arquivo.
+     * @return Os arquivos encontrados.
+     * @throws IOException se nenhum arquivo for encontrado ou o diretório não puder ser lido.
+     */
+    public static MyDynamicArray<Path> resolveShards(String spec) throws IOException {
+        MyDynamicArray<Path> found = new MyDynamicArray<>();
+        int wildcard = firstWildcard(spec);
+        if (wildcard < 0) {
+            Path path = Paths.get(spec);
+            if (Files.isDirectory(path)) {
+                try (Stream<Path> files = Files.list(path)) {
+                    files.filter(Files::isRegularFile)
+                            .filter(p -> {
+                                String name = p.getFileName().toString();
+                                return name.endsWith(".csv") || name.endsWith(".csv" + CompressedFiles.GZIP_SUFFIX);
+                            })
+                            .forEach(found::add);
+                }
+            } else if (Files.isRegularFile(path)) {
+                found.add(path);
+            }
+        } else {
+            int separator = Math.max(spec.lastIndexOf('/', wildcard), spec.lastIndexOf('\\', wildcard));
+            Path base = separator < 0 ? Paths.get(".") : Paths.get(separator == 0 ? "/" : spec.substring(0, separator));
+            String pattern = spec.substring(separator + 1);
+            PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern);
+            // Sem "**", o glob não atravessa diretórios: basta descer tantos níveis quanto o padrão tem.
+            int depth = pattern.contains("**") ? Integer.MAX_VALUE : pattern.split("[/\\\\]").length;
+            if (Files.isDirectory(base)) {
+                try (Stream<Path> files = Files.walk(base, depth)) {
+                    files.filter(Files::isRegularFile)
+                            .filter(p -> matcher.matches(base.relativize(p)))
+                            .forEach(found::add);
+                }
+            }
+        }
+        if (found.isEmpty()) {
+            throw new IOException("Nenhum shard encontrado em: " + spec);
+        }
+        found.sort(Comparator.naturalOrder());
+        return found;
+    }
+
+    /**
+     * Processa cada shard (classificação, formatação e ordenação), em paralelo se houver pool.
+     *
+     * @throws Exception se algum shard falhar.
+     */
+    public void processShards() throws Exception {
+        Files.createDirectories(Paths.get(outputDir, SHARDS_DIR));
+        results = new MyDynamicArray<>(shards.size());
+        if (executor == null) {
+            for (int i = 0; i < shards.size(); i++) {
+                results.add(processShard(i));
+            }
+        } else {
+            MyDynamicArray<Future<ShardResult>> pending = new MyDynamicArray<>(shards.size());
+            for (int i = 0; i < shards.size(); i++) {
+                int index = i;
+                pending.add(executor.submit(() -> processShard(index)));
+            }
+            for (int i = 0; i < pending.size(); i++) {
+                results.add(await(pending.get(i)));
+            }
+        }
+
+        String[] header = results.get(0).header;
+        for (int i = 1; i < results.size(); i++) {
+            if (!Arrays.equals(header, results.get(i).header)) {
+                throw new IOException("O shard " + shards.get(i) + " tem um cabeçalho diferente do de " + shards.get(0));
+            }
+        }
+    }
+
+    /**
+     * Combina os resultados dos shards nos arquivos globais e imprime o resumo.
+     *
+     * @throws Exception se alguma combinação falhar.
+     */
+    public void combine() throws Exception {
+        if (results == null) {
+            throw new IllegalStateException("processShards() precisa rodar antes de combine().");
+        }
+        MyHashMap<String, Integer> counts = new MyHashMap<>();
+        int records = 0;
+        for (int i = 0; i < results.size(); i++) {
+            results.get(i).counts.forEach((label, count) -> {
+                Integer total = counts.get(label);
+                counts.put(label, total == null ? count : total + count);
+            });
+            records += results.get(i).records;
+        }
+
+        MyDynamicArray<StageMetrics.Stage> merges = new MyDynamicArray<>();
+        for (String file : new String[] { Main.CLASSIFIED_FILE, Main.FORMATTED_FILE, Main.FILTERED_FILE }) {
+            String name = CompressedFiles.outputName(file);
+            merges.add(() -> concatenate(shardFiles(name), Paths.get(outputDir, name)));
+        }
+        for (String criterio : PasswordSorter.CRITERIOS) {
+            if (!PasswordSorter.isAlgoritmoValido(algorithm, criterio)) continue;
+            String name = sortedName(criterio);
+            Comparator<String[]> cmp = PasswordSorter.comparator(criterio);
+            merges.add(() -> mergeSorted(shardFiles(name), Paths.get(outputDir, name), cmp));
+        }
+        if (executor == null) {
+            for (int i = 0; i < merges.size(); i++) {
+                merges.get(i).run();
+            }
+        } else {
+            MyDynamicArray<Future<Void>> pending = new MyDynamicArray<>(merges.size());
+            for (int i = 0; i < merges.size(); i++) {
+                StageMetrics.Stage merge = merges.get(i);
+                pending.add(executor.submit(() -> {
+                    merge.run();
+                    return null;
+                }));
+            }
+            for (int i = 0; i < pending.size(); i++) {
+                await(pending.get(i));
+            }
+        }
+
+        PasswordClassifier.printSummary(counts);
+        System.out.println("Shards: " + shards.size() + " | registros: " + records + " | arquivos globais: "
+                + merges.size() + " (ordenação por shard: " + algorithm + ")");
+    }
+
+    /** Classifica, formata e ordena um shard, gravando os resultados no seu diretório. */
+    private ShardResult processShard(int index) throws Exception {
+        Path shard = shards.get(index);
+        Path directory = Paths.get(outputDir, SHARDS_DIR, String.format("%04d_%s", index, baseName(shard)));
+        Files.createDirectories(directory);
+
+        MyDynamicArray<String[]> rows = Main.readRows(CompressedFiles.newReader(shard.toString()));
+        if (rows.isEmpty()) {
+            throw new IOException("Shard vazio (sem cabeçalho): " + shard);
+        }
+        MyHashMap<String, Integer> counts = new MyHashMap<>();
+        MyDynamicArray<String[]> classified = PasswordClassifier.classifyRecords(rows, counts, null, null, false);
+        String[] header = classified.get(0);
+        MyDynamicArray<String[]> records = new MyDynamicArray<>(classified.size());
+        for (int i = 1; i < classified.size(); i++) {
+            records.add(classified.get(i));
+        }
+        writeRows(directory.resolve(CompressedFiles.outputName(Main.CLASSIFIED_FILE)), header, records);
+
+        MyDynamicArray<String[]> formatted = new MyDynamicArray<>(records.size());
+        MyDynamicArray<String[]> filtered = new MyDynamicArray<>();
+        DateFormatter.formatRecords(records, formatted, filtered);
+        writeRows(directory.resolve(CompressedFiles.outputName(Main.FORMATTED_FILE)), header, formatted);
+        writeRows(directory.resolve(CompressedFiles.outputName(Main.FILTERED_FILE)), header, filtered);
+
+        for (String criterio : PasswordSorter.CRITERIOS) {
+            if (!PasswordSorter.isAlgoritmoValido(algorithm, criterio)) continue;
+            MyDynamicArray<String[]> sorted = new MyDynamicArray<>(formatted.size());
+            for (int i = 0; i < formatted.size(); i++) {
+                sorted.add(formatted.get(i));
+            }
+            PasswordSorter.sortData(sorted, algorithm, criterio);
+            String[][] output = new String[sorted.size() + 1][];
+            output[0] = header;
+            for (int i = 0; i < sorted.size(); i++) {
+                output[i + 1] = sorted.get(i);
+            }
+            PasswordSorter.writeCSV(directory.resolve(sortedName(criterio)).toString(), output);
+        }
+        return new ShardResult(directory, header, counts, records.size());
+    }
+
+    /** O arquivo de mesmo nome em cada shard, na ordem dos shards. */
+    private MyDynamicArray<Path> shardFiles(String name) {
+        MyDynamicArray<Path> files = new MyDynamicArray<>(results.size());
+        for (int i = 0; i < results.size(); i++) {
+            files.add(results.get(i).directory.resolve(name));
+        }
+        return files;
+    }
+
+    private String sortedName(String criterio) {
+        return CompressedFiles.outputName(String.format("passwords_%s_%s.csv", criterio, algorithm));
+    }
+
+    /**
+     * Concatena os arquivos, mantendo só o cabeçalho do primeiro. O restante de cada arquivo é
+     * copiado como está (inclusive campos entre aspas com quebras de linha).
+     */
+    private static void concatenate(MyDynamicArray<Path> inputs, Path target) throws IOException {
+        try (BufferedWriter out = CompressedFiles.newWriter(target)) {
+            for (int i = 0; i < inputs.size(); i++) {
+                try (BufferedReader in = new BufferedReader(CompressedFiles.newReader(inputs.get(i).toString()))) {
+                    String header = in.readLine();
+                    if (header == null) continue;
+                    if (i == 0) {
+                        out.write(header);
+                        out.write('\n');
+                    }
+                    in.transferTo(out);
+                }
+            }
+        }
+    }
+
+    /**
+     * Intercalação de k vias dos arquivos ordenados (formato de PasswordSorter.writeCSV), com um heap
+     * binário dos índices dos shards ordenado pela linha atual de cada um. As linhas são copiadas sem
+     * reformatação.
+     */
+    private static void mergeSorted(MyDynamicArray<Path> inputs, Path target, Comparator<String[]> cmp)
+            throws IOException {
+        int k = inputs.size();
+        BufferedReader[] readers = new BufferedReader[k];
+        String[] lines = new String[k];
+        String[][] rows = new String[k][];
+        int[] heap = new int[k];
+        int heapSize = 0;
+        try (BufferedWriter out = CompressedFiles.newWriter(target)) {
+            for (int i = 0; i < k; i++) {
+                readers[i] = new BufferedReader(CompressedFiles.newReader(inputs.get(i).toString()));
+                String header = readers[i].readLine();
+                if (i == 0 && header != null) {
+                    out.write(header);
+                    out.write('\n');
+                }
+                if (advance(readers[i], lines, rows, i)) {
+                    heap[heapSize] = i;
+                    siftUp(heap, heapSize++, rows, cmp);
+                }
+            }
+            while (heapSize > 0) {
+                int shard = heap[0];
+                out.write(lines[shard]);
+                out.write('\n');
+                if (!advance(readers[shard], lines, rows, shard)) {
+                    heap[0] = heap[--heapSize];
+                }
+                siftDown(heap, heapSize, rows, cmp);
+            }
+        } finally {
+            for (BufferedReader reader : readers) {
+                if (reader != null) reader.close();
+            }
+        }
+    }
+
+    /** Lê a próxima linha não vazia de um shard; false no fim do arquivo. */
+    private static boolean advance(BufferedReader reader, String[] lines, String[][] rows, int shard) throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.trim().isEmpty()) continue;
+            lines[shard] = line;
+            rows[shard] = PasswordSorter.parseCsvLine(line);
+            return true;
+        }
+        lines[shard] = null;
+        rows[shard] = null;
+        return false;
+    }
+
+    /** Ordem do heap: pela linha atual e, nos empates, pelo shard anterior (intercalação estável). */
+    private static boolean before(int a, int b, String[][] rows, Comparator<String[]> cmp) {
+        int c = cmp.compare(rows[a], rows[b]);
+        return c < 0 || (c == 0 && a < b);
+    }
+
+    private static void siftUp(int[] heap, int position, String[][] rows, Comparator<String[]> cmp) {
+        int item = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) / 2;
+            if (!before(item, heap[parent], rows, cmp)) break;
+            heap[position] = heap[parent];
+            position = parent;
+        }
+        heap[position] = item;
+    }
+
+    private static void siftDown(int[] heap, int size, String[][] rows, Comparator<String[]> cmp) {
+        if (size == 0) return;
+        int item = heap[0];
+        int position = 0;
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= size) break;
+            if (child + 1 < size && before(heap[child + 1], heap[child], rows, cmp)) child++;
+            if (!before(heap[child], item, rows, cmp)) break;
+            heap[position] = heap[child];
+            position = child;
+        }
+        heap[position] = item;
+    }
+
+    /** Grava o cabeçalho e os registros com o CSVWriter, como as saídas do Main. */
+    private static void writeRows(Path target, String[] header, MyDynamicArray<String[]> rows) throws IOException {
+        try (CSVWriter writer = new CSVWriter(CompressedFiles.newWriter(target))) {
+            writer.writeNext(header);
+            for (int i = 0; i < rows.size(); i++) {
+                writer.writeNext(rows.get(i));
+            }
+        }
+    }
+
+    private static <T> T await(Future<T> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) throw cause;
+            throw e;
+        }
+    }
+
+    /** Nome do shard sem as extensões .csv e .gz. */
+    private static String baseName(Path shard) {
+        String name = shard.getFileName().toString();
+        if (name.endsWith(CompressedFiles.GZIP_SUFFIX)) name = name.substring(0, name.length() - CompressedFiles.GZIP_SUFFIX.length());
+        if (name.endsWith(".csv")) name = name.substring(0, name.length() - ".csv".length());
+        return name;
+    }
+
+    private static int firstWildcard(String spec) {
+        for (int i = 0; i < spec.length(); i++) {
+            char c = spec.charAt(i);
+            if (c == '*' || c == '?' || c == '[' || c == '{') return i;
+        }
+        return -1;
+    }
+}
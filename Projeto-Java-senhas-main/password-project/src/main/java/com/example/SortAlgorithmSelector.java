@@ -0,0 +1,210 @@
+package com.example;
+
+import java.util.function.IntToLongFunction;
+
+import com.example.datastructures.MyDynamicArray;
+
+/**
+ * Escolha do algoritmo para o modo "auto" de {@link PasswordSorter#sortData}.
+ *
+ * Uma amostra de até {@value #SAMPLE_SIZE} posições igualmente espaçadas é convertida nas chaves
+ * numéricas do critério (tamanho, mês, aaaammdd ou a chave empacotada de um {@link SortSpec}),
+ * e dela saem as estimativas que decidem:
+ * <ul>
+ *   <li>entrada pequena ({@value #TINY_INPUT} registros ou menos): insertion;</li>
+ *   <li>faixa de chaves pequena (length e month): counting, estável e O(n + faixa);</li>
+ *   <li>entrada quase ordenada (nenhuma inversão na amostra e poucas quebras de sequência): insertion,
+ *       que custa O(n + inversões);</li>
+ *   <li>chaves repetidas: merge. Com empates a ordem dos registros iguais precisa ser estável, e o
+ *       particionamento do quick degrada para O(n²) quando muitas chaves são iguais;</li>
+ *   <li>entrada com ordem parcial (inversões ou quebras de sequência longe dos ~50% de uma
+ *       permutação aleatória, como dados quase ordenados que a confirmação rejeitou ou dados em
+ *       ordem inversa): merge. O quick usa o último elemento como pivô e, nesses casos, faz
+ *       partições vazias, O(n²) comparações e uma recursão de profundidade ~n;</li>
+ *   <li>caso contrário (chaves quase todas distintas, em ordem aparentemente aleatória): quick.</li>
+ * </ul>
+ * A amostra custa O(S log S) para S = {@value #SAMPLE_SIZE}; só a confirmação de "quase ordenada"
+ * percorre a entrada inteira (uma comparação de chaves por registro).
+ */
+public final class SortAlgorithmSelector {
+    static final int SAMPLE_SIZE = 1024;
+    static final int TINY_INPUT = 32;
+    static final int MAX_COUNTING_RANGE = 4096;
+    static final int NEARLY_SORTED_MAX_DESCENTS = 16;
+    static final double MIN_DISTINCT_RATIO_FOR_QUICK = 0.9;
+    // Faixas de uma permutação aleatória: ~50% dos pares invertidos e ~50% dos vizinhos em queda.
+    static final double MIN_RANDOM_INVERSION_RATIO = 0.4;
+    static final double MAX_RANDOM_INVERSION_RATIO = 0.6;
+    static final double MIN_RANDOM_DESCENT_RATIO = 0.3;
+    static final double MAX_RANDOM_DESCENT_RATIO = 0.7;
+
+    /** O algoritmo escolhido, o motivo e as estimativas que levaram a ele. */
+    public static final class Choice {
+        private final String algorithm;
+        private final String reason;
+
+        Choice(String algorithm, String reason) {
+            this.algorithm = algorithm;
+            this.reason = reason;
+        }
+
+        /** @return O nome do algoritmo, como aceito por sortData. */
+        public String getAlgorithm() {
+            return algorithm;
+        }
+
+        /** @return O motivo da escolha, com as estimativas da amostra. */
+        public String getReason() {
+            return reason;
+        }
+
+        @Override
+        public String toString() {
+            return algorithm + " (" + reason + ")";
+        }
+    }
+
+    private SortAlgorithmSelector() {
+    }
+
+    /**
+     * Escolhe o algoritmo para ordenar os dados pelo critério.
+     *
+     * @param dados Os registros (sem o cabeçalho); não são modificados.
+     * @param criterio O critério de ordenação (length, month, data).
+     * @return A escolha e o seu motivo.
+     */
+    public static Choice choose(MyDynamicArray<String[]> dados, String criterio) {
+        boolean smallIntegerKeys = criterio.equals("length") || criterio.equals("month");
+        return choose(dados.size(), i -> key(dados.get(i), criterio), smallIntegerKeys);
+    }
+
+    /**
+     * Escolhe o algoritmo a partir das chaves numéricas dos registros. Também usado pelas
+     * especificações compostas ({@link SortSpec}), com a chave empacotada de cada registro.
+     *
+     * @param n O número de registros.
+     * @param keyAt A chave do registro i, na mesma ordem do comparador.
+     * @param countingAllowed Se o Counting Sort pode ordenar por estas chaves.
+     * @return A escolha e o seu motivo.
+     */
+    static Choice choose(int n, IntToLongFunction keyAt, boolean countingAllowed) {
+        if (n <= TINY_INPUT) {
+            return new Choice("insertion", "entrada pequena: " + n + " registros");
+        }
+
+        int samples = Math.min(n, SAMPLE_SIZE);
+        long[] keys = new long[samples];
+        int adjacentPairs = 0;
+        int adjacentDescents = 0;
+        try {
+            for (int k = 0; k < samples; k++) {
+                int position = (int) ((long) k * n / samples);
+                keys[k] = keyAt.applyAsLong(position);
+                if (position + 1 < n) {
+                    adjacentPairs++;
+                    if (keys[k] > keyAt.applyAsLong(position + 1)) adjacentDescents++;
+                }
+            }
+        } catch (RuntimeException e) {
+            // Registros que o critério não consegue converter: sem perfil, usa o caso geral estável.
+            return new Choice("merge", "chaves não numéricas na amostra (" + e.getMessage() + ")");
+        }
+
+        long inversions = countInversions(keys); // Deixa 'keys' ordenado
+        int distinct = 1;
+        for (int k = 1; k < samples; k++) {
+            if (keys[k] != keys[k - 1]) distinct++;
+        }
+        long range = keys[samples - 1] - keys[0] + 1;
+        double inversionRatio = samples < 2 ? 0 : inversions / (samples * (samples - 1) / 2.0);
+        double descentRatio = (double) adjacentDescents / Math.max(1, adjacentPairs);
+        long estimatedRuns = 1 + Math.round(descentRatio * (n - 1));
+        String profile = String.format(java.util.Locale.ROOT,
+                "n=%d, amostra=%d, faixa≈%d, distintas=%d, corridas≈%d, inversões≈%.2f%%",
+                n, samples, range, distinct, estimatedRuns, inversionRatio * 100);
+
+        if (countingAllowed && range <= Math.min(MAX_COUNTING_RANGE, n)) {
+            return new Choice("counting", "faixa de chaves pequena; " + profile);
+        }
+        if (inversions == 0 && adjacentDescents == 0) {
+            int descents = countDescents(n, keyAt, NEARLY_SORTED_MAX_DESCENTS);
+            if (descents <= NEARLY_SORTED_MAX_DESCENTS) {
+                return new Choice("insertion", "quase ordenada (" + descents + " quebras de sequência); " + profile);
+            }
+        }
+        if (distinct < samples * MIN_DISTINCT_RATIO_FOR_QUICK) {
+            return new Choice("merge", "chaves repetidas, ordenação estável; " + profile);
+        }
+        if (inversionRatio < MIN_RANDOM_INVERSION_RATIO || inversionRatio > MAX_RANDOM_INVERSION_RATIO
+                || descentRatio < MIN_RANDOM_DESCENT_RATIO || descentRatio > MAX_RANDOM_DESCENT_RATIO) {
+            // Ordem parcial ou inversa: o pivô do último elemento do quick cairia no pior caso.
+            return new Choice("merge", "entrada com ordem parcial, pior caso do quick; " + profile);
+        }
+        return new Choice("quick", "chaves distintas em ordem aleatória; " + profile);
+    }
+
+    /**
+     * Chave numérica de um registro, com a mesma ordem das comparações do PasswordSorter.
+     * A data (dd/MM/yyyy) vira aaaammdd.
+     *
+     * @throws NumberFormatException se o campo do critério não for numérico.
+     */
+    static long key(String[] record, String criterio) {
+        switch (criterio) {
+            case "length": return Integer.parseInt(record[2]);
+            case "month": return Integer.parseInt(record[3].split("/")[1]);
+            case "data": {
+                String[] parts = record[3].split("/");
+                return Long.parseLong(parts[2]) * 10_000 + Long.parseLong(parts[1]) * 100 + Long.parseLong(parts[0]);
+            }
+            default: throw new IllegalArgumentException("Critério de comparação inválido: " + criterio);
+        }
+    }
+
+    /**
+     * Conta as quebras de sequência (registro maior que o seguinte) na entrada inteira,
+     * parando assim que passar de {@code limit}.
+     */
+    private static int countDescents(int n, IntToLongFunction keyAt, int limit) {
+        int descents = 0;
+        long previous = keyAt.applyAsLong(0);
+        for (int i = 1; i < n && descents <= limit; i++) {
+            long current = keyAt.applyAsLong(i);
+            if (previous > current) descents++;
+            previous = current;
+        }
+        return descents;
+    }
+
+    /** Conta as inversões do array com um Merge Sort de baixo para cima, deixando-o ordenado. */
+    private static long countInversions(long[] keys) {
+        long inversions = 0;
+        long[] from = keys;
+        long[] to = new long[keys.length];
+        for (int width = 1; width < keys.length; width *= 2) {
+            for (int lo = 0; lo < keys.length; lo += 2 * width) {
+                int mid = Math.min(lo + width, keys.length);
+                int hi = Math.min(lo + 2 * width, keys.length);
+                int i = lo, j = mid, k = lo;
+                while (i < mid && j < hi) {
+                    if (from[i] <= from[j]) {
+                        to[k++] = from[i++];
+                    } else {
+                        inversions += mid - i;
+                        to[k++] = from[j++];
+                    }
+                }
+                while (i < mid) to[k++] = from[i++];
+                while (j < hi) to[k++] = from[j++];
+            }
+            long[] swap = from;
+            from = to;
+            to = swap;
+        }
+        if (from != keys) {
+            System.arraycopy(from, 0, keys, 0, keys.length);
+        }
+        return inversions;
+    }
+}
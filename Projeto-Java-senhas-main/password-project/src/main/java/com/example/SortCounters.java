@@ -0,0 +1,149 @@
+package com.example;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Contadores de operações dos algoritmos de {@link PasswordSorter}: chamadas a compare e swap,
+ * movimentos (MyDynamicArray.set), profundidade máxima de recursão e bytes alocados pela thread.
+ *
+ * Os contadores são por thread (as combinações de ordenação rodam em paralelo no pool do
+ * {@link Main}), e cada ponto de contagem no PasswordSorter é protegido por
+ * {@code if (SortCounters.enabled)}: desativada, a instrumentação custa só a leitura de um campo
+ * estático e um desvio que o processador sempre acerta, sem acessar o ThreadLocal.
+ *
+ * Ative com {@code --instrument} (PasswordSorter e Main) ou com a propriedade de sistema
+ * {@code passwords.instrument=true}.
+ */
+public final class SortCounters {
+    /**
+     * Não é volatile de propósito: é alterado só antes das ordenações começarem, e o envio das
+     * tarefas ao pool já publica o valor para as threads de trabalho.
+     */
+    static boolean enabled = Boolean.getBoolean("passwords.instrument");
+
+    private static final ThreadLocal<SortCounters> CURRENT = ThreadLocal.withInitial(SortCounters::new);
+
+    /** Cabeçalho do CSV gerado a partir de {@link #toRow(String, String, String, int)}. */
+    static final String[] HEADER = { "criterion", "algorithm", "case", "records", "compares", "swaps",
+            "moves", "max_depth", "allocated_bytes", "time_ms" };
+
+    private long compares;
+    private long swaps;
+    private long moves;
+    private int depth;
+    private int maxDepth;
+    private long allocatedBefore;
+    private long startNanos;
+    private long allocatedBytes;
+    private long elapsedNanos;
+
+    private SortCounters() {
+    }
+
+    /** Ativa ou desativa a instrumentação. Deve ser chamado antes das ordenações. */
+    public static void setEnabled(boolean value) {
+        enabled = value;
+    }
+
+    /** @return true se a instrumentação está ativa. */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Zera os contadores da thread atual e começa a medir tempo e alocação.
+     *
+     * @return Os contadores da thread atual.
+     */
+    static SortCounters start() {
+        SortCounters counters = CURRENT.get();
+        counters.compares = 0;
+        counters.swaps = 0;
+        counters.moves = 0;
+        counters.depth = 0;
+        counters.maxDepth = 0;
+        counters.allocatedBefore = threadAllocatedBytes();
+        counters.startNanos = System.nanoTime();
+        return counters;
+    }
+
+    /** Encerra a medição iniciada por {@link #start()}. */
+    void stop() {
+        elapsedNanos = System.nanoTime() - startNanos;
+        long allocatedAfter = threadAllocatedBytes();
+        allocatedBytes = allocatedBefore < 0 || allocatedAfter < 0 ? -1 : allocatedAfter - allocatedBefore;
+    }
+
+    static void countCompare() {
+        CURRENT.get().compares++;
+    }
+
+    static void countSwap() {
+        CURRENT.get().swaps++;
+    }
+
+    static void countMove() {
+        CURRENT.get().moves++;
+    }
+
+    /** Registra a entrada em uma chamada recursiva. */
+    static void enter() {
+        SortCounters counters = CURRENT.get();
+        if (++counters.depth > counters.maxDepth) {
+            counters.maxDepth = counters.depth;
+        }
+    }
+
+    /** Registra a saída de uma chamada recursiva. */
+    static void exit() {
+        CURRENT.get().depth--;
+    }
+
+    public long getCompares() {
+        return compares;
+    }
+
+    public long getSwaps() {
+        return swaps;
+    }
+
+    public long getMoves() {
+        return moves;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Converte a medição em uma linha do CSV de estatísticas.
+     *
+     * @param criterio O critério de ordenação.
+     * @param algoritmo O algoritmo.
+     * @param caso O caso (melhorCaso, medioCaso, piorCaso).
+     * @param records O número de registros ordenados.
+     * @return A linha, na ordem de {@link #HEADER}.
+     */
+    String[] toRow(String criterio, String algoritmo, String caso, int records) {
+        return new String[] { criterio, algoritmo, caso, Integer.toString(records), Long.toString(compares),
+                Long.toString(swaps), Long.toString(moves), Integer.toString(maxDepth),
+                Long.toString(allocatedBytes), String.format(java.util.Locale.ROOT, "%.3f", elapsedNanos / 1e6) };
+    }
+
+    /** Bytes alocados pela thread atual, ou -1 se a JVM não expõe essa medida. */
+    private static long threadAllocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+            return threads.getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+}
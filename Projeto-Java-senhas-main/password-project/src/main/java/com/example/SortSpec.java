@@ -0,0 +1,230 @@
+package com.example;
+
+import java.util.Comparator;
+
+import com.example.datastructures.MyDynamicArray;
+
+/**
+ * Especificação de ordenação por várias chaves, como {@code "class,-data,length"}: por classe,
+ * depois pela data mais recente, depois pelo tamanho. Cada chave pode ter o prefixo {@code -}
+ * (decrescente) ou {@code +} (crescente, o padrão).
+ *
+ * Chaves: {@code length}, {@code month}, {@code data} (ou {@code date}), {@code class} (na ordem
+ * dos rótulos do classificador, seguidos de comprometida, erro_processamento e outras),
+ * {@code id} (numérico) e {@code password} (texto).
+ *
+ * Antes da ordenação, cada registro é convertido uma única vez em um {@link Keyed}. Se todas as
+ * chaves forem numéricas e as suas faixas (medidas nos próprios dados) couberem juntas em 63 bits,
+ * elas são empacotadas em um único long, da mais para a menos significativa, e comparar dois
+ * registros é um Long.compare. Caso contrário, os valores de cada chave ficam em um long[] e a
+ * comparação é uma cadeia chave a chave, ainda sem reconverter os campos a cada comparação.
+ */
+public final class SortSpec {
+
+    /** Um registro com a sua chave de ordenação já calculada. */
+    static final class Keyed {
+        final long key;        // Chave empacotada (quando cabe em 63 bits)
+        final long[] fields;   // Valores por chave, para a cadeia de comparadores (null se empacotada)
+        final String[] record;
+
+        Keyed(long key, long[] fields, String[] record) {
+            this.key = key;
+            this.fields = fields;
+            this.record = record;
+        }
+    }
+
+    private static final String[] NUMERIC_FIELDS = { "length", "month", "data", "class", "id" };
+
+    private final String spec;
+    private final String[] fields;
+    private final boolean[] descending;
+
+    private SortSpec(String spec, String[] fields, boolean[] descending) {
+        this.spec = spec;
+        this.fields = fields;
+        this.descending = descending;
+    }
+
+    /**
+     * Indica se o critério deve ser tratado como especificação composta: tudo que não for um dos
+     * critérios simples originais (length, month, data).
+     */
+    public static boolean isComposite(String criterio) {
+        return !criterio.equals("length") && !criterio.equals("month") && !criterio.equals("data");
+    }
+
+    /**
+     * Lê uma especificação.
+     *
+     * @param spec As chaves separadas por vírgula, cada uma com prefixo opcional + ou -.
+     * @return A especificação.
+     * @throws IllegalArgumentException se alguma chave for desconhecida.
+     */
+    public static SortSpec parse(String spec) {
+        String[] parts = spec.split(",");
+        String[] fields = new String[parts.length];
+        boolean[] descending = new boolean[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            String part = parts[i].trim();
+            if (part.startsWith("-") || part.startsWith("+")) {
+                descending[i] = part.charAt(0) == '-';
+                part = part.substring(1).trim();
+            }
+            if (part.equals("date")) part = "data";
+            if (!part.equals("password") && !isNumeric(part)) {
+                throw new IllegalArgumentException("Critério de comparação inválido: " + parts[i].trim() + " (em '" + spec + "')");
+            }
+            fields[i] = part;
+        }
+        return new SortSpec(spec, fields, descending);
+    }
+
+    /** @return Um nome para arquivos, como "class_data-desc_length". */
+    public String toFileName() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) sb.append('_');
+            sb.append(fields[i]);
+            if (descending[i]) sb.append("-desc");
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return spec;
+    }
+
+    /**
+     * Converte os registros em registros com chave. Mede a faixa de cada chave para decidir
+     * se elas cabem empacotadas em um long.
+     *
+     * @param dados Os registros (sem o cabeçalho).
+     * @return Os registros com chave, na mesma ordem.
+     * @throws NumberFormatException se um campo numérico não puder ser convertido.
+     */
+    MyDynamicArray<Keyed> decorate(MyDynamicArray<String[]> dados) {
+        int n = dados.size();
+        int k = fields.length;
+        long[][] values = new long[k][];
+        long[] min = new long[k];
+        long[] max = new long[k];
+        boolean packable = true;
+        for (int f = 0; f < k; f++) {
+            if (fields[f].equals("password")) {
+                packable = false; // Texto não tem largura fixa
+                continue;
+            }
+            values[f] = new long[n];
+            min[f] = Long.MAX_VALUE;
+            max[f] = Long.MIN_VALUE;
+            for (int i = 0; i < n; i++) {
+                long v = value(dados.get(i), fields[f]);
+                values[f][i] = v;
+                if (v < min[f]) min[f] = v;
+                if (v > max[f]) max[f] = v;
+            }
+        }
+
+        int[] bits = new int[k];
+        int totalBits = 0;
+        for (int f = 0; f < k && packable; f++) {
+            long span = n == 0 ? 0 : max[f] - min[f];
+            if (span < 0) { // Faixa maior que Long.MAX_VALUE
+                packable = false;
+                break;
+            }
+            bits[f] = 64 - Long.numberOfLeadingZeros(span);
+            totalBits += bits[f];
+        }
+        packable &= totalBits <= 63;
+
+        MyDynamicArray<Keyed> keyed = new MyDynamicArray<>(n);
+        for (int i = 0; i < n; i++) {
+            if (packable) {
+                long key = 0;
+                for (int f = 0; f < k; f++) {
+                    long v = values[f][i];
+                    long offset = descending[f] ? max[f] - v : v - min[f];
+                    key = (key << bits[f]) | offset;
+                }
+                keyed.add(new Keyed(key, null, dados.get(i)));
+            } else {
+                long[] row = new long[k];
+                for (int f = 0; f < k; f++) {
+                    if (values[f] != null) row[f] = values[f][i];
+                }
+                keyed.add(new Keyed(0, row, dados.get(i)));
+            }
+        }
+        return keyed;
+    }
+
+    /** @return true se os registros decorados por {@link #decorate} usam a chave empacotada. */
+    static boolean isPacked(MyDynamicArray<Keyed> keyed) {
+        return keyed.size() == 0 || keyed.get(0).fields == null;
+    }
+
+    /**
+     * Comparador dos registros decorados: Long.compare da chave empacotada, ou a cadeia de
+     * comparações chave a chave. Conta as comparações na instrumentação ({@link SortCounters}).
+     *
+     * @param packed Se os registros usam a chave empacotada.
+     * @return O comparador.
+     */
+    Comparator<Keyed> comparator(boolean packed) {
+        if (packed) {
+            return (a, b) -> {
+                if (SortCounters.enabled) SortCounters.countCompare();
+                return Long.compare(a.key, b.key);
+            };
+        }
+        return (a, b) -> {
+            if (SortCounters.enabled) SortCounters.countCompare();
+            for (int f = 0; f < fields.length; f++) {
+                int c = fields[f].equals("password")
+                        ? a.record[1].compareTo(b.record[1])
+                        : Long.compare(a.fields[f], b.fields[f]);
+                if (c != 0) return descending[f] ? -c : c;
+            }
+            return 0;
+        };
+    }
+
+    /**
+     * Comparador direto dos registros, em cadeia, sem chaves pré-calculadas (cada comparação
+     * converte os campos). Usado quando o chamador ordena os registros sem decorá-los, como nas
+     * versões por critério dos algoritmos do PasswordSorter.
+     *
+     * @return O comparador.
+     */
+    Comparator<String[]> recordComparator() {
+        return (a, b) -> {
+            if (SortCounters.enabled) SortCounters.countCompare();
+            for (int f = 0; f < fields.length; f++) {
+                int c = fields[f].equals("password")
+                        ? a[1].compareTo(b[1])
+                        : Long.compare(value(a, fields[f]), value(b, fields[f]));
+                if (c != 0) return descending[f] ? -c : c;
+            }
+            return 0;
+        };
+    }
+
+    private static boolean isNumeric(String field) {
+        for (String numeric : NUMERIC_FIELDS) {
+            if (numeric.equals(field)) return true;
+        }
+        return false;
+    }
+
+    /** Valor numérico de uma chave, com a mesma ordem das comparações do PasswordSorter. */
+    private static long value(String[] record, String field) {
+        switch (field) {
+            case "class": return PasswordAggregator.classCode(record[4]);
+            case "id": return Long.parseLong(record[0].trim());
+            default: return SortAlgorithmSelector.key(record, field);
+        }
+    }
+}
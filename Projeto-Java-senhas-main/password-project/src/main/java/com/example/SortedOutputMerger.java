@@ -0,0 +1,232 @@
+package com.example;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import com.example.datastructures.MyDynamicArray;
+
+/**
+ * Modo incremental do {@link PasswordSorter}: mantém as saídas ordenadas
+ * ({@code passwords_<criterio>_<algoritmo>_<caso>.csv}) quando chegam linhas novas, sem reordenar
+ * os dados inteiros.
+ *
+ * Para cada combinação, só as linhas novas são ordenadas (com o mesmo algoritmo e critério), e
+ * então intercaladas com o arquivo existente em uma única passada sequencial: o arquivo é lido
+ * linha a linha, as linhas existentes são copiadas sem reformatação e o resultado vai para um
+ * arquivo temporário que substitui o original no final. O custo é O(d log d) para as d linhas
+ * novas mais uma leitura e uma escrita do arquivo.
+ *
+ * Durante a leitura, o cabeçalho e a ordem das chaves do arquivo existente são conferidos. Se o
+ * arquivo não existir, estiver vazio, tiver outro cabeçalho, uma linha inválida ou uma linha fora
+ * de ordem, a combinação cai na ordenação completa do arquivo de entrada, que deve conter os dados
+ * atuais inteiros (inclusive as linhas novas), como na execução normal do PasswordSorter.
+ *
+ * Nos empates, as linhas existentes vêm antes das novas, como em uma ordenação estável dos dados
+ * com as linhas novas no final.
+ */
+public final class SortedOutputMerger {
+
+    /** Resultado da atualização de um arquivo. */
+    private static final class Outcome {
+        final String file;
+        final String fallbackReason; // null se a intercalação funcionou
+
+        Outcome(String file, String fallbackReason) {
+            this.file = file;
+            this.fallbackReason = fallbackReason;
+        }
+    }
+
+    private final String fullInput;
+    private final String[] header;
+    private final MyDynamicArray<String[]> delta;
+    private final String outputDir;
+    private MyDynamicArray<String[]> fullData; // Carregado só se alguma combinação precisar
+
+    private SortedOutputMerger(String fullInput, String[] header, MyDynamicArray<String[]> delta, String outputDir) {
+        this.fullInput = fullInput;
+        this.header = header;
+        this.delta = delta;
+        this.outputDir = outputDir;
+    }
+
+    /**
+     * Atualiza todas as saídas ordenadas com as linhas novas.
+     *
+     * @param fullInput O arquivo com os dados atuais inteiros, usado nas ordenações completas.
+     * @param deltaInput O arquivo com as linhas novas (com cabeçalho, no formato de fullInput).
+     * @param outputDir O diretório das saídas ordenadas.
+     * @param executor Pool de threads para atualizar os arquivos em paralelo; null atualiza em sequência.
+     * @throws IOException se a leitura ou a escrita falhar.
+     */
+    public static void updateAll(String fullInput, String deltaInput, String outputDir, ExecutorService executor)
+            throws IOException {
+        MyDynamicArray<String[]> lines = PasswordSorter.readCSV(deltaInput);
+        if (lines.size() == 0) {
+            throw new IOException("O arquivo de linhas novas está vazio: " + deltaInput);
+        }
+        MyDynamicArray<String[]> delta = new MyDynamicArray<>(lines.size());
+        for (int i = 1; i < lines.size(); i++) {
+            delta.add(lines.get(i));
+        }
+        SortedOutputMerger merger = new SortedOutputMerger(fullInput, lines.get(0), delta, outputDir);
+
+        MyDynamicArray<Future<Outcome>> pending = new MyDynamicArray<>();
+        MyDynamicArray<Outcome> outcomes = new MyDynamicArray<>();
+        for (String criterio : PasswordSorter.CRITERIOS) {
+            for (String algoritmo : PasswordSorter.ALGORITMOS) {
+                if (!PasswordSorter.isAlgoritmoValido(algoritmo, criterio)) continue;
+                for (String caso : PasswordSorter.CASOS) {
+                    if (executor == null) {
+                        outcomes.add(merger.update(criterio, algoritmo, caso));
+                    } else {
+                        pending.add(executor.submit(() -> merger.update(criterio, algoritmo, caso)));
+                    }
+                }
+            }
+        }
+        for (int i = 0; i < pending.size(); i++) {
+            try {
+                outcomes.add(pending.get(i).get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Atualização interrompida.", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException io) throw io;
+                if (e.getCause() instanceof RuntimeException re) throw re;
+                throw new IOException("Falha na atualização: " + e.getCause(), e.getCause());
+            }
+        }
+
+        int merged = 0;
+        for (int i = 0; i < outcomes.size(); i++) {
+            Outcome outcome = outcomes.get(i);
+            if (outcome.fallbackReason == null) {
+                merged++;
+            } else {
+                System.out.println("- " + outcome.file + ": ordenação completa (" + outcome.fallbackReason + ")");
+            }
+        }
+        System.out.println("Linhas novas: " + delta.size() + " | arquivos intercalados: " + merged
+                + " | ordenações completas: " + (outcomes.size() - merged));
+    }
+
+    /** Atualiza o arquivo de uma combinação, intercalando ou, se preciso, ordenando tudo. */
+    private Outcome update(String criterio, String algoritmo, String caso) throws IOException {
+        String name = PasswordSorter.outputName(criterio, algoritmo, caso);
+        Path destination = Paths.get(outputDir, name);
+
+        MyDynamicArray<String[]> sortedDelta = PasswordSorter.deepCopyMyDynamicArray(delta);
+        PasswordSorter.sortData(sortedDelta, algoritmo, criterio);
+
+        String reason = Files.exists(destination)
+                ? merge(destination, sortedDelta, PasswordSorter.comparator(criterio))
+                : "arquivo inexistente";
+        if (reason != null) {
+            PasswordSorter.sortAndWrite(header, fullData(), algoritmo, criterio, caso, destination, true);
+        }
+        return new Outcome(name, reason);
+    }
+
+    /**
+     * Intercala as linhas novas (já ordenadas) com o arquivo ordenado existente.
+     *
+     * @return null se o arquivo foi atualizado, ou o motivo pelo qual a sua ordem não pôde ser
+     *         confirmada (o arquivo original fica intacto).
+     */
+    private String merge(Path destination, MyDynamicArray<String[]> sortedDelta, Comparator<String[]> cmp)
+            throws IOException {
+        Path temp = temporaryPath(destination);
+        String reason = null;
+        try (BufferedReader in = new BufferedReader(CompressedFiles.newReader(destination.toString()));
+             BufferedWriter out = CompressedFiles.newWriter(temp)) {
+            String headerLine = in.readLine();
+            if (headerLine == null) {
+                reason = "arquivo vazio";
+            } else if (!Arrays.equals(PasswordSorter.parseCsvLine(headerLine), header)) {
+                reason = "cabeçalho diferente do das linhas novas";
+            } else {
+                out.write(headerLine);
+                out.newLine();
+                reason = mergeRows(in, out, sortedDelta, cmp);
+            }
+        }
+        if (reason != null) {
+            Files.deleteIfExists(temp);
+            return reason;
+        }
+        try {
+            Files.move(temp, destination, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (java.nio.file.AtomicMoveNotSupportedException e) {
+            Files.move(temp, destination, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return null;
+    }
+
+    private static String mergeRows(BufferedReader in, BufferedWriter out, MyDynamicArray<String[]> sortedDelta,
+                                    Comparator<String[]> cmp) throws IOException {
+        int next = 0;
+        long lineNumber = 1;
+        String[] previous = null;
+        String line;
+        while ((line = in.readLine()) != null) {
+            lineNumber++;
+            if (line.trim().isEmpty()) continue;
+            String[] row = PasswordSorter.parseCsvLine(line);
+            if (row.length < 5) {
+                return "linha " + lineNumber + " inválida";
+            }
+            try {
+                if (previous != null && cmp.compare(previous, row) > 0) {
+                    return "linha " + lineNumber + " fora de ordem";
+                }
+                // Empates: a linha existente vem antes (o '<' estrito mantém a intercalação estável).
+                while (next < sortedDelta.size() && cmp.compare(sortedDelta.get(next), row) < 0) {
+                    out.write(PasswordSorter.toCsvLine(sortedDelta.get(next++)));
+                    out.newLine();
+                }
+            } catch (RuntimeException e) {
+                return "linha " + lineNumber + " sem chave válida (" + e.getMessage() + ")";
+            }
+            out.write(line); // Copiada como está, sem reformatar
+            out.newLine();
+            previous = row;
+        }
+        while (next < sortedDelta.size()) {
+            out.write(PasswordSorter.toCsvLine(sortedDelta.get(next++)));
+            out.newLine();
+        }
+        return null;
+    }
+
+    /** Os dados atuais inteiros, lidos uma única vez na primeira ordenação completa. */
+    private synchronized MyDynamicArray<String[]> fullData() throws IOException {
+        if (fullData == null) {
+            MyDynamicArray<String[]> lines = PasswordSorter.readCSV(fullInput);
+            fullData = new MyDynamicArray<>(lines.size());
+            for (int i = 1; i < lines.size(); i++) {
+                fullData.add(lines.get(i));
+            }
+        }
+        return fullData;
+    }
+
+    /** Caminho temporário ao lado do destino, mantendo o sufixo .gz (que decide a compressão). */
+    private static Path temporaryPath(Path destination) {
+        String name = destination.getFileName().toString();
+        String temp = name.endsWith(CompressedFiles.GZIP_SUFFIX)
+                ? name.substring(0, name.length() - CompressedFiles.GZIP_SUFFIX.length()) + ".tmp" + CompressedFiles.GZIP_SUFFIX
+                : name + ".tmp";
+        return destination.toAbsolutePath().resolveSibling(temp);
+    }
+}
@@ -0,0 +1,111 @@
+package com.example;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Medição de uma etapa do pipeline: tempo de parede, tempo de CPU do processo
+ * e bytes alocados no heap por todas as threads.
+ *
+ * A alocação vem do total da JVM ({@code getTotalThreadAllocatedBytes}), que inclui as threads
+ * que terminam durante a etapa. Na falta dele, é a soma sobre as threads vivas, que perde o que
+ * as threads encerradas alocaram; por isso o {@link Main} mantém o mesmo pool de threads vivo
+ * durante todo o pipeline. Medidas que a JVM não expõe ficam em -1 e aparecem como NaN.
+ */
+public class StageMetrics {
+
+    /** Uma etapa que pode lançar exceções verificadas (E/S, CSV). */
+    @FunctionalInterface
+    public interface Stage {
+        void run() throws Exception;
+    }
+
+    private final String name;
+    private final long wallNanos;
+    private final long cpuNanos;
+    private final long allocatedBytes;
+
+    private StageMetrics(String name, long wallNanos, long cpuNanos, long allocatedBytes) {
+        this.name = name;
+        this.wallNanos = wallNanos;
+        this.cpuNanos = cpuNanos;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    /**
+     * Executa a etapa e mede seus custos.
+     *
+     * @param name Nome da etapa (para o relatório).
+     * @param stage A etapa.
+     * @return As medidas da etapa.
+     * @throws Exception qualquer exceção lançada pela etapa.
+     */
+    public static StageMetrics measure(String name, Stage stage) throws Exception {
+        long cpuBefore = processCpuNanos();
+        long allocBefore = allocatedBytes();
+        long start = System.nanoTime();
+        stage.run();
+        long wall = System.nanoTime() - start;
+        long cpu = difference(cpuBefore, processCpuNanos());
+        long alloc = difference(allocBefore, allocatedBytes());
+        return new StageMetrics(name, wall, cpu, alloc);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    public long getCpuNanos() {
+        return cpuNanos;
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /** Imprime o cabeçalho da tabela de relatório. */
+    public static void printHeader() {
+        System.out.printf("%-12s %12s %12s %14s%n", "etapa", "parede (ms)", "cpu (ms)", "alocado (MB)");
+    }
+
+    /** Imprime esta medida como uma linha da tabela de relatório. */
+    public void print() {
+        System.out.printf("%-12s %12.1f %12.1f %14.1f%n", name, wallNanos / 1e6,
+                cpuNanos < 0 ? Double.NaN : cpuNanos / 1e6,
+                allocatedBytes < 0 ? Double.NaN : allocatedBytes / (1024.0 * 1024.0));
+    }
+
+    /** Diferença entre duas amostras, ou -1 se alguma não estiver disponível. */
+    private static long difference(long before, long after) {
+        return before < 0 || after < 0 ? -1 : after - before;
+    }
+
+    /** Tempo de CPU do processo inteiro, ou -1 se a JVM não expõe essa medida. */
+    private static long processCpuNanos() {
+        if (ManagementFactory.getOperatingSystemMXBean() instanceof com.sun.management.OperatingSystemMXBean os) {
+            return os.getProcessCpuTime();
+        }
+        return -1;
+    }
+
+    /**
+     * Bytes alocados por todas as threads desde o início da JVM (inclusive as encerradas), ou a
+     * soma sobre as threads vivas se o total não estiver disponível; -1 se a JVM não expõe a medida.
+     */
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+            long total = threads.getTotalThreadAllocatedBytes();
+            if (total >= 0) return total;
+            total = 0;
+            for (long bytes : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+                if (bytes > 0) total += bytes;
+            }
+            return total;
+        }
+        return -1;
+    }
+}
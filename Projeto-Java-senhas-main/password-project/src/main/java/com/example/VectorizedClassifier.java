@@ -0,0 +1,230 @@
+package com.example;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Classificação de senhas em lote usando a Vector API ({@code jdk.incubator.vector}).
+ *
+ * As senhas chegam concatenadas em um único buffer de bytes ASCII, com um array de offsets
+ * delimitando cada uma (a senha i ocupa {@code data[offsets[i], offsets[i + 1])}), e o
+ * resultado é um byte por senha com o código da classificação (veja
+ * {@link PasswordClassifier#labelOf(byte)}). As faixas de letras, dígitos e especiais são
+ * testadas em vários bytes por instrução; senhas com bytes não-ASCII ou quebras de linha
+ * (que as expressões regulares originais tratam de forma especial) caem no caminho escalar,
+ * de modo que os códigos são sempre idênticos aos de {@link PasswordClassifier#classifyPassword(String)}.
+ *
+ * Compilar e executar exige {@code --add-modules jdk.incubator.vector}. O {@link #main(String[])}
+ * é um benchmark de senhas/segundo em uma thread (ou seja, por núcleo).
+ */
+public class VectorizedClassifier {
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+    private static final int NEEDS_FALLBACK = -1;
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        String[] passwords = randomPasswords(count, 42L);
+        int[] offsets = new int[count + 1];
+        byte[][] encoded = new byte[count][];
+        for (int i = 0; i < count; i++) {
+            encoded[i] = passwords[i].getBytes(StandardCharsets.UTF_8);
+            offsets[i + 1] = offsets[i] + encoded[i].length;
+        }
+        byte[] data = new byte[offsets[count]];
+        for (int i = 0; i < count; i++) {
+            System.arraycopy(encoded[i], 0, data, offsets[i], encoded[i].length);
+        }
+
+        // Confere a equivalência com o caminho original (expressões regulares sobre String).
+        byte[] expected = new byte[count];
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            String p = passwords[i];
+            expected[i] = PasswordClassifier.labelCode(p.length(), PasswordClassifier.characterTypes(p));
+        }
+        long regexNanos = System.nanoTime() - start;
+
+        byte[] scalar = new byte[count];
+        byte[] vector = new byte[count];
+        classifyBatchScalar(data, offsets, scalar);
+        classifyBatch(data, offsets, vector);
+        for (int i = 0; i < count; i++) {
+            if (scalar[i] != expected[i] || vector[i] != expected[i]) {
+                throw new IllegalStateException("Classificação divergente para '" + passwords[i] + "': esperado "
+                        + expected[i] + ", escalar " + scalar[i] + ", vetorial " + vector[i]);
+            }
+        }
+
+        // Aquecimento do JIT antes das medições.
+        for (int i = 0; i < 5; i++) {
+            classifyBatchScalar(data, offsets, scalar);
+            classifyBatch(data, offsets, vector);
+        }
+        long scalarNanos = Long.MAX_VALUE;
+        long vectorNanos = Long.MAX_VALUE;
+        for (int i = 0; i < iterations; i++) {
+            start = System.nanoTime();
+            classifyBatchScalar(data, offsets, scalar);
+            scalarNanos = Math.min(scalarNanos, System.nanoTime() - start);
+            start = System.nanoTime();
+            classifyBatch(data, offsets, vector);
+            vectorNanos = Math.min(vectorNanos, System.nanoTime() - start);
+        }
+
+        System.out.println("senhas: " + count + " | bytes: " + data.length + " | espécie: " + SPECIES);
+        System.out.printf("regex (String)  : %,15.0f senhas/s por núcleo%n", count * 1e9 / regexNanos);
+        System.out.printf("escalar (bytes) : %,15.0f senhas/s por núcleo%n", count * 1e9 / scalarNanos);
+        System.out.printf("vetorial (bytes): %,15.0f senhas/s por núcleo%n", count * 1e9 / vectorNanos);
+        System.out.println("todas as " + count + " classificações são idênticas às do classificador original.");
+    }
+
+    /**
+     * Classifica um lote de senhas com a Vector API.
+     *
+     * @param data Buffer com as senhas concatenadas (ASCII; outros bytes são lidos como UTF-8).
+     * @param offsets Offsets das senhas; a senha i ocupa {@code data[offsets[i], offsets[i + 1])}.
+     * @param classes Array de saída com um código de classificação por senha.
+     * @throws IllegalArgumentException se {@code classes} for menor que o número de senhas.
+     */
+    public static void classifyBatch(byte[] data, int[] offsets, byte[] classes) {
+        int n = checkBatch(offsets, classes);
+        for (int p = 0; p < n; p++) {
+            int start = offsets[p];
+            int end = offsets[p + 1];
+            int mask = vectorTypes(data, start, end);
+            classes[p] = mask == NEEDS_FALLBACK
+                    ? fallback(data, start, end)
+                    : PasswordClassifier.labelCode(end - start, mask);
+        }
+    }
+
+    /**
+     * Mesma classificação de {@link #classifyBatch(byte[], int[], byte[])}, com um laço escalar
+     * byte a byte. Serve de referência para o benchmark e de alternativa onde a Vector API
+     * não estiver disponível.
+     */
+    public static void classifyBatchScalar(byte[] data, int[] offsets, byte[] classes) {
+        int n = checkBatch(offsets, classes);
+        for (int p = 0; p < n; p++) {
+            int start = offsets[p];
+            int end = offsets[p + 1];
+            int mask = scalarTypes(data, start, end);
+            classes[p] = mask == NEEDS_FALLBACK
+                    ? fallback(data, start, end)
+                    : PasswordClassifier.labelCode(end - start, mask);
+        }
+    }
+
+    private static int checkBatch(int[] offsets, byte[] classes) {
+        int n = offsets.length - 1;
+        if (n < 0 || classes.length < n) {
+            throw new IllegalArgumentException("Array de classes menor que o número de senhas: " + classes.length);
+        }
+        return n;
+    }
+
+    /**
+     * Calcula a máscara de tipos de uma senha ASCII, um vetor de bytes por iteração.
+     *
+     * @return A máscara (TYPE_LETTER | TYPE_NUMBER | TYPE_SPECIAL), ou NEEDS_FALLBACK se a senha
+     *         tiver bytes não-ASCII ou quebras de linha.
+     */
+    private static int vectorTypes(byte[] data, int start, int end) {
+        VectorMask<Byte> letters = SPECIES.maskAll(false);
+        VectorMask<Byte> digits = SPECIES.maskAll(false);
+        VectorMask<Byte> specials = SPECIES.maskAll(false);
+        VectorMask<Byte> unsupported = SPECIES.maskAll(false);
+
+        for (int i = start; i < end; i += SPECIES.length()) {
+            VectorMask<Byte> lanes = SPECIES.indexInRange(i, end);
+            ByteVector v = i + SPECIES.length() <= end
+                    ? ByteVector.fromArray(SPECIES, data, i)
+                    : ByteVector.fromArray(SPECIES, data, i, lanes);
+
+            // 'A'..'Z' | 0x20 cai em 'a'..'z', e nenhum outro byte cai nessa faixa.
+            ByteVector folded = v.or((byte) 0x20);
+            VectorMask<Byte> letter = folded.compare(VectorOperators.GE, (byte) 'a')
+                    .and(folded.compare(VectorOperators.LE, (byte) 'z'));
+            VectorMask<Byte> digit = v.compare(VectorOperators.GE, (byte) '0')
+                    .and(v.compare(VectorOperators.LE, (byte) '9'));
+            VectorMask<Byte> bad = v.compare(VectorOperators.LT, (byte) 0)
+                    .or(v.compare(VectorOperators.EQ, (byte) '\n'))
+                    .or(v.compare(VectorOperators.EQ, (byte) '\r'));
+
+            letters = letters.or(letter);
+            digits = digits.or(digit);
+            specials = specials.or(letter.or(digit).not().and(lanes));
+            unsupported = unsupported.or(bad.and(lanes));
+        }
+
+        if (unsupported.anyTrue()) {
+            return NEEDS_FALLBACK;
+        }
+        int mask = 0;
+        if (letters.anyTrue()) mask |= PasswordClassifier.TYPE_LETTER;
+        if (digits.anyTrue()) mask |= PasswordClassifier.TYPE_NUMBER;
+        if (specials.anyTrue()) mask |= PasswordClassifier.TYPE_SPECIAL;
+        return mask;
+    }
+
+    /** Versão escalar de vectorTypes. */
+    private static int scalarTypes(byte[] data, int start, int end) {
+        int mask = 0;
+        for (int i = start; i < end; i++) {
+            byte b = data[i];
+            if (b < 0 || b == '\n' || b == '\r') {
+                return NEEDS_FALLBACK;
+            }
+            int folded = b | 0x20;
+            if (folded >= 'a' && folded <= 'z') {
+                mask |= PasswordClassifier.TYPE_LETTER;
+            } else if (b >= '0' && b <= '9') {
+                mask |= PasswordClassifier.TYPE_NUMBER;
+            } else {
+                mask |= PasswordClassifier.TYPE_SPECIAL;
+            }
+        }
+        return mask;
+    }
+
+    /** Caminho escalar original (expressões regulares sobre String) para senhas não-ASCII. */
+    private static byte fallback(byte[] data, int start, int end) {
+        String password = new String(data, start, end - start, StandardCharsets.UTF_8);
+        return PasswordClassifier.labelCode(password.length(), PasswordClassifier.characterTypes(password));
+    }
+
+    /** Gera senhas pseudoaleatórias reprodutíveis, com uma pequena fração não-ASCII. */
+    private static String[] randomPasswords(int count, long seed) {
+        String letters = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ";
+        String digits = "0123456789";
+        String specials = "!@#$%&*_-+=.?/ ";
+        Random random = new Random(seed);
+        String[] passwords = new String[count];
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sb.setLength(0);
+            int length = 1 + random.nextInt(16);
+            int style = random.nextInt(7) + 1; // Quais tipos de caracteres a senha pode usar
+            for (int j = 0; j < length; j++) {
+                int kind;
+                do {
+                    kind = 1 << random.nextInt(3);
+                } while ((style & kind) == 0);
+                String pool = kind == 1 ? letters : kind == 2 ? digits : specials;
+                sb.append(pool.charAt(random.nextInt(pool.length())));
+            }
+            if (random.nextInt(1000) == 0) {
+                sb.append(random.nextBoolean() ? 'ç' : '\n');
+            }
+            passwords[i] = sb.toString();
+        }
+        return passwords;
+    }
+}
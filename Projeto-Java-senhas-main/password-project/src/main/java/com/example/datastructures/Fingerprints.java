@@ -0,0 +1,48 @@
+package com.example.datastructures;
+
+/**
+ * Funções de hash de 64 bits usadas como "impressão digital" (fingerprint) de strings.
+ * Com 64 bits, a chance de duas senhas diferentes terem o mesmo fingerprint é
+ * desprezível mesmo em listas com centenas de milhões de entradas, o que permite
+ * guardar apenas um long por senha em vez da String inteira.
+ */
+public final class Fingerprints {
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private Fingerprints() {
+    }
+
+    /**
+     * Calcula o fingerprint de 64 bits de uma string.
+     * Percorre os caracteres com FNV-1a e aplica a finalização do MurmurHash3
+     * para espalhar bem os bits (necessário para o uso em Bloom filters e tabelas abertas).
+     *
+     * @param s A string (não nula).
+     * @return O fingerprint de 64 bits.
+     */
+    public static long of(String s) {
+        long h = FNV_OFFSET;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            h = (h ^ (c & 0xff)) * FNV_PRIME;
+            h = (h ^ (c >>> 8)) * FNV_PRIME;
+        }
+        return mix(h ^ s.length());
+    }
+
+    /**
+     * Finalizador de 64 bits do MurmurHash3 (fmix64).
+     *
+     * @param h O valor a ser misturado.
+     * @return O valor com os bits bem distribuídos.
+     */
+    public static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
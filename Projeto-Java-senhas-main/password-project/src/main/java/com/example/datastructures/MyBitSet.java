@@ -0,0 +1,168 @@
+package com.example.datastructures;
+
+/**
+ * Conjunto de bits de tamanho fixo, guardado em um long[] (um bit por linha de registro).
+ * Usado como índice bitmap: cada bit indica se a linha pertence ao conjunto, e a interseção
+ * de dois índices é um AND palavra a palavra (64 linhas por operação).
+ */
+public class MyBitSet {
+    private final long[] words;
+    private final int size; // Número de bits
+
+    /**
+     * Cria um conjunto vazio com {@code size} bits.
+     *
+     * @param size O número de bits.
+     * @throws IllegalArgumentException se o tamanho for negativo.
+     */
+    public MyBitSet(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Tamanho inválido: " + size);
+        }
+        this.size = size;
+        this.words = new long[(size + 63) >>> 6];
+    }
+
+    /**
+     * Marca o bit especificado.
+     *
+     * @param index O índice do bit.
+     * @throws IndexOutOfBoundsException se o índice estiver fora dos limites.
+     */
+    public void set(int index) {
+        checkIndex(index);
+        words[index >>> 6] |= 1L << index;
+    }
+
+    /**
+     * Marca todos os bits do intervalo {@code [fromIndex, toIndex)}.
+     *
+     * @param fromIndex Índice inicial (inclusivo).
+     * @param toIndex Índice final (exclusivo).
+     */
+    public void set(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("Intervalo inválido: [" + fromIndex + ", " + toIndex + "), Tamanho: " + size);
+        }
+        for (int i = fromIndex; i < toIndex; i++) {
+            words[i >>> 6] |= 1L << i;
+        }
+    }
+
+    /**
+     * Verifica se o bit especificado está marcado.
+     *
+     * @param index O índice do bit.
+     * @return true se estiver marcado.
+     */
+    public boolean get(int index) {
+        checkIndex(index);
+        return (words[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Retorna uma cópia independente deste conjunto.
+     *
+     * @return Um novo conjunto com os mesmos bits marcados.
+     */
+    public MyBitSet copy() {
+        MyBitSet result = new MyBitSet(size);
+        System.arraycopy(words, 0, result.words, 0, words.length);
+        return result;
+    }
+
+    /**
+     * Retorna a interseção deste conjunto com outro, em um novo conjunto.
+     *
+     * @param other O outro conjunto (do mesmo tamanho).
+     * @return Os bits marcados nos dois.
+     */
+    public MyBitSet and(MyBitSet other) {
+        checkSameSize(other);
+        MyBitSet result = new MyBitSet(size);
+        for (int i = 0; i < words.length; i++) {
+            result.words[i] = words[i] & other.words[i];
+        }
+        return result;
+    }
+
+    /**
+     * Retorna a união deste conjunto com outro, em um novo conjunto.
+     *
+     * @param other O outro conjunto (do mesmo tamanho).
+     * @return Os bits marcados em qualquer um dos dois.
+     */
+    public MyBitSet or(MyBitSet other) {
+        checkSameSize(other);
+        MyBitSet result = new MyBitSet(size);
+        for (int i = 0; i < words.length; i++) {
+            result.words[i] = words[i] | other.words[i];
+        }
+        return result;
+    }
+
+    /** @return O número de bits marcados. */
+    public int cardinality() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Retorna o índice do próximo bit marcado a partir de {@code fromIndex}, ou -1 se não houver.
+     *
+     * @param fromIndex O índice inicial (inclusivo).
+     * @return O índice do próximo bit marcado, ou -1.
+     */
+    public int nextSetBit(int fromIndex) {
+        if (fromIndex < 0) {
+            throw new IndexOutOfBoundsException("Índice negativo: " + fromIndex);
+        }
+        if (fromIndex >= size) {
+            return -1;
+        }
+        int w = fromIndex >>> 6;
+        long word = words[w] & (-1L << fromIndex);
+        while (true) {
+            if (word != 0) {
+                return (w << 6) + Long.numberOfTrailingZeros(word);
+            }
+            if (++w == words.length) {
+                return -1;
+            }
+            word = words[w];
+        }
+    }
+
+    /**
+     * Converte os bits marcados em um array de índices, em ordem crescente.
+     *
+     * @return Os índices dos bits marcados.
+     */
+    public MyIntArray toIntArray() {
+        MyIntArray result = new MyIntArray(cardinality());
+        for (int i = nextSetBit(0); i >= 0; i = nextSetBit(i + 1)) {
+            result.add(i);
+        }
+        return result;
+    }
+
+    /** @return O número de bits do conjunto. */
+    public int size() {
+        return size;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Índice fora dos limites: " + index + ", Tamanho: " + size);
+        }
+    }
+
+    private void checkSameSize(MyBitSet other) {
+        if (other.size != size) {
+            throw new IllegalArgumentException("Conjuntos de tamanhos diferentes: " + size + " e " + other.size);
+        }
+    }
+}
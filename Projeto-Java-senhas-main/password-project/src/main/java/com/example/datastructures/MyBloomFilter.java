@@ -0,0 +1,172 @@
+package com.example.datastructures;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Uma implementação de Bloom filter sobre fingerprints de 64 bits.
+ * Responde "talvez contém" ou "certamente não contém" usando apenas alguns bits por
+ * elemento, em vez de guardar os elementos em si. A taxa de falsos positivos é
+ * escolhida na construção e determina o tamanho do vetor de bits e o número de hashes.
+ *
+ * Os k índices são derivados do fingerprint por hashing duplo (h1 + i * h2).
+ */
+public class MyBloomFilter {
+    private static final int MAGIC = 0x424c4f4d; // "BLOM"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 4 + 4 + 4 + 8 + 8;
+
+    private final long[] bits;
+    private final long numBits;
+    private final int numHashes;
+    private long insertions;
+
+    /**
+     * Construtor para MyBloomFilter dimensionado para o número esperado de elementos.
+     *
+     * @param expectedInsertions O número de elementos que serão inseridos.
+     * @param falsePositiveRate A taxa de falsos positivos desejada (entre 0 e 1, exclusive).
+     * @throws IllegalArgumentException se os parâmetros forem inválidos.
+     */
+    public MyBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("Número esperado de inserções inválido: " + expectedInsertions);
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("Taxa de falsos positivos inválida: " + falsePositiveRate);
+        }
+        double ln2 = Math.log(2);
+        long m = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2));
+        m = Math.max(64, (m + 63) & ~63L); // Arredonda para um múltiplo de 64 bits
+        if (m / 64 > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Bloom filter grande demais para um único array: " + m + " bits");
+        }
+        this.numBits = m;
+        this.numHashes = Math.max(1, (int) Math.round((double) m / expectedInsertions * ln2));
+        this.bits = new long[(int) (m / 64)];
+    }
+
+    private MyBloomFilter(long[] bits, int numHashes, long insertions) {
+        this.bits = bits;
+        this.numBits = (long) bits.length * 64;
+        this.numHashes = numHashes;
+        this.insertions = insertions;
+    }
+
+    /**
+     * Adiciona um fingerprint ao filtro.
+     *
+     * @param fingerprint O fingerprint de 64 bits (veja {@link Fingerprints#of(String)}).
+     */
+    public void add(long fingerprint) {
+        long h1 = fingerprint;
+        long h2 = Fingerprints.mix(fingerprint) | 1L;
+        for (int i = 0; i < numHashes; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, numBits);
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+        }
+        insertions++;
+    }
+
+    /**
+     * Verifica se o fingerprint pode ter sido inserido.
+     *
+     * @param fingerprint O fingerprint de 64 bits.
+     * @return false se certamente não foi inserido; true se talvez tenha sido.
+     */
+    public boolean mightContain(long fingerprint) {
+        long h1 = fingerprint;
+        long h2 = Fingerprints.mix(fingerprint) | 1L;
+        for (int i = 0; i < numHashes; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, numBits);
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** @return O tamanho do vetor de bits. */
+    public long getNumBits() {
+        return numBits;
+    }
+
+    /** @return O número de funções de hash usadas por elemento. */
+    public int getNumHashes() {
+        return numHashes;
+    }
+
+    /** @return O número de inserções feitas. */
+    public long getInsertions() {
+        return insertions;
+    }
+
+    /**
+     * Grava o filtro em disco, para que não precise ser reconstruído a cada execução.
+     *
+     * @param path O arquivo de destino.
+     * @throws IOException se não for possível gravar o arquivo.
+     */
+    public void writeTo(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(numHashes).putLong(bits.length).putLong(insertions).flip();
+            while (header.hasRemaining()) channel.write(header);
+
+            ByteBuffer chunk = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+            LongBuffer longs = chunk.asLongBuffer();
+            for (int offset = 0; offset < bits.length; ) {
+                int n = Math.min(longs.capacity(), bits.length - offset);
+                longs.clear();
+                longs.put(bits, offset, n);
+                chunk.clear().limit(n * 8);
+                while (chunk.hasRemaining()) channel.write(chunk);
+                offset += n;
+            }
+        }
+    }
+
+    /**
+     * Carrega um filtro gravado por {@link #writeTo(Path)}.
+     *
+     * @param path O arquivo do filtro.
+     * @return O filtro carregado.
+     * @throws IOException se o arquivo não existir ou não for um Bloom filter válido.
+     */
+    public static MyBloomFilter readFrom(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header) > 0) { }
+            header.flip();
+            if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException("Arquivo não é um Bloom filter válido: " + path);
+            }
+            int numHashes = header.getInt();
+            long words = header.getLong();
+            long insertions = header.getLong();
+            if (numHashes <= 0 || words <= 0 || words > Integer.MAX_VALUE - 8
+                    || channel.size() != HEADER_BYTES + words * 8) {
+                throw new IOException("Bloom filter corrompido: " + path);
+            }
+
+            long[] bits = new long[(int) words];
+            ByteBuffer chunk = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+            LongBuffer longs = chunk.asLongBuffer();
+            for (int offset = 0; offset < bits.length; ) {
+                int n = Math.min(longs.capacity(), bits.length - offset);
+                chunk.clear().limit(n * 8);
+                while (chunk.hasRemaining() && channel.read(chunk) > 0) { }
+                longs.clear();
+                longs.get(bits, offset, n);
+                offset += n;
+            }
+            return new MyBloomFilter(bits, numHashes, insertions);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.datastructures;
+
+/**
+ * Interface comum para os caches de memoização do projeto.
+ * Permite que o classificador use tanto o cache sequencial ({@link MyLRUCache})
+ * quanto a variante segura para múltiplas threads ({@link MyStripedLRUCache}).
+ *
+ * @param <K> O tipo da chave.
+ * @param <V> O tipo do valor.
+ */
+public interface MyCache<K, V> {
+
+    /**
+     * Retorna o valor associado à chave, ou null se não estiver no cache.
+     * Conta um acerto (hit) ou uma falha (miss).
+     *
+     * @param key A chave procurada.
+     * @return O valor em cache, ou null.
+     */
+    V get(K key);
+
+    /**
+     * Insere ou atualiza a chave no cache, descartando a entrada menos usada se necessário.
+     *
+     * @param key A chave.
+     * @param value O valor (não nulo).
+     */
+    void put(K key, V value);
+
+    /** @return O número de entradas atualmente no cache. */
+    int size();
+
+    /** @return O número de consultas que encontraram a chave. */
+    long getHits();
+
+    /** @return O número de consultas que não encontraram a chave. */
+    long getMisses();
+
+    /** @return O número de entradas descartadas por falta de capacidade. */
+    long getEvictions();
+
+    /**
+     * Retorna a taxa de acertos (hits / consultas), entre 0 e 1.
+     *
+     * @return A taxa de acertos, ou 0 se nenhuma consulta foi feita.
+     */
+    default double getHitRate() {
+        long total = getHits() + getMisses();
+        return total == 0 ? 0.0 : (double) getHits() / total;
+    }
+}
@@ -0,0 +1,245 @@
+package com.example.datastructures;
+
+import java.util.Arrays; // Usado para Arrays.copyOf no crescimento do diretório
+
+/**
+ * Array dinâmico segmentado: os elementos ficam em segmentos de tamanho fixo (potência de 2)
+ * apontados por um diretório.
+ *
+ * Ao contrário de {@link MyDynamicArray}, crescer nunca copia os elementos já inseridos:
+ * basta alocar mais um segmento e, de vez em quando, dobrar o diretório (que tem só uma
+ * referência por segmento). Com dezenas de milhões de linhas isso evita as alocações gigantes
+ * ("humongous" no G1) e as pausas da cópia de {@code Arrays.copyOf}. O acesso por índice
+ * continua O(1), com um deslocamento de bits e uma máscara.
+ *
+ * @param <T> O tipo de elementos que o array armazenará.
+ */
+public class MyChunkedArray<T> implements MyList<T> {
+    private static final int DEFAULT_SEGMENT_BITS = 14; // 16384 elementos (64 KB de referências) por segmento
+    private static final int DEFAULT_DIRECTORY_CAPACITY = 4;
+
+    private final int segmentBits;
+    private final int segmentSize;
+    private final int segmentMask;
+    private Object[][] segments; // Diretório de segmentos
+    private int segmentCount;    // Número de segmentos alocados
+    private int size;            // Número atual de elementos
+
+    /**
+     * Construtor com segmentos de 16384 elementos.
+     */
+    public MyChunkedArray() {
+        this(DEFAULT_SEGMENT_BITS);
+    }
+
+    /**
+     * Construtor com segmentos de {@code 2^segmentBits} elementos.
+     *
+     * @param segmentBits Log2 do tamanho de cada segmento (entre 1 e 24).
+     * @throws IllegalArgumentException se o tamanho for inválido.
+     */
+    public MyChunkedArray(int segmentBits) {
+        if (segmentBits < 1 || segmentBits > 24) {
+            throw new IllegalArgumentException("Tamanho de segmento inválido: 2^" + segmentBits);
+        }
+        this.segmentBits = segmentBits;
+        this.segmentSize = 1 << segmentBits;
+        this.segmentMask = segmentSize - 1;
+        this.segments = new Object[DEFAULT_DIRECTORY_CAPACITY][];
+    }
+
+    /**
+     * Adiciona um elemento ao final. Quando o último segmento está cheio, aloca um novo,
+     * sem copiar os existentes.
+     *
+     * @param element O elemento a ser adicionado.
+     */
+    @Override
+    public void add(T element) {
+        if (size == segmentCount << segmentBits) {
+            addSegment();
+        }
+        segments[size >>> segmentBits][size & segmentMask] = element;
+        size++;
+    }
+
+    /**
+     * Adiciona todos os elementos de um array ao final, segmento a segmento.
+     *
+     * @param elements Os elementos a serem adicionados.
+     */
+    public void addAll(T[] elements) {
+        ensureCapacity(size + elements.length);
+        int copied = 0;
+        while (copied < elements.length) {
+            int offset = size & segmentMask;
+            int count = Math.min(segmentSize - offset, elements.length - copied);
+            System.arraycopy(elements, copied, segments[size >>> segmentBits], offset, count);
+            size += count;
+            copied += count;
+        }
+    }
+
+    /**
+     * Adiciona todos os elementos de outro MyChunkedArray ao final.
+     *
+     * @param other O array cujos elementos serão adicionados.
+     */
+    @SuppressWarnings("unchecked")
+    public void addAll(MyChunkedArray<? extends T> other) {
+        ensureCapacity(size + other.size);
+        for (int i = 0; i < other.size; i++) {
+            add((T) other.segments[i >>> other.segmentBits][i & other.segmentMask]);
+        }
+    }
+
+    /**
+     * Garante que haja segmentos para pelo menos o número de elementos especificado.
+     *
+     * @param minCapacity A capacidade mínima desejada.
+     */
+    public void ensureCapacity(int minCapacity) {
+        while ((long) segmentCount << segmentBits < minCapacity) {
+            addSegment();
+        }
+    }
+
+    /**
+     * Libera os segmentos que ficaram inteiramente vazios e reduz o diretório.
+     */
+    public void trimToSize() {
+        int needed = (size + segmentMask) >>> segmentBits;
+        for (int s = needed; s < segmentCount; s++) {
+            segments[s] = null;
+        }
+        segmentCount = needed;
+        if (segments.length > needed) {
+            segments = Arrays.copyOf(segments, Math.max(needed, 1));
+        }
+    }
+
+    /**
+     * Retorna o elemento na posição especificada.
+     *
+     * @param index O índice do elemento a ser retornado.
+     * @return O elemento na posição especificada.
+     * @throws IndexOutOfBoundsException se o índice estiver fora dos limites (index < 0 ou index >= size).
+     */
+    @Override
+    @SuppressWarnings("unchecked") // Supressão para o cast seguro de Object para T
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Índice fora dos limites: " + index + ", Tamanho: " + size);
+        }
+        return (T) segments[index >>> segmentBits][index & segmentMask];
+    }
+
+    /**
+     * Define o elemento na posição especificada.
+     *
+     * @param index O índice do elemento a ser definido.
+     * @param element O novo elemento.
+     * @throws IndexOutOfBoundsException se o índice estiver fora dos limites (index < 0 ou index >= size).
+     */
+    @Override
+    public void set(int index, T element) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Índice fora dos limites para set: " + index + ", Tamanho: " + size);
+        }
+        segments[index >>> segmentBits][index & segmentMask] = element;
+    }
+
+    /**
+     * Remove o elemento na posição especificada, deslocando os seguintes para a esquerda
+     * (uma cópia por segmento, mais o elemento que atravessa a fronteira de cada um).
+     *
+     * @param index O índice do elemento a ser removido.
+     * @throws IndexOutOfBoundsException se o índice estiver fora dos limites (index < 0 ou index >= size).
+     */
+    public void remove(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Índice fora dos limites: " + index + ", Tamanho: " + size);
+        }
+        int last = size - 1;
+        int s = index >>> segmentBits;
+        int offset = index & segmentMask;
+        int lastSegment = last >>> segmentBits;
+        while (s <= lastSegment) {
+            Object[] segment = segments[s];
+            int end = s == lastSegment ? (last & segmentMask) : segmentMask;
+            System.arraycopy(segment, offset + 1, segment, offset, end - offset);
+            if (s < lastSegment) {
+                segment[segmentMask] = segments[s + 1][0]; // Primeiro elemento do próximo segmento
+            }
+            s++;
+            offset = 0;
+        }
+        segments[lastSegment][last & segmentMask] = null;
+        size = last;
+    }
+
+    /**
+     * Troca os elementos em duas posições.
+     *
+     * @param i O índice do primeiro elemento.
+     * @param j O índice do segundo elemento.
+     * @throws IndexOutOfBoundsException se algum índice estiver fora dos limites.
+     */
+    public void swap(int i, int j) {
+        if (i < 0 || i >= size || j < 0 || j >= size) {
+            throw new IndexOutOfBoundsException("Índices fora dos limites para swap: " + i + ", " + j + ", Tamanho: " + size);
+        }
+        Object[] si = segments[i >>> segmentBits];
+        Object[] sj = segments[j >>> segmentBits];
+        Object temp = si[i & segmentMask];
+        si[i & segmentMask] = sj[j & segmentMask];
+        sj[j & segmentMask] = temp;
+    }
+
+    /**
+     * Retorna o número de elementos atualmente no array.
+     *
+     * @return O número de elementos no array.
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Verifica se o array está vazio.
+     *
+     * @return true se o array não contiver elementos, false caso contrário.
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Retorna uma representação em array dos elementos (uma nova instância).
+     *
+     * @return Um array contendo todos os elementos na ordem correta.
+     */
+    @SuppressWarnings("unchecked")
+    public T[] toArray() {
+        Object[] result = new Object[size];
+        for (int s = 0; s * segmentSize < size; s++) {
+            System.arraycopy(segments[s], 0, result, s * segmentSize, Math.min(segmentSize, size - s * segmentSize));
+        }
+        return (T[]) result;
+    }
+
+    /**
+     * Aloca mais um segmento, dobrando o diretório se necessário.
+     */
+    private void addSegment() {
+        if (segmentCount == Integer.MAX_VALUE >>> segmentBits) {
+            throw new IllegalStateException("MyChunkedArray atingiu a capacidade máxima");
+        }
+        if (segmentCount == segments.length) {
+            segments = Arrays.copyOf(segments, Math.max(DEFAULT_DIRECTORY_CAPACITY, segments.length * 2));
+        }
+        segments[segmentCount++] = new Object[segmentSize];
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.datastructures;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Mapa de contadores (chave -> long) seguro para múltiplas threads, usado para agregar
+ * contagens (ex: classificações de senhas) quando o processamento é paralelo.
+ *
+ * - As chaves ficam em segmentos independentes (lock striping): cada segmento é uma MyHashMap
+ *   protegida pelo seu próprio lock, usado apenas para criar o contador de uma chave nova.
+ * - Cada chave tem um {@link LongAdder}, que espalha os incrementos concorrentes em células
+ *   separadas; assim, chaves muito frequentes ("fraca", "ruim") não viram um ponto de disputa.
+ * - Cada thread guarda os contadores que já resolveu em um cache local, de modo que os
+ *   incrementos de chaves conhecidas não passam por nenhum lock.
+ *
+ * @param <K> O tipo da chave.
+ */
+public class MyConcurrentCounterMap<K> {
+    private final MyHashMap<K, LongAdder>[] segments;
+    private final ReentrantLock[] locks;
+    private final ThreadLocal<MyHashMap<K, LongAdder>> localCounters = ThreadLocal.withInitial(MyHashMap::new);
+
+    /**
+     * Construtor com um segmento por processador disponível (vezes quatro).
+     */
+    public MyConcurrentCounterMap() {
+        this(Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    /**
+     * Construtor para MyConcurrentCounterMap.
+     *
+     * @param segmentCount O número de segmentos (arredondado para a próxima potência de dois).
+     */
+    @SuppressWarnings("unchecked") // Cast seguro para array de MyHashMap
+    public MyConcurrentCounterMap(int segmentCount) {
+        if (segmentCount <= 0) {
+            throw new IllegalArgumentException("Número de segmentos inválido: " + segmentCount);
+        }
+        int count = 1;
+        while (count < segmentCount) {
+            count <<= 1;
+        }
+        this.segments = (MyHashMap<K, LongAdder>[]) new MyHashMap<?, ?>[count];
+        this.locks = new ReentrantLock[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new MyHashMap<>();
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Incrementa em 1 o contador da chave.
+     *
+     * @param key A chave.
+     */
+    public void increment(K key) {
+        add(key, 1L);
+    }
+
+    /**
+     * Soma um valor ao contador da chave, criando-o se necessário.
+     *
+     * @param key A chave.
+     * @param delta O valor a somar.
+     */
+    public void add(K key, long delta) {
+        MyHashMap<K, LongAdder> local = localCounters.get();
+        LongAdder counter = local.get(key);
+        if (counter == null) {
+            counter = counterFor(key);
+            local.put(key, counter);
+        }
+        counter.add(delta);
+    }
+
+    /**
+     * Retorna o valor atual do contador da chave (0 se a chave nunca foi contada).
+     *
+     * @param key A chave.
+     * @return O valor do contador.
+     */
+    public long get(K key) {
+        int s = segmentFor(key);
+        locks[s].lock();
+        try {
+            LongAdder counter = segments[s].get(key);
+            return counter == null ? 0L : counter.sum();
+        } finally {
+            locks[s].unlock();
+        }
+    }
+
+    /**
+     * Retorna uma cópia das contagens, para a iteração do resumo final.
+     * Todos os segmentos ficam bloqueados durante a cópia, então o conjunto de chaves é
+     * consistente; os valores são exatos quando as threads que incrementam já terminaram
+     * (o caso do resumo de fim de execução).
+     *
+     * @return Uma MyHashMap independente com o valor de cada contador.
+     */
+    public MyHashMap<K, Long> snapshot() {
+        for (ReentrantLock lock : locks) {
+            lock.lock();
+        }
+        try {
+            MyHashMap<K, Long> copy = new MyHashMap<>();
+            for (MyHashMap<K, LongAdder> segment : segments) {
+                MyDynamicArray<K> keys = segment.keySet();
+                for (int i = 0; i < keys.size(); i++) {
+                    K key = keys.get(i);
+                    copy.put(key, segment.get(key).sum());
+                }
+            }
+            return copy;
+        } finally {
+            for (int i = locks.length - 1; i >= 0; i--) {
+                locks[i].unlock();
+            }
+        }
+    }
+
+    /** Obtém (ou cria, sob o lock do segmento) o contador compartilhado da chave. */
+    private LongAdder counterFor(K key) {
+        int s = segmentFor(key);
+        locks[s].lock();
+        try {
+            LongAdder counter = segments[s].get(key);
+            if (counter == null) {
+                counter = new LongAdder();
+                segments[s].put(key, counter);
+            }
+            return counter;
+        } finally {
+            locks[s].unlock();
+        }
+    }
+
+    /** Escolhe o segmento a partir dos bits espalhados do hash da chave. */
+    private int segmentFor(K key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return h & (segments.length - 1);
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.datastructures;
+
+import java.util.Arrays; // Usado apenas para Arrays.copyOf no redimensionamento dos arrays de códigos
+
+/**
+ * Coluna codificada por dicionário: cada valor distinto é guardado uma única vez e cada linha
+ * guarda só o código (índice no dicionário) do seu valor.
+ *
+ * Feita para colunas de baixa cardinalidade, como a classificação ("boa", "fraca", ...) e a data
+ * dos registros: em vez de uma String por linha, a coluna custa um código por linha mais uma
+ * String por valor distinto. Os códigos começam em byte[] e passam para short[] e depois int[]
+ * só quando o número de valores distintos exige (mais de 256 e mais de 65.536 valores).
+ *
+ * O dicionário é um {@link MyHashMap} de valor para código, e a tabela inversa é um
+ * {@link MyDynamicArray}, então decodificar é uma leitura de array. Valores null não são aceitos.
+ */
+public class MyDictionaryColumn {
+    private static final int DEFAULT_CAPACITY = 16; // Capacidade inicial padrão (linhas)
+
+    private final MyHashMap<String, Integer> codes = new MyHashMap<>(); // Valor -> código
+    private final MyDynamicArray<String> values = new MyDynamicArray<>(); // Código -> valor
+
+    // Apenas um dos três arrays está em uso, conforme a largura atual dos códigos.
+    private byte[] byteCodes;
+    private short[] shortCodes;
+    private int[] intCodes;
+    private int size; // Número de linhas
+
+    /**
+     * Construtor para MyDictionaryColumn com capacidade inicial padrão.
+     */
+    public MyDictionaryColumn() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Construtor para MyDictionaryColumn com capacidade inicial especificada.
+     *
+     * @param initialCapacity A capacidade inicial, em linhas.
+     * @throws IllegalArgumentException se a capacidade for negativa.
+     */
+    public MyDictionaryColumn(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Capacidade inicial inválida: " + initialCapacity);
+        }
+        this.byteCodes = new byte[initialCapacity];
+    }
+
+    /**
+     * Retorna o código de um valor, incluindo-o no dicionário se ainda não estiver lá.
+     * Não adiciona uma linha à coluna.
+     *
+     * @param value O valor.
+     * @return O código do valor (de 0 a cardinality() - 1).
+     * @throws NullPointerException se o valor for null.
+     */
+    public int encode(String value) {
+        if (value == null) {
+            throw new NullPointerException("MyDictionaryColumn não aceita valores null.");
+        }
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = values.size();
+            codes.put(value, code);
+            values.add(value);
+        }
+        return code;
+    }
+
+    /**
+     * Adiciona uma linha com o valor especificado ao final da coluna.
+     *
+     * @param value O valor da linha.
+     * @return O código do valor.
+     * @throws NullPointerException se o valor for null.
+     */
+    public int add(String value) {
+        int code = encode(value);
+        widenFor(code);
+        ensureCapacity(size + 1);
+        if (intCodes != null) {
+            intCodes[size] = code;
+        } else if (shortCodes != null) {
+            shortCodes[size] = (short) code;
+        } else {
+            byteCodes[size] = (byte) code;
+        }
+        size++;
+        return code;
+    }
+
+    /**
+     * Retorna o código da linha especificada.
+     *
+     * @param row O índice da linha.
+     * @return O código do valor da linha.
+     * @throws IndexOutOfBoundsException se o índice estiver fora dos limites.
+     */
+    public int code(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Índice: " + row + ", Tamanho: " + size);
+        }
+        if (intCodes != null) return intCodes[row];
+        if (shortCodes != null) return shortCodes[row] & 0xFFFF;
+        return byteCodes[row] & 0xFF;
+    }
+
+    /**
+     * Retorna o valor (decodificado) da linha especificada.
+     *
+     * @param row O índice da linha.
+     * @return O valor da linha (a mesma instância para todas as linhas com o mesmo valor).
+     * @throws IndexOutOfBoundsException se o índice estiver fora dos limites.
+     */
+    public String get(int row) {
+        return values.get(code(row));
+    }
+
+    /**
+     * Retorna o valor de um código.
+     *
+     * @param code O código.
+     * @return O valor.
+     * @throws IndexOutOfBoundsException se o código não existir.
+     */
+    public String value(int code) {
+        return values.get(code);
+    }
+
+    /**
+     * Retorna o código de um valor, sem incluí-lo no dicionário.
+     *
+     * @param value O valor.
+     * @return O código, ou -1 se o valor não estiver no dicionário.
+     */
+    public int codeOf(String value) {
+        Integer code = value == null ? null : codes.get(value);
+        return code == null ? -1 : code;
+    }
+
+    /**
+     * @return O número de valores distintos no dicionário.
+     */
+    public int cardinality() {
+        return values.size();
+    }
+
+    /**
+     * @return O número de linhas na coluna.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return A largura atual de cada código, em bytes (1, 2 ou 4).
+     */
+    public int bytesPerCode() {
+        return intCodes != null ? 4 : shortCodes != null ? 2 : 1;
+    }
+
+    /**
+     * Promove o array de códigos para a próxima largura quando o código não cabe na atual.
+     * Cada promoção copia as linhas uma única vez.
+     */
+    private void widenFor(int code) {
+        if (intCodes == null && shortCodes == null && code > 0xFF) {
+            shortCodes = new short[Math.max(byteCodes.length, DEFAULT_CAPACITY)];
+            for (int i = 0; i < size; i++) {
+                shortCodes[i] = (short) (byteCodes[i] & 0xFF);
+            }
+            byteCodes = null;
+        }
+        if (intCodes == null && shortCodes != null && code > 0xFFFF) {
+            intCodes = new int[shortCodes.length];
+            for (int i = 0; i < size; i++) {
+                intCodes[i] = shortCodes[i] & 0xFFFF;
+            }
+            shortCodes = null;
+        }
+    }
+
+    /**
+     * Garante capacidade para pelo menos minCapacity linhas, dobrando o array atual.
+     */
+    private void ensureCapacity(int minCapacity) {
+        int capacity = intCodes != null ? intCodes.length : shortCodes != null ? shortCodes.length : byteCodes.length;
+        if (minCapacity <= capacity) return;
+        int newCapacity = Math.max(capacity * 2, Math.max(minCapacity, DEFAULT_CAPACITY));
+        if (intCodes != null) {
+            intCodes = Arrays.copyOf(intCodes, newCapacity);
+        } else if (shortCodes != null) {
+            shortCodes = Arrays.copyOf(shortCodes, newCapacity);
+        } else {
+            byteCodes = Arrays.copyOf(byteCodes, newCapacity);
+        }
+    }
+}
@@ -1,6 +1,13 @@
 package com.example.datastructures;
 
-import java.util.Arrays; // Usado apenas para Arrays.copyOf para redimensionamento do array interno
+import java.util.Arrays; // Usado para Arrays.copyOf no redimensionamento e Arrays.sort na ordenação in-place
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Uma implementação de um Array Dinâmico personalizado.
@@ -10,7 +17,7 @@ import java.util.Arrays; // Usado apenas para Arrays.copyOf para redimensionamen
  *
  * @param <T> O tipo de elementos que o array dinâmico armazenará.
  */
-public class MyDynamicArray<T> {
+public class MyDynamicArray<T> implements MyList<T>, Iterable<T> {
     private Object[] data; // Array interno para armazenar os elementos
     private int size;      // Número atual de elementos no array
     private static final int DEFAULT_CAPACITY = 10; // Capacidade inicial padrão
@@ -23,12 +30,29 @@ public class MyDynamicArray<T> {
         this.size = 0; // O array começa vazio
     }
 
+    /**
+     * Construtor para MyDynamicArray com capacidade inicial especificada.
+     * Quando o número de elementos é conhecido (ou estimável), evita as cópias
+     * sucessivas do redimensionamento.
+     *
+     * @param initialCapacity A capacidade inicial.
+     * @throws IllegalArgumentException se a capacidade for negativa.
+     */
+    public MyDynamicArray(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Capacidade inicial inválida: " + initialCapacity);
+        }
+        this.data = new Object[initialCapacity];
+        this.size = 0;
+    }
+
     /**
      * Adiciona um elemento ao final do array dinâmico.
      * Se a capacidade for excedida, o array é redimensionado para o dobro do tamanho.
      *
      * @param element O elemento a ser adicionado.
      */
+    @Override
     public void add(T element) {
         // Se o número de elementos for igual à capacidade, redimensiona o array
         if (size == data.length) {
@@ -37,6 +61,49 @@ public class MyDynamicArray<T> {
         data[size++] = element; // Adiciona o elemento e incrementa o tamanho
     }
 
+    /**
+     * Adiciona todos os elementos de um array ao final, com no máximo um redimensionamento.
+     *
+     * @param elements Os elementos a serem adicionados.
+     */
+    public void addAll(T[] elements) {
+        ensureCapacity(size + elements.length);
+        System.arraycopy(elements, 0, data, size, elements.length);
+        size += elements.length;
+    }
+
+    /**
+     * Adiciona todos os elementos de outro MyDynamicArray ao final, com no máximo um redimensionamento.
+     *
+     * @param other O array cujos elementos serão adicionados.
+     */
+    public void addAll(MyDynamicArray<? extends T> other) {
+        ensureCapacity(size + other.size);
+        System.arraycopy(other.data, 0, data, size, other.size);
+        size += other.size;
+    }
+
+    /**
+     * Garante que o array interno comporte pelo menos o número de elementos especificado.
+     *
+     * @param minCapacity A capacidade mínima desejada.
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > data.length) {
+            // Cresce pelo menos para o dobro, para manter o custo amortizado O(1) de add.
+            data = Arrays.copyOf(data, Math.max(minCapacity, data.length * 2));
+        }
+    }
+
+    /**
+     * Reduz a capacidade do array interno ao número atual de elementos, liberando a sobra.
+     */
+    public void trimToSize() {
+        if (data.length > size) {
+            data = Arrays.copyOf(data, size);
+        }
+    }
+
     /**
      * Retorna o elemento na posição especificada.
      *
@@ -44,6 +111,7 @@ public class MyDynamicArray<T> {
      * @return O elemento na posição especificada.
      * @throws IndexOutOfBoundsException se o índice estiver fora dos limites (index < 0 ou index >= size).
      */
+    @Override
     @SuppressWarnings("unchecked") // Supressão para o cast seguro de Object para T
     public T get(int index) {
         // Verifica se o índice está dentro dos limites válidos
@@ -60,6 +128,7 @@ public class MyDynamicArray<T> {
      * @param element O novo elemento a ser armazenado na posição especificada.
      * @throws IndexOutOfBoundsException se o índice estiver fora dos limites (index < 0 ou index >= size).
      */
+    @Override
     public void set(int index, T element) { // CORREÇÃO: Novo método set para modificar elementos
         if (index < 0 || index >= size) {
             throw new IndexOutOfBoundsException("Índice fora dos limites para set: " + index + ", Tamanho: " + size);
@@ -84,11 +153,161 @@ public class MyDynamicArray<T> {
         data[--size] = null; // Define o último elemento como null e decrementa o tamanho
     }
 
+    /**
+     * Troca os elementos em duas posições diretamente no array interno.
+     *
+     * @param i O índice do primeiro elemento.
+     * @param j O índice do segundo elemento.
+     * @throws IndexOutOfBoundsException se algum índice estiver fora dos limites.
+     */
+    public void swap(int i, int j) {
+        if (i < 0 || i >= size || j < 0 || j >= size) {
+            throw new IndexOutOfBoundsException("Índices fora dos limites para swap: " + i + ", " + j + ", Tamanho: " + size);
+        }
+        Object temp = data[i];
+        data[i] = data[j];
+        data[j] = temp;
+    }
+
+    /**
+     * Ordena todos os elementos in-place, diretamente no array interno (ordenação estável).
+     *
+     * @param comparator O comparador que define a ordem.
+     */
+    public void sort(Comparator<? super T> comparator) {
+        sort(0, size, comparator);
+    }
+
+    /**
+     * Ordena in-place os elementos no intervalo {@code [fromIndex, toIndex)}, diretamente no
+     * array interno, sem a verificação de limites e o cast de cada get/set (ordenação estável).
+     *
+     * @param fromIndex Índice inicial (inclusivo).
+     * @param toIndex Índice final (exclusivo).
+     * @param comparator O comparador que define a ordem.
+     * @throws IndexOutOfBoundsException se o intervalo for inválido.
+     */
+    @SuppressWarnings("unchecked") // Os elementos em [0, size) são todos do tipo T
+    public void sort(int fromIndex, int toIndex, Comparator<? super T> comparator) {
+        checkRange(fromIndex, toIndex);
+        Arrays.sort(data, fromIndex, toIndex, (Comparator<Object>) comparator);
+    }
+
+    /**
+     * Retorna uma visão do intervalo {@code [fromIndex, toIndex)} que compartilha o array interno:
+     * nenhuma cópia é feita, e escritas pela visão aparecem neste array (e vice-versa).
+     * A visão não acompanha inserções ou remoções feitas depois da sua criação.
+     *
+     * @param fromIndex Índice inicial (inclusivo).
+     * @param toIndex Índice final (exclusivo).
+     * @return A visão do intervalo.
+     * @throws IndexOutOfBoundsException se o intervalo for inválido.
+     */
+    public View subView(int fromIndex, int toIndex) {
+        checkRange(fromIndex, toIndex);
+        return new View(fromIndex, toIndex - fromIndex);
+    }
+
+    private void checkRange(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("Intervalo inválido: [" + fromIndex + ", " + toIndex + "), Tamanho: " + size);
+        }
+    }
+
+    /**
+     * Visão leve de um intervalo contíguo de um MyDynamicArray.
+     * Guarda apenas o deslocamento e o tamanho; os acessos vão direto ao array interno,
+     * o que permite aos algoritmos de divisão e conquista (merge sort, quick sort)
+     * dividir o problema sem copiar elementos.
+     */
+    public final class View {
+        private final int offset;
+        private final int length;
+
+        private View(int offset, int length) {
+            this.offset = offset;
+            this.length = length;
+        }
+
+        /** @return O número de elementos da visão. */
+        public int size() {
+            return length;
+        }
+
+        /**
+         * Retorna o elemento na posição especificada (relativa ao início da visão).
+         *
+         * @param index O índice dentro da visão.
+         * @return O elemento.
+         * @throws IndexOutOfBoundsException se o índice estiver fora da visão.
+         */
+        @SuppressWarnings("unchecked")
+        public T get(int index) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException("Índice fora da visão: " + index + ", Tamanho: " + length);
+            }
+            return (T) data[offset + index];
+        }
+
+        /**
+         * Define o elemento na posição especificada (relativa ao início da visão).
+         *
+         * @param index O índice dentro da visão.
+         * @param element O novo elemento.
+         * @throws IndexOutOfBoundsException se o índice estiver fora da visão.
+         */
+        public void set(int index, T element) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException("Índice fora da visão para set: " + index + ", Tamanho: " + length);
+            }
+            data[offset + index] = element;
+        }
+
+        /**
+         * Troca dois elementos da visão.
+         *
+         * @param i O índice do primeiro elemento.
+         * @param j O índice do segundo elemento.
+         */
+        public void swap(int i, int j) {
+            if (i < 0 || i >= length || j < 0 || j >= length) {
+                throw new IndexOutOfBoundsException("Índices fora da visão para swap: " + i + ", " + j + ", Tamanho: " + length);
+            }
+            Object temp = data[offset + i];
+            data[offset + i] = data[offset + j];
+            data[offset + j] = temp;
+        }
+
+        /**
+         * Retorna uma sub-visão {@code [fromIndex, toIndex)} desta visão, sem cópia.
+         *
+         * @param fromIndex Índice inicial (inclusivo), relativo a esta visão.
+         * @param toIndex Índice final (exclusivo), relativo a esta visão.
+         * @return A sub-visão.
+         */
+        public View subView(int fromIndex, int toIndex) {
+            if (fromIndex < 0 || toIndex > length || fromIndex > toIndex) {
+                throw new IndexOutOfBoundsException("Intervalo inválido: [" + fromIndex + ", " + toIndex + "), Tamanho: " + length);
+            }
+            return new View(offset + fromIndex, toIndex - fromIndex);
+        }
+
+        /**
+         * Ordena os elementos da visão in-place (ordenação estável).
+         *
+         * @param comparator O comparador que define a ordem.
+         */
+        public void sort(Comparator<? super T> comparator) {
+            MyDynamicArray.this.sort(offset, offset + length, comparator);
+        }
+    }
+
     /**
      * Retorna o número de elementos atualmente no array dinâmico.
      *
      * @return O número de elementos no array.
      */
+    @Override
     public int size() {
         return size;
     }
@@ -98,6 +317,7 @@ public class MyDynamicArray<T> {
      *
      * @return true se o array não contiver elementos, false caso contrário.
      */
+    @Override
     public boolean isEmpty() {
         return size == 0;
     }
@@ -114,12 +334,141 @@ public class MyDynamicArray<T> {
         return (T[]) Arrays.copyOf(data, size);
     }
 
+    /**
+     * Retorna um iterador para os elementos, na ordem dos índices.
+     *
+     * @return Um iterador para os elementos deste array.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (index >= size) {
+                    throw new NoSuchElementException();
+                }
+                return (T) data[index++];
+            }
+        };
+    }
+
+    /**
+     * Percorre os elementos diretamente no array interno, sem criar um iterador.
+     *
+     * @param action A ação aplicada a cada elemento, na ordem dos índices.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super T> action) {
+        Object[] elements = data;
+        int n = size;
+        for (int i = 0; i < n; i++) {
+            action.accept((T) elements[i]);
+        }
+    }
+
+    /**
+     * Retorna um Spliterator ORDERED, SIZED e SUBSIZED sobre os elementos atuais.
+     * Cada divisão corta o intervalo ao meio, então um stream paralelo reparte o trabalho
+     * em partes iguais entre as threads do common pool.
+     *
+     * @return O Spliterator do array.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new ArraySpliterator<>(data, 0, size);
+    }
+
+    /**
+     * Retorna um Stream sequencial sobre os elementos.
+     *
+     * @return O Stream do array.
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Retorna um Stream paralelo sobre os elementos.
+     *
+     * @return O Stream paralelo do array.
+     */
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * Spliterator sobre um intervalo {@code [index, fence)} de um array de objetos.
+     */
+    private static final class ArraySpliterator<T> implements Spliterator<T> {
+        private final Object[] array;
+        private int index;       // Próximo elemento a ser consumido
+        private final int fence; // Fim do intervalo (exclusivo)
+
+        ArraySpliterator(Object[] array, int index, int fence) {
+            this.array = array;
+            this.index = index;
+            this.fence = fence;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            int lo = index;
+            int mid = (lo + fence) >>> 1;
+            if (lo >= mid) {
+                return null; // Pequeno demais para dividir
+            }
+            index = mid;
+            return new ArraySpliterator<>(array, lo, mid);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (index < fence) {
+                action.accept((T) array[index++]);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void forEachRemaining(Consumer<? super T> action) {
+            Object[] a = array;
+            int hi = fence;
+            int i = index;
+            index = hi;
+            for (; i < hi; i++) {
+                action.accept((T) a[i]);
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
+
     /**
      * Redimensiona o array interno para o dobro da capacidade atual.
      * Os elementos existentes são copiados para o novo array.
      */
     private void resize() {
-        int newCapacity = data.length * 2; // Dobra a capacidade
+        int newCapacity = Math.max(DEFAULT_CAPACITY, data.length * 2); // Dobra a capacidade (que pode ser 0)
         data = Arrays.copyOf(data, newCapacity); // Cria um novo array e copia os elementos
     }
 }
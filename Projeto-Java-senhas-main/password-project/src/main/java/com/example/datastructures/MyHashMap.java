@@ -1,5 +1,13 @@
 package com.example.datastructures;
 
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * Uma implementação de uma Tabela Hash (Mapa) personalizada.
  * Mapeia chaves para valores, permitindo recuperação eficiente de valores
@@ -10,19 +18,22 @@ package com.example.datastructures;
  * @param <K> O tipo da chave.
  * @param <V> O tipo do valor.
  */
-public class MyHashMap<K, V> {
+public class MyHashMap<K, V> implements Iterable<MyHashMap.Entry<K, V>> {
     // Usamos MySinglyLinkedList para as buckets para evitar List nativas
     private MySinglyLinkedList<Entry<K, V>>[] buckets;
     private int size; // Número total de pares chave-valor no mapa
     private static final int DEFAULT_CAPACITY = 16; // Capacidade inicial padrão de buckets
+    private static final double LOAD_FACTOR = 0.75; // Fator de carga que dispara o redimensionamento
 
     /**
      * Classe interna que representa uma entrada (par chave-valor) na Tabela Hash.
+     * Pública para a iteração por entradas: percorrer o mapa entrega as próprias entradas
+     * armazenadas, sem criar objetos por elemento.
      *
      * @param <K> O tipo da chave.
      * @param <V> O tipo do valor.
      */
-    private static class Entry<K, V> {
+    public static class Entry<K, V> {
         K key;   // A chave da entrada
         V value; // O valor associado à chave
 
@@ -37,6 +48,25 @@ public class MyHashMap<K, V> {
             this.value = value;
         }
 
+        /** @return A chave da entrada. */
+        public K getKey() {
+            return key;
+        }
+
+        /** @return O valor associado à chave. */
+        public V getValue() {
+            return value;
+        }
+
+        /**
+         * Substitui o valor da entrada (equivale a um put da mesma chave).
+         *
+         * @param value O novo valor.
+         */
+        public void setValue(V value) {
+            this.value = value;
+        }
+
         @Override
         public boolean equals(Object o) {
             if (this == o) return true;
@@ -54,17 +84,40 @@ public class MyHashMap<K, V> {
     /**
      * Construtor para MyHashMap com capacidade inicial padrão.
      */
-    @SuppressWarnings("unchecked") // Cast seguro para array de MySinglyLinkedList
     public MyHashMap() {
-        // Inicializa o array de buckets. Cada bucket é uma MySinglyLinkedList.
-        this.buckets = (MySinglyLinkedList<Entry<K, V>>[]) new MySinglyLinkedList[DEFAULT_CAPACITY];
-        // Inicializa cada MySinglyLinkedList em cada bucket
-        for (int i = 0; i < DEFAULT_CAPACITY; i++) {
-            buckets[i] = new MySinglyLinkedList<>();
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Construtor para MyHashMap com capacidade inicial (número de buckets) especificada.
+     * Útil quando o número de chaves é conhecido de antemão, evitando redimensionamentos.
+     *
+     * @param initialCapacity O número inicial de buckets.
+     * @throws IllegalArgumentException se a capacidade não for positiva.
+     */
+    public MyHashMap(int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Capacidade inicial inválida: " + initialCapacity);
         }
+        this.buckets = newBuckets(initialCapacity);
         this.size = 0; // O mapa começa vazio
     }
 
+    /**
+     * Cria um array de buckets vazios. Cada bucket é uma MySinglyLinkedList.
+     *
+     * @param capacity O número de buckets.
+     * @return O novo array de buckets.
+     */
+    @SuppressWarnings("unchecked") // Cast seguro para array de MySinglyLinkedList
+    private static <K, V> MySinglyLinkedList<Entry<K, V>>[] newBuckets(int capacity) {
+        MySinglyLinkedList<Entry<K, V>>[] newBuckets = (MySinglyLinkedList<Entry<K, V>>[]) new MySinglyLinkedList<?>[capacity];
+        for (int i = 0; i < capacity; i++) {
+            newBuckets[i] = new MySinglyLinkedList<>();
+        }
+        return newBuckets;
+    }
+
     /**
      * Calcula o índice do bucket para uma dada chave.
      *
@@ -73,7 +126,39 @@ public class MyHashMap<K, V> {
      */
     private int getBucketIndex(K key) {
         // Garante que o hash não seja negativo e esteja dentro dos limites da capacidade.
-        return Math.abs(key.hashCode()) % buckets.length;
+        // (Math.abs(Integer.MIN_VALUE) é negativo, por isso o bit de sinal é mascarado.)
+        return (key.hashCode() & 0x7fffffff) % buckets.length;
+    }
+
+    /**
+     * Dobra o número de buckets e redistribui as entradas existentes,
+     * mantendo as listas curtas para que get/put continuem O(1) em média.
+     */
+    private void resize() {
+        MySinglyLinkedList<Entry<K, V>>[] oldBuckets = buckets;
+        buckets = newBuckets(oldBuckets.length * 2);
+        for (MySinglyLinkedList<Entry<K, V>> bucket : oldBuckets) {
+            for (MySinglyLinkedList.Node<Entry<K, V>> node = bucket.firstNode(); node != null; node = node.next) {
+                buckets[getBucketIndex(node.data.key)].add(node.data);
+            }
+        }
+    }
+
+    /**
+     * Procura a entrada de uma chave percorrendo os nós do bucket diretamente
+     * (sem criar um iterador a cada consulta).
+     *
+     * @param bucket O bucket da chave.
+     * @param key A chave.
+     * @return A entrada, ou null se a chave não estiver no bucket.
+     */
+    private static <K, V> Entry<K, V> findEntry(MySinglyLinkedList<Entry<K, V>> bucket, K key) {
+        for (MySinglyLinkedList.Node<Entry<K, V>> node = bucket.firstNode(); node != null; node = node.next) {
+            if (node.data.key.equals(key)) {
+                return node.data;
+            }
+        }
+        return null;
     }
 
     /**
@@ -88,15 +173,37 @@ public class MyHashMap<K, V> {
         MySinglyLinkedList<Entry<K, V>> bucket = buckets[bucketIndex]; // Obtém o bucket
         
         // Verifica se a chave já existe no bucket
-        for (Entry<K, V> entry : bucket) { // Utiliza o iterator da MySinglyLinkedList
-            if (entry.key.equals(key)) {
-                entry.value = value; // Atualiza o valor se a chave já existe
-                return;
-            }
+        Entry<K, V> existing = findEntry(bucket, key);
+        if (existing != null) {
+            existing.value = value; // Atualiza o valor se a chave já existe
+            return;
         }
         // Se a chave não existe, adiciona uma nova entrada ao bucket
         bucket.add(new Entry<>(key, value));
         size++; // Incrementa o tamanho total do mapa
+        if (size > buckets.length * LOAD_FACTOR) {
+            resize();
+        }
+    }
+
+    /**
+     * Remove o mapeamento da chave especificada, se existir.
+     *
+     * @param key A chave cujo mapeamento deve ser removido.
+     * @return O valor anteriormente associado à chave, ou null se não havia mapeamento.
+     */
+    public V remove(K key) {
+        MySinglyLinkedList<Entry<K, V>> bucket = buckets[getBucketIndex(key)]; // Obtém o bucket
+        int index = 0;
+        for (Entry<K, V> entry : bucket) { // Utiliza o iterator da MySinglyLinkedList
+            if (entry.key.equals(key)) {
+                bucket.remove(index);
+                size--; // Decrementa o tamanho total do mapa
+                return entry.value;
+            }
+            index++;
+        }
+        return null; // Retorna null se a chave não for encontrada
     }
 
     /**
@@ -111,12 +218,8 @@ public class MyHashMap<K, V> {
         MySinglyLinkedList<Entry<K, V>> bucket = buckets[bucketIndex]; // Obtém o bucket
         
         // Percorre o bucket procurando pela chave
-        for (Entry<K, V> entry : bucket) { // Utiliza o iterator da MySinglyLinkedList
-            if (entry.key.equals(key)) {
-                return entry.value; // Retorna o valor se a chave for encontrada
-            }
-        }
-        return null; // Retorna null se a chave não for encontrada
+        Entry<K, V> entry = findEntry(bucket, key);
+        return entry != null ? entry.value : null; // Retorna null se a chave não for encontrada
     }
 
     /**
@@ -130,12 +233,7 @@ public class MyHashMap<K, V> {
         MySinglyLinkedList<Entry<K, V>> bucket = buckets[bucketIndex]; // Obtém o bucket
         
         // Percorre o bucket procurando pela chave
-        for (Entry<K, V> entry : bucket) { // Utiliza o iterator da MySinglyLinkedList
-            if (entry.key.equals(key)) {
-                return true; // Retorna true se a chave for encontrada
-            }
-        }
-        return false; // Retorna false se a chave não for encontrada
+        return findEntry(bucket, key) != null;
     }
 
     /**
@@ -149,17 +247,196 @@ public class MyHashMap<K, V> {
 
     /**
      * Retorna uma MyDynamicArray contendo todas as chaves contidas neste mapa.
+     * Aloca um array novo a cada chamada; para só percorrer o mapa, prefira
+     * {@link #forEach(BiConsumer)}.
      *
      * @return Uma MyDynamicArray de chaves.
      */
     public MyDynamicArray<K> keySet() {
-        MyDynamicArray<K> keys = new MyDynamicArray<>();
+        MyDynamicArray<K> keys = new MyDynamicArray<>(size);
         // Percorre todos os buckets e adiciona as chaves à MyDynamicArray
         for (MySinglyLinkedList<Entry<K, V>> bucket : buckets) {
-            for (Entry<K, V> entry : bucket) { // Utiliza o iterator da MySinglyLinkedList
-                keys.add(entry.key);
+            for (MySinglyLinkedList.Node<Entry<K, V>> node = bucket.firstNode(); node != null; node = node.next) {
+                keys.add(node.data.key);
             }
         }
         return keys;
     }
+
+    /**
+     * Aplica a ação a cada par chave-valor, percorrendo os buckets e nós diretamente:
+     * nenhuma alocação, ao contrário de keySet() seguido de get().
+     *
+     * @param action A ação que recebe a chave e o valor.
+     */
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        for (MySinglyLinkedList<Entry<K, V>> bucket : buckets) {
+            for (MySinglyLinkedList.Node<Entry<K, V>> node = bucket.firstNode(); node != null; node = node.next) {
+                action.accept(node.data.key, node.data.value);
+            }
+        }
+    }
+
+    /**
+     * Aplica a ação a cada entrada armazenada, sem alocação.
+     *
+     * @param action A ação que recebe cada entrada.
+     */
+    @Override
+    public void forEach(Consumer<? super Entry<K, V>> action) {
+        for (MySinglyLinkedList<Entry<K, V>> bucket : buckets) {
+            for (MySinglyLinkedList.Node<Entry<K, V>> node = bucket.firstNode(); node != null; node = node.next) {
+                action.accept(node.data);
+            }
+        }
+    }
+
+    /**
+     * Retorna um iterador sobre as entradas armazenadas (um único objeto por iteração).
+     * A ordem segue os buckets e não é definida.
+     *
+     * @return O iterador de entradas.
+     */
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+        return new Iterator<Entry<K, V>>() {
+            private final BucketSpliterator<K, V> cursor = new BucketSpliterator<>(buckets, 0, buckets.length, size, true);
+
+            @Override
+            public boolean hasNext() {
+                return cursor.advanceToNode();
+            }
+
+            @Override
+            public Entry<K, V> next() {
+                if (!cursor.advanceToNode()) {
+                    throw new NoSuchElementException();
+                }
+                return cursor.take();
+            }
+        };
+    }
+
+    /**
+     * Retorna um Spliterator sobre as entradas, que se divide por faixas de buckets.
+     * Só o Spliterator inicial é SIZED: o número de entradas de cada faixa só é conhecido
+     * percorrendo-a, então as partes trazem uma estimativa (metade do pai), como o HashMap
+     * do JDK. As entradas são DISTINCT (chaves únicas) e não têm ordem definida.
+     *
+     * @return O Spliterator das entradas.
+     */
+    @Override
+    public Spliterator<Entry<K, V>> spliterator() {
+        return new BucketSpliterator<>(buckets, 0, buckets.length, size, true);
+    }
+
+    /**
+     * Retorna um Stream sequencial sobre as entradas.
+     *
+     * @return O Stream das entradas.
+     */
+    public Stream<Entry<K, V>> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Retorna um Stream paralelo sobre as entradas.
+     *
+     * @return O Stream paralelo das entradas.
+     */
+    public Stream<Entry<K, V>> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * Spliterator sobre as entradas dos buckets {@code [index, fence)}.
+     */
+    private static final class BucketSpliterator<K, V> implements Spliterator<Entry<K, V>> {
+        private final MySinglyLinkedList<Entry<K, V>>[] buckets;
+        private int index;                                  // Próximo bucket a visitar
+        private final int fence;                            // Fim da faixa de buckets (exclusivo)
+        private MySinglyLinkedList.Node<Entry<K, V>> current; // Próximo nó no bucket atual
+        private long estimate;                              // Entradas restantes (exato se sized)
+        private boolean sized;                              // Só o Spliterator inicial, antes de dividir
+
+        BucketSpliterator(MySinglyLinkedList<Entry<K, V>>[] buckets, int index, int fence, long estimate, boolean sized) {
+            this.buckets = buckets;
+            this.index = index;
+            this.fence = fence;
+            this.estimate = estimate;
+            this.sized = sized;
+        }
+
+        /** Posiciona current no próximo nó disponível; retorna false se a faixa acabou. */
+        boolean advanceToNode() {
+            while (current == null) {
+                if (index >= fence) {
+                    return false;
+                }
+                current = buckets[index++].firstNode();
+            }
+            return true;
+        }
+
+        /** Consome o nó atual (advanceToNode deve ter retornado true). */
+        Entry<K, V> take() {
+            Entry<K, V> entry = current.data;
+            current = current.next;
+            return entry;
+        }
+
+        @Override
+        public Spliterator<Entry<K, V>> trySplit() {
+            int lo = index;
+            int mid = (lo + fence) >>> 1;
+            if (current != null || lo >= mid) {
+                return null; // Já dentro de um bucket, ou faixa pequena demais
+            }
+            index = mid;
+            estimate >>>= 1;
+            sized = false;
+            return new BucketSpliterator<>(buckets, lo, mid, estimate, false);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Entry<K, V>> action) {
+            if (!advanceToNode()) {
+                return false;
+            }
+            action.accept(take());
+            if (sized) {
+                estimate--;
+            }
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Entry<K, V>> action) {
+            MySinglyLinkedList.Node<Entry<K, V>> node = current;
+            int i = index;
+            int hi = fence;
+            current = null;
+            index = hi;
+            while (true) {
+                for (; node != null; node = node.next) {
+                    action.accept(node.data);
+                }
+                if (i >= hi) {
+                    break;
+                }
+                node = buckets[i++].firstNode();
+            }
+            estimate = 0;
+        }
+
+        @Override
+        public long estimateSize() {
+            return estimate;
+        }
+
+        @Override
+        public int characteristics() {
+            return (sized ? Spliterator.SIZED : 0) | Spliterator.DISTINCT | Spliterator.NONNULL;
+        }
+    }
 }
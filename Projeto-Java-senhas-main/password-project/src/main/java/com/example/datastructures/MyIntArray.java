@@ -0,0 +1,199 @@
+package com.example.datastructures;
+
+import java.util.Arrays; // Usado apenas para Arrays.copyOf no redimensionamento do array interno
+
+/**
+ * Versão de {@link MyDynamicArray} especializada para valores int primitivos.
+ * Guarda os valores diretamente em um int[], sem boxing em Integer e sem o cast genérico
+ * de cada acesso. Usada para índices, contagens e chaves inteiras (ex: tamanho da senha).
+ */
+public class MyIntArray {
+    private int[] data; // Array interno para armazenar os valores
+    private int size;   // Número atual de valores no array
+    private static final int DEFAULT_CAPACITY = 10; // Capacidade inicial padrão
+
+    /**
+     * Construtor para MyIntArray com capacidade inicial padrão.
+     */
+    public MyIntArray() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Construtor para MyIntArray com capacidade inicial especificada.
+     *
+     * @param initialCapacity A capacidade inicial.
+     * @throws IllegalArgumentException se a capacidade for negativa.
+     */
+    public MyIntArray(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Capacidade inicial inválida: " + initialCapacity);
+        }
+        this.data = new int[initialCapacity];
+    }
+
+    /**
+     * Adiciona um valor ao final do array.
+     *
+     * @param value O valor a ser adicionado.
+     */
+    public void add(int value) {
+        if (size == data.length) {
+            ensureCapacity(size + 1);
+        }
+        data[size++] = value;
+    }
+
+    /**
+     * Adiciona todos os valores de um array ao final, com no máximo um redimensionamento.
+     *
+     * @param values Os valores a serem adicionados.
+     */
+    public void addAll(int[] values) {
+        addAll(values, 0, values.length);
+    }
+
+    /**
+     * Adiciona os valores {@code values[from, to)} ao final, com no máximo um redimensionamento.
+     *
+     * @param values O array de origem.
+     * @param from Índice inicial (inclusivo).
+     * @param to Índice final (exclusivo).
+     */
+    public void addAll(int[] values, int from, int to) {
+        if (from < 0 || to > values.length || from > to) {
+            throw new IndexOutOfBoundsException("Intervalo inválido: [" + from + ", " + to + "), Tamanho: " + values.length);
+        }
+        int count = to - from;
+        ensureCapacity(size + count);
+        System.arraycopy(values, from, data, size, count);
+        size += count;
+    }
+
+    /**
+     * Retorna o valor na posição especificada.
+     *
+     * @param index O índice do valor.
+     * @return O valor na posição especificada.
+     * @throws IndexOutOfBoundsException se o índice estiver fora dos limites.
+     */
+    public int get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Índice fora dos limites: " + index + ", Tamanho: " + size);
+        }
+        return data[index];
+    }
+
+    /**
+     * Define o valor na posição especificada.
+     *
+     * @param index O índice do valor.
+     * @param value O novo valor.
+     * @throws IndexOutOfBoundsException se o índice estiver fora dos limites.
+     */
+    public void set(int index, int value) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Índice fora dos limites para set: " + index + ", Tamanho: " + size);
+        }
+        data[index] = value;
+    }
+
+    /**
+     * Acesso sem verificação de limites, para laços internos de algoritmos (ex: ordenação)
+     * que já garantem {@code 0 <= index < size()}. O acesso ao array ainda é verificado pela JVM.
+     *
+     * @param index O índice do valor.
+     * @return O valor na posição especificada.
+     */
+    public int getUnchecked(int index) {
+        return data[index];
+    }
+
+    /**
+     * Escrita sem verificação de limites; veja {@link #getUnchecked(int)}.
+     *
+     * @param index O índice do valor.
+     * @param value O novo valor.
+     */
+    public void setUnchecked(int index, int value) {
+        data[index] = value;
+    }
+
+    /**
+     * Troca os valores em duas posições, sem verificação de limites.
+     *
+     * @param i O índice do primeiro valor.
+     * @param j O índice do segundo valor.
+     */
+    public void swapUnchecked(int i, int j) {
+        int temp = data[i];
+        data[i] = data[j];
+        data[j] = temp;
+    }
+
+    /**
+     * Retorna o array interno, para kernels de ordenação que precisam operar diretamente
+     * sobre ele. Apenas as posições {@code [0, size())} são válidas, e a referência deixa de
+     * ser o array interno depois de qualquer redimensionamento.
+     *
+     * @return O array interno.
+     */
+    public int[] rawArray() {
+        return data;
+    }
+
+    /**
+     * Retorna o número de valores no array.
+     *
+     * @return O número de valores.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Verifica se o array está vazio.
+     *
+     * @return true se o array não contiver valores, false caso contrário.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Remove todos os valores, mantendo a capacidade atual.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Garante que o array interno comporte pelo menos o número de valores especificado.
+     *
+     * @param minCapacity A capacidade mínima desejada.
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > data.length) {
+            // Cresce pelo menos para o dobro, para manter o custo amortizado O(1) de add.
+            data = Arrays.copyOf(data, Math.max(minCapacity, Math.max(DEFAULT_CAPACITY, data.length * 2)));
+        }
+    }
+
+    /**
+     * Reduz a capacidade do array interno ao número atual de valores.
+     */
+    public void trimToSize() {
+        if (data.length > size) {
+            data = Arrays.copyOf(data, size);
+        }
+    }
+
+    /**
+     * Retorna uma cópia dos valores em um array de tamanho exato.
+     *
+     * @return Um novo int[] com os valores na ordem correta.
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(data, size);
+    }
+}
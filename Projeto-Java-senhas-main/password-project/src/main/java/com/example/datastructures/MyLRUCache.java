@@ -0,0 +1,179 @@
+package com.example.datastructures;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Um cache LRU (Least Recently Used) de capacidade limitada.
+ * Combina uma MyHashMap (chave -> nó) com uma lista duplamente encadeada que guarda
+ * a ordem de uso: o nó mais recente fica na cabeça e o menos recente na cauda.
+ * Assim, get, put e o descarte da entrada menos usada são O(1) em média.
+ *
+ * Opcionalmente, um ouvinte é avisado de cada entrada descartada por falta de capacidade,
+ * para liberar o que ela segura (ex: fechar um arquivo aberto).
+ *
+ * Esta classe não é segura para múltiplas threads; veja {@link MyStripedLRUCache}.
+ *
+ * @param <K> O tipo da chave.
+ * @param <V> O tipo do valor.
+ */
+public class MyLRUCache<K, V> implements MyCache<K, V> {
+
+    /**
+     * Nó da lista de recência.
+     */
+    private static class Node<K, V> {
+        final K key;
+        V value;
+        Node<K, V> prev; // Nó usado mais recentemente que este
+        Node<K, V> next; // Nó usado menos recentemente que este
+
+        Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    private final int capacity;
+    private final MyHashMap<K, Node<K, V>> index;
+    private final BiConsumer<? super K, ? super V> evictionListener; // Pode ser null
+    private Node<K, V> head; // Mais recentemente usado
+    private Node<K, V> tail; // Menos recentemente usado
+    private int size;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Construtor para MyLRUCache.
+     *
+     * @param capacity O número máximo de entradas mantidas.
+     * @throws IllegalArgumentException se a capacidade não for positiva.
+     */
+    public MyLRUCache(int capacity) {
+        this(capacity, null);
+    }
+
+    /**
+     * Construtor para MyLRUCache com um ouvinte de descartes.
+     *
+     * @param capacity O número máximo de entradas mantidas.
+     * @param evictionListener Chamado com a chave e o valor de cada entrada descartada por falta
+     *                         de capacidade (não é chamado quando um valor é substituído); pode ser null.
+     * @throws IllegalArgumentException se a capacidade não for positiva.
+     */
+    public MyLRUCache(int capacity, BiConsumer<? super K, ? super V> evictionListener) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacidade do cache inválida: " + capacity);
+        }
+        this.capacity = capacity;
+        this.evictionListener = evictionListener;
+        // Dimensiona a tabela para a capacidade máxima, evitando redimensionamentos durante o uso.
+        this.index = new MyHashMap<>(Math.max(16, (int) (capacity / 0.75) + 1));
+    }
+
+    @Override
+    public V get(K key) {
+        Node<K, V> node = index.get(key);
+        if (node == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        moveToHead(node);
+        return node.value;
+    }
+
+    @Override
+    public void put(K key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("MyLRUCache não aceita valores nulos.");
+        }
+        Node<K, V> node = index.get(key);
+        if (node != null) {
+            node.value = value;
+            moveToHead(node);
+            return;
+        }
+        if (size == capacity) {
+            evictTail();
+        }
+        node = new Node<>(key, value);
+        index.put(key, node);
+        linkAtHead(node);
+        size++;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return O número máximo de entradas mantidas.
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public long getHits() {
+        return hits;
+    }
+
+    @Override
+    public long getMisses() {
+        return misses;
+    }
+
+    @Override
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /** Remove a entrada menos recentemente usada. */
+    private void evictTail() {
+        Node<K, V> lru = tail;
+        unlink(lru);
+        index.remove(lru.key);
+        size--;
+        evictions++;
+        if (evictionListener != null) {
+            evictionListener.accept(lru.key, lru.value);
+        }
+    }
+
+    /** Move um nó já presente na lista para a cabeça. */
+    private void moveToHead(Node<K, V> node) {
+        if (node == head) return;
+        unlink(node);
+        linkAtHead(node);
+    }
+
+    private void linkAtHead(Node<K, V> node) {
+        node.prev = null;
+        node.next = head;
+        if (head != null) {
+            head.prev = node;
+        }
+        head = node;
+        if (tail == null) {
+            tail = node;
+        }
+    }
+
+    private void unlink(Node<K, V> node) {
+        if (node.prev != null) {
+            node.prev.next = node.next;
+        } else {
+            head = node.next;
+        }
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        } else {
+            tail = node.prev;
+        }
+        node.prev = null;
+        node.next = null;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.datastructures;
+
+/**
+ * Interface comum para as listas indexadas do projeto.
+ * Permite que o código que só adiciona e percorre registros (ex: a formatação de datas)
+ * aceite tanto o array contíguo ({@link MyDynamicArray}) quanto o array segmentado
+ * ({@link MyChunkedArray}).
+ *
+ * @param <T> O tipo dos elementos.
+ */
+public interface MyList<T> {
+
+    /**
+     * Adiciona um elemento ao final da lista.
+     *
+     * @param element O elemento a ser adicionado.
+     */
+    void add(T element);
+
+    /**
+     * Retorna o elemento na posição especificada.
+     *
+     * @param index O índice do elemento.
+     * @return O elemento.
+     * @throws IndexOutOfBoundsException se o índice estiver fora dos limites.
+     */
+    T get(int index);
+
+    /**
+     * Define o elemento na posição especificada.
+     *
+     * @param index O índice do elemento.
+     * @param element O novo elemento.
+     * @throws IndexOutOfBoundsException se o índice estiver fora dos limites.
+     */
+    void set(int index, T element);
+
+    /** @return O número de elementos da lista. */
+    int size();
+
+    /** @return true se a lista não contiver elementos. */
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+}
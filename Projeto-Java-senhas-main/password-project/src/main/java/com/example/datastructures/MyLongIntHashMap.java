@@ -0,0 +1,196 @@
+package com.example.datastructures;
+
+/**
+ * Tabela hash de endereçamento aberto (sondagem linear) de chaves long para valores int,
+ * com tudo guardado em dois arrays primitivos: nenhum objeto por entrada (nem Entry,
+ * nem Long/Integer boxeados, nem nós de lista). Com fingerprints de 64 bits como chave,
+ * cada entrada ocupa 12 bytes (mais a folga do fator de carga), contra dezenas de bytes
+ * de uma MyHashMap<String, Integer>.
+ *
+ * A chave 0 é reservada para marcar posições vazias e é guardada à parte.
+ */
+public class MyLongIntHashMap {
+    private static final long EMPTY = 0L;
+    private static final double LOAD_FACTOR = 0.6;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;       // keys.length - 1 (a capacidade é sempre potência de 2)
+    private int size;       // Entradas nos arrays (sem contar a chave 0)
+    private boolean hasZeroKey;
+    private int zeroValue;
+    private int resizeThreshold;
+
+    /**
+     * Consumidor de pares chave-valor primitivos, para percorrer a tabela sem boxing.
+     */
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(long key, int value);
+    }
+
+    /**
+     * Cria uma tabela com capacidade padrão.
+     */
+    public MyLongIntHashMap() {
+        this(16);
+    }
+
+    /**
+     * Cria uma tabela dimensionada para o número esperado de chaves, sem redimensionamentos.
+     *
+     * @param expectedKeys O número esperado de chaves.
+     * @throws IllegalArgumentException se o número for negativo.
+     */
+    public MyLongIntHashMap(int expectedKeys) {
+        if (expectedKeys < 0) {
+            throw new IllegalArgumentException("Número de chaves inválido: " + expectedKeys);
+        }
+        long needed = (long) Math.ceil(Math.max(expectedKeys, 2) / LOAD_FACTOR);
+        int capacity = Integer.highestOneBit((int) Math.min(needed, 1 << 30));
+        if (capacity < needed) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+    }
+
+    /**
+     * Soma 1 ao valor da chave (0 se ausente).
+     *
+     * @param key A chave.
+     * @return O novo valor.
+     */
+    public int increment(long key) {
+        return add(key, 1);
+    }
+
+    /**
+     * Soma {@code delta} ao valor da chave (0 se ausente).
+     *
+     * @param key A chave.
+     * @param delta O valor a somar.
+     * @return O novo valor.
+     */
+    public int add(long key, int delta) {
+        if (key == EMPTY) {
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                zeroValue = 0;
+            }
+            return zeroValue += delta;
+        }
+        int slot = slot(key);
+        if (keys[slot] == EMPTY) {
+            keys[slot] = key;
+            values[slot] = delta;
+            if (++size > resizeThreshold) {
+                resize();
+            }
+            return delta;
+        }
+        return values[slot] += delta;
+    }
+
+    /**
+     * Associa o valor à chave, substituindo o anterior.
+     *
+     * @param key A chave.
+     * @param value O valor.
+     */
+    public void put(long key, int value) {
+        if (key == EMPTY) {
+            hasZeroKey = true;
+            zeroValue = value;
+            return;
+        }
+        int slot = slot(key);
+        if (keys[slot] == EMPTY) {
+            keys[slot] = key;
+            values[slot] = value;
+            if (++size > resizeThreshold) {
+                resize();
+            }
+        } else {
+            values[slot] = value;
+        }
+    }
+
+    /**
+     * Retorna o valor da chave, ou {@code defaultValue} se ela não estiver na tabela.
+     *
+     * @param key A chave.
+     * @param defaultValue O valor padrão.
+     * @return O valor associado ou o padrão.
+     */
+    public int getOrDefault(long key, int defaultValue) {
+        if (key == EMPTY) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        int slot = slot(key);
+        return keys[slot] == EMPTY ? defaultValue : values[slot];
+    }
+
+    /**
+     * Verifica se a chave está na tabela.
+     *
+     * @param key A chave.
+     * @return true se estiver presente.
+     */
+    public boolean containsKey(long key) {
+        return key == EMPTY ? hasZeroKey : keys[slot(key)] != EMPTY;
+    }
+
+    /** @return O número de chaves na tabela. */
+    public int size() {
+        return size + (hasZeroKey ? 1 : 0);
+    }
+
+    /**
+     * Percorre todas as entradas, em ordem indefinida, sem alocação.
+     *
+     * @param action A ação aplicada a cada par chave-valor.
+     */
+    public void forEach(EntryConsumer action) {
+        if (hasZeroKey) {
+            action.accept(EMPTY, zeroValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                action.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    /** Posição da chave, ou da primeira posição vazia da sua sequência de sondagem. */
+    private int slot(long key) {
+        int i = (int) Fingerprints.mix(key) & mask;
+        while (keys[i] != EMPTY && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    /** Dobra a capacidade e reinsere as entradas. */
+    private void resize() {
+        if (keys.length == 1 << 30) {
+            throw new IllegalStateException("MyLongIntHashMap atingiu a capacidade máxima");
+        }
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(oldKeys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,343 @@
+package com.example.datastructures;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays; // Usado apenas para Arrays.sort dos blocos em memória
+
+/**
+ * Conjunto somente-leitura de fingerprints de 64 bits, guardado em um arquivo ordenado
+ * e mapeado em memória. A busca é binária diretamente sobre o arquivo mapeado, de modo
+ * que o heap não precisa conter o conjunto, e o sistema operacional mantém em cache
+ * apenas as páginas realmente visitadas.
+ *
+ * O arquivo é construído por {@link Builder}, que ordena externamente (blocos ordenados
+ * em disco + intercalação k-way), permitindo listas maiores que a memória disponível.
+ *
+ * Formato: int magic, int versão, long quantidade, seguidos dos fingerprints em ordem
+ * crescente (long com sinal, little-endian, sem repetições).
+ */
+public class MyMappedFingerprintSet implements AutoCloseable {
+    private static final int MAGIC = 0x46505354; // "FPST"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final ValueLayout.OfLong LONG_LE =
+            ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    private final Arena arena;
+    private final MemorySegment segment;
+    private final long size;
+
+    private MyMappedFingerprintSet(Arena arena, MemorySegment segment, long size) {
+        this.arena = arena;
+        this.segment = segment;
+        this.size = size;
+    }
+
+    /**
+     * Mapeia um arquivo de fingerprints gravado por {@link Builder}.
+     *
+     * @param path O arquivo de fingerprints.
+     * @return O conjunto mapeado; deve ser fechado com {@link #close()}.
+     * @throws IOException se o arquivo não existir ou não for válido.
+     */
+    public static MyMappedFingerprintSet open(Path path) throws IOException {
+        Arena arena = Arena.ofShared();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_BYTES) {
+                throw new IOException("Arquivo de fingerprints inválido: " + path);
+            }
+            MemorySegment segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize, arena);
+            if (segment.get(ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN), 0) != MAGIC
+                    || segment.get(ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN), 4) != VERSION) {
+                throw new IOException("Arquivo de fingerprints inválido: " + path);
+            }
+            long size = segment.get(LONG_LE, 8);
+            if (size < 0 || fileSize != HEADER_BYTES + size * 8) {
+                throw new IOException("Arquivo de fingerprints corrompido: " + path);
+            }
+            return new MyMappedFingerprintSet(arena, segment, size);
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Retorna o número de fingerprints distintos no conjunto.
+     *
+     * @return O tamanho do conjunto.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Retorna o fingerprint na posição especificada (em ordem crescente).
+     *
+     * @param index O índice, entre 0 e size() - 1.
+     * @return O fingerprint.
+     * @throws IndexOutOfBoundsException se o índice estiver fora dos limites.
+     */
+    public long get(long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Índice fora dos limites: " + index + ", Tamanho: " + size);
+        }
+        return segment.get(LONG_LE, HEADER_BYTES + index * 8);
+    }
+
+    /**
+     * Verifica, por busca binária no arquivo mapeado, se o fingerprint pertence ao conjunto.
+     *
+     * @param fingerprint O fingerprint procurado.
+     * @return true se o fingerprint estiver no conjunto.
+     */
+    public boolean contains(long fingerprint) {
+        long low = 0;
+        long high = size - 1;
+        while (low <= high) {
+            long mid = (low + high) >>> 1;
+            long value = segment.get(LONG_LE, HEADER_BYTES + mid * 8);
+            if (value < fingerprint) {
+                low = mid + 1;
+            } else if (value > fingerprint) {
+                high = mid - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Libera o mapeamento do arquivo. O conjunto não pode ser usado depois disso.
+     */
+    @Override
+    public void close() {
+        arena.close();
+    }
+
+    /**
+     * Constrói um arquivo de fingerprints ordenado e sem repetições a partir de uma
+     * sequência arbitrária de fingerprints, usando ordenação externa: os valores são
+     * acumulados em blocos de tamanho fixo, cada bloco é ordenado e gravado em um arquivo
+     * temporário, e no final os blocos são intercalados (k-way merge) no arquivo de destino.
+     */
+    public static final class Builder implements AutoCloseable {
+        private final Path target;
+        private final long[] buffer;
+        private int buffered;
+        private final MyDynamicArray<Path> runs = new MyDynamicArray<>();
+
+        /**
+         * @param target O arquivo de destino.
+         * @param runSize Quantos fingerprints são ordenados em memória por bloco.
+         */
+        public Builder(Path target, int runSize) {
+            if (runSize <= 0) {
+                throw new IllegalArgumentException("Tamanho de bloco inválido: " + runSize);
+            }
+            this.target = target;
+            this.buffer = new long[runSize];
+        }
+
+        /**
+         * Adiciona um fingerprint (repetições são removidas na construção).
+         *
+         * @param fingerprint O fingerprint.
+         * @throws IOException se um bloco cheio não puder ser gravado.
+         */
+        public void add(long fingerprint) throws IOException {
+            buffer[buffered++] = fingerprint;
+            if (buffered == buffer.length) {
+                flushRun();
+            }
+        }
+
+        /**
+         * Intercala os blocos e grava o arquivo final.
+         *
+         * @return O número de fingerprints distintos gravados.
+         * @throws IOException se não for possível gravar o arquivo.
+         */
+        public long finish() throws IOException {
+            if (buffered > 0) {
+                flushRun();
+            }
+            long count;
+            try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                LongWriter writer = new LongWriter(out);
+                writer.writeHeader(0);
+                count = mergeRuns(writer);
+                writer.flush();
+                writer.writeHeader(count);
+            } finally {
+                close();
+            }
+            return count;
+        }
+
+        /** Remove os arquivos temporários que ainda existirem. */
+        @Override
+        public void close() throws IOException {
+            for (int i = 0; i < runs.size(); i++) {
+                Files.deleteIfExists(runs.get(i));
+            }
+            while (!runs.isEmpty()) {
+                runs.remove(runs.size() - 1);
+            }
+        }
+
+        /** Ordena o bloco atual, remove repetições e grava em um arquivo temporário. */
+        private void flushRun() throws IOException {
+            Arrays.sort(buffer, 0, buffered);
+            Path run = Files.createTempFile(target.toAbsolutePath().getParent(), "fp-run-", ".tmp");
+            runs.add(run);
+            try (FileChannel out = FileChannel.open(run, StandardOpenOption.WRITE)) {
+                LongWriter writer = new LongWriter(out);
+                for (int i = 0; i < buffered; i++) {
+                    if (i == 0 || buffer[i] != buffer[i - 1]) {
+                        writer.write(buffer[i]);
+                    }
+                }
+                writer.flush();
+            }
+            buffered = 0;
+        }
+
+        /**
+         * Intercala os blocos ordenados usando um min-heap de leitores,
+         * descartando valores repetidos entre blocos.
+         */
+        private long mergeRuns(LongWriter writer) throws IOException {
+            int k = runs.size();
+            RunReader[] heap = new RunReader[k];
+            int heapSize = 0;
+            try {
+                for (int i = 0; i < k; i++) {
+                    RunReader reader = new RunReader(runs.get(i));
+                    if (reader.advance()) {
+                        heap[heapSize++] = reader;
+                    } else {
+                        reader.close();
+                    }
+                }
+                for (int i = heapSize / 2 - 1; i >= 0; i--) {
+                    siftDown(heap, heapSize, i);
+                }
+
+                long count = 0;
+                boolean hasLast = false;
+                long last = 0;
+                while (heapSize > 0) {
+                    RunReader top = heap[0];
+                    long value = top.current;
+                    if (!hasLast || value != last) {
+                        writer.write(value);
+                        count++;
+                        last = value;
+                        hasLast = true;
+                    }
+                    if (!top.advance()) {
+                        top.close();
+                        heap[0] = heap[--heapSize];
+                        heap[heapSize] = null;
+                    }
+                    siftDown(heap, heapSize, 0);
+                }
+                return count;
+            } finally {
+                for (int i = 0; i < heapSize; i++) {
+                    heap[i].close();
+                }
+            }
+        }
+
+        private static void siftDown(RunReader[] heap, int n, int i) {
+            while (true) {
+                int smallest = i;
+                int l = 2 * i + 1;
+                int r = l + 1;
+                if (l < n && heap[l].current < heap[smallest].current) smallest = l;
+                if (r < n && heap[r].current < heap[smallest].current) smallest = r;
+                if (smallest == i) return;
+                RunReader tmp = heap[i];
+                heap[i] = heap[smallest];
+                heap[smallest] = tmp;
+                i = smallest;
+            }
+        }
+    }
+
+    /** Grava longs little-endian em um canal através de um buffer. */
+    private static final class LongWriter {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+
+        LongWriter(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void write(long value) throws IOException {
+            if (buffer.remaining() < 8) {
+                flush();
+            }
+            buffer.putLong(value);
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) channel.write(buffer);
+            buffer.clear();
+        }
+
+        /** Grava (ou regrava) o cabeçalho no início do arquivo. */
+        void writeHeader(long count) throws IOException {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putLong(count).flip();
+            long position = 0;
+            while (header.hasRemaining()) position += channel.write(header, position);
+            if (channel.position() < HEADER_BYTES) {
+                channel.position(HEADER_BYTES);
+            }
+        }
+    }
+
+    /** Lê sequencialmente os longs de um bloco temporário. */
+    private static final class RunReader {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+        long current;
+
+        RunReader(Path path) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.READ);
+            buffer.limit(0);
+        }
+
+        boolean advance() throws IOException {
+            if (buffer.remaining() < 8) {
+                buffer.compact();
+                while (buffer.position() < 8 && channel.read(buffer) > 0) { }
+                buffer.flip();
+                if (buffer.remaining() < 8) {
+                    return false;
+                }
+            }
+            current = buffer.getLong();
+            return true;
+        }
+
+        void close() throws IOException {
+            channel.close();
+        }
+    }
+}
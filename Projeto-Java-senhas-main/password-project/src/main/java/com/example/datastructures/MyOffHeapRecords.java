@@ -0,0 +1,92 @@
+package com.example.datastructures;
+
+/**
+ * Tabela de registros CSV cujos campos ficam em uma {@link MyStringArena} (fora do heap).
+ * Cada registro é uma linha de {@code columns} handles, guardados em sequência em um
+ * MyLongArray; o heap contém apenas esse array de longs, não os objetos String.
+ */
+public class MyOffHeapRecords {
+    private final MyStringArena arena;
+    private final int columns;
+    private final MyLongArray handles;
+
+    /**
+     * @param arena A arena onde os campos são gravados (a tabela não a fecha).
+     * @param columns O número de colunas de cada registro.
+     * @param expectedRows Estimativa do número de registros, para pré-dimensionar o array.
+     */
+    public MyOffHeapRecords(MyStringArena arena, int columns, int expectedRows) {
+        if (columns <= 0) {
+            throw new IllegalArgumentException("Número de colunas inválido: " + columns);
+        }
+        this.arena = arena;
+        this.columns = columns;
+        this.handles = new MyLongArray((int) Math.min((long) columns * Math.max(expectedRows, 1), Integer.MAX_VALUE - 8));
+    }
+
+    /**
+     * Adiciona um registro a partir dos handles dos seus campos.
+     *
+     * @param row Os handles, um por coluna (campos extras são ignorados, faltantes são erro).
+     */
+    public void addRow(long[] row) {
+        if (row.length < columns) {
+            throw new IllegalArgumentException("Registro com " + row.length + " colunas; esperado " + columns);
+        }
+        handles.addAll(row, 0, columns);
+    }
+
+    /** @return O número de registros. */
+    public int size() {
+        return handles.size() / columns;
+    }
+
+    /** @return O número de colunas. */
+    public int columns() {
+        return columns;
+    }
+
+    /** @return A arena que guarda os campos. */
+    public MyStringArena arena() {
+        return arena;
+    }
+
+    /**
+     * Retorna o handle de um campo.
+     *
+     * @param row O índice do registro.
+     * @param column O índice da coluna.
+     * @return O handle do campo na arena.
+     */
+    public long handle(int row, int column) {
+        if (column < 0 || column >= columns) {
+            throw new IndexOutOfBoundsException("Coluna fora dos limites: " + column + ", Colunas: " + columns);
+        }
+        return handles.get(row * columns + column);
+    }
+
+    /**
+     * Decodifica um campo como String.
+     *
+     * @param row O índice do registro.
+     * @param column O índice da coluna.
+     * @return O valor do campo.
+     */
+    public String getString(int row, int column) {
+        return arena.getString(handle(row, column));
+    }
+
+    /**
+     * Decodifica um registro inteiro (usado apenas na escrita).
+     *
+     * @param row O índice do registro.
+     * @return Os campos do registro.
+     */
+    public String[] toStringArray(int row) {
+        String[] fields = new String[columns];
+        for (int c = 0; c < columns; c++) {
+            fields[c] = arena.getString(handles.get(row * columns + c));
+        }
+        return fields;
+    }
+}
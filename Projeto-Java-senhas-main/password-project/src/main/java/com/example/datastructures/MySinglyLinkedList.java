@@ -1,5 +1,11 @@
 package com.example.datastructures;
 
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * Uma implementação de uma Lista Encadeada Simples personalizada.
  * Cada elemento é armazenado em um "nó" que aponta para o próximo nó na sequência.
@@ -10,15 +16,17 @@ package com.example.datastructures;
  */
 public class MySinglyLinkedList<T> implements java.lang.Iterable<T> { // CORREÇÃO: Implementa Iterable para permitir o for-each
     private Node<T> head; // O primeiro nó da lista
+    private Node<T> tail; // O último nó da lista, para que add seja O(1)
     private int size;     // O número atual de elementos na lista
 
     /**
      * Classe interna que representa um nó na lista encadeada.
      * Cada nó contém um elemento e uma referência para o próximo nó.
+     * Visível no pacote para que MyHashMap percorra os buckets sem criar iteradores.
      *
      * @param <T> O tipo de elemento armazenado no nó.
      */
-    private static class Node<T> {
+    static class Node<T> {
         T data;    // O dado armazenado neste nó
         Node<T> next; // Referência para o próximo nó na lista
 
@@ -39,11 +47,14 @@ public class MySinglyLinkedList<T> implements java.lang.Iterable<T> { // CORREÇ
      */
     public MySinglyLinkedList() {
         this.head = null; // A lista começa vazia, então a cabeça é nula
+        this.tail = null;
         this.size = 0;    // O tamanho inicial é zero
     }
 
     /**
      * Adiciona um elemento ao final da lista encadeada.
+     * Usa a referência para o último nó, em vez de percorrer a lista: O(1) em vez de O(n)
+     * (o Counting Sort e o redimensionamento da MyHashMap fazem um add por elemento).
      *
      * @param element O elemento a ser adicionado.
      */
@@ -53,13 +64,9 @@ public class MySinglyLinkedList<T> implements java.lang.Iterable<T> { // CORREÇ
         if (head == null) {
             head = newNode;
         } else {
-            // Caso contrário, percorre a lista até o último nó e adiciona o novo nó
-            Node<T> current = head;
-            while (current.next != null) {
-                current = current.next;
-            }
-            current.next = newNode;
+            tail.next = newNode; // Caso contrário, liga o novo nó após o último
         }
+        tail = newNode;
         size++; // Incrementa o tamanho da lista
     }
 
@@ -97,6 +104,9 @@ public class MySinglyLinkedList<T> implements java.lang.Iterable<T> { // CORREÇ
         // Se o elemento a ser removido for a cabeça
         if (index == 0) {
             head = head.next; // A cabeça passa a ser o próximo nó
+            if (head == null) {
+                tail = null; // A lista ficou vazia
+            }
         } else {
             // Caso contrário, encontra o nó anterior ao nó a ser removido
             Node<T> current = head;
@@ -104,6 +114,9 @@ public class MySinglyLinkedList<T> implements java.lang.Iterable<T> { // CORREÇ
                 current = current.next;
             }
             current.next = current.next.next; // Ignora o nó a ser removido
+            if (current.next == null) {
+                tail = current; // O último nó foi removido
+            }
         }
         size--; // Decrementa o tamanho da lista
     }
@@ -152,4 +165,42 @@ public class MySinglyLinkedList<T> implements java.lang.Iterable<T> { // CORREÇ
             }
         };
     }
+
+    /**
+     * Percorre os elementos diretamente pelos nós, sem criar um iterador.
+     *
+     * @param action A ação aplicada a cada elemento, na ordem da lista.
+     */
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        for (Node<T> node = head; node != null; node = node.next) {
+            action.accept(node.data);
+        }
+    }
+
+    /**
+     * Retorna um Spliterator ORDERED e SIZED sobre os elementos.
+     * Uma lista encadeada não pode ser dividida ao meio sem percorrê-la, então a divisão
+     * copia lotes crescentes de elementos para arrays (como a LinkedList do JDK).
+     *
+     * @return O Spliterator da lista.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(iterator(), size, Spliterator.ORDERED);
+    }
+
+    /**
+     * Retorna um Stream sequencial sobre os elementos.
+     *
+     * @return O Stream da lista.
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /** @return O primeiro nó (null se vazia), para percursos sem iterador dentro do pacote. */
+    Node<T> firstNode() {
+        return head;
+    }
 }
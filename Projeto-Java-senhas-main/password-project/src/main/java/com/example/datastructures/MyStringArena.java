@@ -0,0 +1,279 @@
+package com.example.datastructures;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays; // Usado apenas para Arrays.copyOf no crescimento do diretório de blocos
+
+/**
+ * Arena de strings fora do heap (off-heap), construída sobre a API FFM
+ * ({@link MemorySegment}/{@link Arena}).
+ *
+ * As strings são gravadas em UTF-8 em blocos de memória nativa e representadas por um
+ * handle {@code long} compacto: os 40 bits altos guardam o deslocamento e os 24 bits baixos
+ * o tamanho em bytes. Assim, o heap guarda apenas longs (ex: em um MyLongArray), e o coletor
+ * de lixo não precisa percorrer centenas de milhões de objetos String.
+ *
+ * Comparação, igualdade, hash e conversão numérica trabalham diretamente sobre os bytes
+ * dos segmentos. A memória só é liberada em {@link #close()}, de uma vez; depois disso
+ * nenhum handle pode ser usado.
+ */
+public class MyStringArena implements AutoCloseable {
+    private static final int LENGTH_BITS = 24;
+    public static final int MAX_STRING_BYTES = (1 << LENGTH_BITS) - 1;
+    private static final long LENGTH_MASK = MAX_STRING_BYTES;
+    private static final int DEFAULT_CHUNK_BITS = 24; // Blocos de 16 MB
+
+    private final Arena arena;
+    private final int chunkBits;
+    private final long chunkSize;
+    private MemorySegment[] chunks = new MemorySegment[8];
+    private int chunkCount;
+    private long position;     // Próximo byte livre no bloco atual
+    private long bytesUsed;
+
+    /**
+     * Cria uma arena com blocos de 16 MB, compartilhável entre threads.
+     */
+    public MyStringArena() {
+        this(DEFAULT_CHUNK_BITS);
+    }
+
+    /**
+     * Cria uma arena com blocos de {@code 2^chunkBits} bytes.
+     *
+     * @param chunkBits Log2 do tamanho de cada bloco (entre 24 e 30).
+     */
+    public MyStringArena(int chunkBits) {
+        if (chunkBits < LENGTH_BITS || chunkBits > 30) {
+            throw new IllegalArgumentException("Tamanho de bloco inválido: 2^" + chunkBits);
+        }
+        this.arena = Arena.ofShared();
+        this.chunkBits = chunkBits;
+        this.chunkSize = 1L << chunkBits;
+        // O primeiro bloco só é alocado no primeiro append.
+    }
+
+    /**
+     * Grava uma string na arena.
+     *
+     * @param s A string.
+     * @return O handle da string.
+     */
+    public long append(String s) {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        return append(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Grava bytes UTF-8 já codificados na arena (sem criar uma String).
+     *
+     * @param bytes O array de origem.
+     * @param offset O início dos bytes.
+     * @param length A quantidade de bytes.
+     * @return O handle da string.
+     * @throws IllegalArgumentException se a string for maior que MAX_STRING_BYTES.
+     */
+    public long append(byte[] bytes, int offset, int length) {
+        if (length > MAX_STRING_BYTES) {
+            throw new IllegalArgumentException("String grande demais para a arena: " + length + " bytes");
+        }
+        if (chunkCount == 0 || position + length > chunkSize) {
+            newChunk();
+        }
+        MemorySegment.copy(bytes, offset, chunks[chunkCount - 1], ValueLayout.JAVA_BYTE, position, length);
+        long globalOffset = ((long) (chunkCount - 1) << chunkBits) + position;
+        position += length;
+        bytesUsed += length;
+        return (globalOffset << LENGTH_BITS) | length;
+    }
+
+    /**
+     * Retorna o tamanho em bytes da string de um handle.
+     *
+     * @param handle O handle.
+     * @return O tamanho em bytes (UTF-8).
+     */
+    public static int length(long handle) {
+        return (int) (handle & LENGTH_MASK);
+    }
+
+    /**
+     * Retorna o handle de um trecho da string, sem copiar bytes: o trecho aponta para a mesma
+     * memória da string original (ex: o mês de uma data, para {@link #parseInt(long)}).
+     *
+     * @param handle O handle da string.
+     * @param from O primeiro byte do trecho.
+     * @param to O byte seguinte ao último do trecho.
+     * @return O handle do trecho.
+     * @throws IndexOutOfBoundsException se o trecho estiver fora da string.
+     */
+    public static long slice(long handle, int from, int to) {
+        if (from < 0 || to > length(handle) || from > to) {
+            throw new IndexOutOfBoundsException("Trecho [" + from + ", " + to + ") fora de uma string de " + length(handle) + " bytes");
+        }
+        return (((handle >>> LENGTH_BITS) + from) << LENGTH_BITS) | (to - from);
+    }
+
+    /**
+     * Procura um byte na string de um handle.
+     *
+     * @param handle O handle.
+     * @param b O byte procurado (ex: '/').
+     * @param from A posição inicial da busca.
+     * @return A posição da primeira ocorrência a partir de {@code from}, ou -1 se não houver.
+     */
+    public int indexOf(long handle, byte b, int from) {
+        MemorySegment segment = segmentOf(handle);
+        long offset = offsetOf(handle);
+        int length = length(handle);
+        for (int i = Math.max(from, 0); i < length; i++) {
+            if (segment.get(ValueLayout.JAVA_BYTE, offset + i) == b) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Decodifica a string de um handle (cria uma String no heap; use só na escrita).
+     *
+     * @param handle O handle.
+     * @return A string.
+     */
+    public String getString(long handle) {
+        int length = length(handle);
+        byte[] bytes = new byte[length];
+        MemorySegment.copy(segmentOf(handle), ValueLayout.JAVA_BYTE, offsetOf(handle), bytes, 0, length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Compara duas strings byte a byte (UTF-8 sem sinal, que coincide com a ordem dos code points).
+     *
+     * @param a O primeiro handle.
+     * @param b O segundo handle.
+     * @return Negativo, zero ou positivo, como em {@link String#compareTo(String)} para texto ASCII.
+     */
+    public int compare(long a, long b) {
+        MemorySegment sa = segmentOf(a);
+        MemorySegment sb = segmentOf(b);
+        long oa = offsetOf(a);
+        long ob = offsetOf(b);
+        int la = length(a);
+        int lb = length(b);
+        long mismatch = sa.asSlice(oa, la).mismatch(sb.asSlice(ob, lb));
+        if (mismatch == -1) {
+            return 0;
+        }
+        if (mismatch == la || mismatch == lb) {
+            return Integer.compare(la, lb);
+        }
+        int ba = sa.get(ValueLayout.JAVA_BYTE, oa + mismatch) & 0xff;
+        int bb = sb.get(ValueLayout.JAVA_BYTE, ob + mismatch) & 0xff;
+        return Integer.compare(ba, bb);
+    }
+
+    /**
+     * Verifica se duas strings têm os mesmos bytes.
+     *
+     * @param a O primeiro handle.
+     * @param b O segundo handle.
+     * @return true se as strings forem iguais.
+     */
+    public boolean equals(long a, long b) {
+        return length(a) == length(b) && compare(a, b) == 0;
+    }
+
+    /**
+     * Calcula o hash de 64 bits (FNV-1a + finalização) dos bytes da string.
+     *
+     * @param handle O handle.
+     * @return O hash.
+     */
+    public long hash(long handle) {
+        MemorySegment segment = segmentOf(handle);
+        long offset = offsetOf(handle);
+        int length = length(handle);
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < length; i++) {
+            h = (h ^ (segment.get(ValueLayout.JAVA_BYTE, offset + i) & 0xff)) * 0x100000001b3L;
+        }
+        return Fingerprints.mix(h ^ length);
+    }
+
+    /**
+     * Converte a string de um handle para int sem criar uma String (ex: a coluna "length").
+     *
+     * @param handle O handle.
+     * @return O valor numérico.
+     * @throws NumberFormatException se a string não for um inteiro decimal.
+     */
+    public int parseInt(long handle) {
+        MemorySegment segment = segmentOf(handle);
+        long offset = offsetOf(handle);
+        int length = length(handle);
+        if (length == 0) {
+            throw new NumberFormatException("String vazia");
+        }
+        int i = 0;
+        boolean negative = false;
+        byte first = segment.get(ValueLayout.JAVA_BYTE, offset);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            i = 1;
+            if (length == 1) throw new NumberFormatException("Número inválido: " + getString(handle));
+        }
+        long value = 0;
+        for (; i < length; i++) {
+            int digit = segment.get(ValueLayout.JAVA_BYTE, offset + i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException("Número inválido: " + getString(handle));
+            }
+            value = value * 10 + digit;
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                throw new NumberFormatException("Número fora do intervalo de int: " + getString(handle));
+            }
+        }
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE) {
+            throw new NumberFormatException("Número fora do intervalo de int: " + getString(handle));
+        }
+        return (int) value;
+    }
+
+    /** @return O total de bytes de strings gravados. */
+    public long bytesUsed() {
+        return bytesUsed;
+    }
+
+    /** @return O total de memória nativa reservada pelos blocos. */
+    public long bytesReserved() {
+        return chunkCount * chunkSize;
+    }
+
+    /**
+     * Libera toda a memória nativa da arena. Os handles deixam de ser válidos.
+     */
+    @Override
+    public void close() {
+        arena.close();
+        chunks = new MemorySegment[0];
+        chunkCount = 0;
+    }
+
+    private void newChunk() {
+        if (chunkCount == chunks.length) {
+            chunks = Arrays.copyOf(chunks, chunks.length * 2);
+        }
+        chunks[chunkCount++] = arena.allocate(chunkSize);
+        position = 0;
+    }
+
+    private MemorySegment segmentOf(long handle) {
+        return chunks[(int) ((handle >>> LENGTH_BITS) >>> chunkBits)];
+    }
+
+    private long offsetOf(long handle) {
+        return (handle >>> LENGTH_BITS) & (chunkSize - 1);
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.datastructures;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Variante de {@link MyLRUCache} segura para múltiplas threads.
+ * As chaves são distribuídas pelo hash entre vários segmentos independentes, cada um
+ * um MyLRUCache protegido pelo seu próprio lock. Threads que consultam chaves de
+ * segmentos diferentes não disputam o mesmo lock.
+ *
+ * A política de descarte é LRU dentro de cada segmento (aproximação do LRU global).
+ *
+ * @param <K> O tipo da chave.
+ * @param <V> O tipo do valor.
+ */
+public class MyStripedLRUCache<K, V> implements MyCache<K, V> {
+    private final MyLRUCache<K, V>[] segments;
+    private final ReentrantLock[] locks;
+
+    /**
+     * Construtor para MyStripedLRUCache.
+     *
+     * @param capacity A capacidade total, dividida igualmente entre os segmentos.
+     * @param segmentCount O número de segmentos (arredondado para a próxima potência de dois).
+     */
+    @SuppressWarnings("unchecked") // Cast seguro para array de MyLRUCache
+    public MyStripedLRUCache(int capacity, int segmentCount) {
+        if (capacity <= 0 || segmentCount <= 0) {
+            throw new IllegalArgumentException("Capacidade e número de segmentos devem ser positivos.");
+        }
+        // Potência de dois para o cálculo do segmento por máscara; cada segmento guarda ao menos uma entrada.
+        int count = 1;
+        while (count < segmentCount && count * 2 <= capacity) {
+            count <<= 1;
+        }
+        int perSegment = (capacity + count - 1) / count;
+        this.segments = (MyLRUCache<K, V>[]) new MyLRUCache<?, ?>[count];
+        this.locks = new ReentrantLock[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new MyLRUCache<>(perSegment);
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Construtor com um segmento por processador disponível (vezes quatro).
+     *
+     * @param capacity A capacidade total do cache.
+     */
+    public MyStripedLRUCache(int capacity) {
+        this(capacity, Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    /** Escolhe o segmento a partir dos bits espalhados do hash da chave. */
+    private int segmentFor(K key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return h & (segments.length - 1);
+    }
+
+    @Override
+    public V get(K key) {
+        int s = segmentFor(key);
+        locks[s].lock();
+        try {
+            return segments[s].get(key);
+        } finally {
+            locks[s].unlock();
+        }
+    }
+
+    @Override
+    public void put(K key, V value) {
+        int s = segmentFor(key);
+        locks[s].lock();
+        try {
+            segments[s].put(key, value);
+        } finally {
+            locks[s].unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        int total = 0;
+        for (int s = 0; s < segments.length; s++) {
+            locks[s].lock();
+            try {
+                total += segments[s].size();
+            } finally {
+                locks[s].unlock();
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public long getHits() {
+        long total = 0;
+        for (int s = 0; s < segments.length; s++) {
+            locks[s].lock();
+            try {
+                total += segments[s].getHits();
+            } finally {
+                locks[s].unlock();
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public long getMisses() {
+        long total = 0;
+        for (int s = 0; s < segments.length; s++) {
+            locks[s].lock();
+            try {
+                total += segments[s].getMisses();
+            } finally {
+                locks[s].unlock();
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public long getEvictions() {
+        long total = 0;
+        for (int s = 0; s < segments.length; s++) {
+            locks[s].lock();
+            try {
+                total += segments[s].getEvictions();
+            } finally {
+                locks[s].unlock();
+            }
+        }
+        return total;
+    }
+}